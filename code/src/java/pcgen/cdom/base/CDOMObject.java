@@ -56,6 +56,8 @@ import pcgen.cdom.helper.VarHolderSupport;
 import pcgen.cdom.util.FactSetKeyMapToList;
 import pcgen.cdom.util.ListKeyMapToList;
 import pcgen.cdom.util.MapKeyMap;
+import pcgen.cdom.util.OrdinalIntMap;
+import pcgen.cdom.util.OrdinalKeyMap;
 import pcgen.core.Description;
 import pcgen.core.Equipment;
 import pcgen.core.PlayerCharacter;
@@ -110,16 +112,17 @@ public abstract class CDOMObject extends ConcretePrereqObject
 	private VarHolderSupport varHolder = new VarHolderSupport();
 
 	/*
-	 * CONSIDER This should be a NumberMap - not Integer, but allow Double as
-	 * well, in one HashMap... this will control the size of CDOMObject.
+	 * The integer, string and object characteristics are held in compact maps
+	 * keyed by the ordinal of the key, as there are a great many CDOMObjects
+	 * and each only sets a few of these. Integer values are held unboxed.
 	 */
 	/** A map to hold items keyed by Integers for the object */
 	// TODO make this final once clone() is no longer required...
-	private Map<IntegerKey, Integer> integerChar = null;
+	private OrdinalIntMap<IntegerKey> integerChar = null;
 
 	/** A map to hold items keyed by Strings for the object */
 	// TODO make this final once clone() is no longer required...
-	private Map<StringKey, String> stringChar = null;
+	private OrdinalKeyMap<StringKey, String> stringChar = null;
 
 	/** A map to hold items keyed by Strings for the object */
 	// TODO make this final once clone() is no longer required...
@@ -131,7 +134,7 @@ public abstract class CDOMObject extends ConcretePrereqObject
 
 	/** A map to hold items keyed by Strings for the object */
 	// TODO make this final once clone() is no longer required...
-	private Map<ObjectKey<?>, Object> objectChar = null;
+	private OrdinalKeyMap<ObjectKey<?>, Object> objectChar = null;
 
 	/** A map to hold items keyed by Strings for the object */
 	// TODO make this final once clone() is no longer required...
@@ -170,15 +173,18 @@ public abstract class CDOMObject extends ConcretePrereqObject
 
 	public final int getSafe(IntegerKey key)
 	{
-		Integer intValue = integerChar == null ? null : integerChar.get(key);
-		return intValue == null ? key.getDefault() : intValue;
+		return integerChar == null ? key.getDefault() : integerChar.getOrDefault(key, key.getDefault());
 	}
 
 	public final Integer put(IntegerKey key, Integer intValue)
 	{
+		if (intValue == null)
+		{
+			return remove(key);
+		}
 		if (integerChar == null)
 		{
-			integerChar = new HashMap<>();
+			integerChar = new OrdinalIntMap<>(IntegerKey::getOrdinal);
 		}
 		return integerChar.put(key, intValue);
 	}
@@ -195,7 +201,7 @@ public abstract class CDOMObject extends ConcretePrereqObject
 
 	public final Set<IntegerKey> getIntegerKeys()
 	{
-		return integerChar == null ? Collections.emptySet() : new HashSet<>(integerChar.keySet());
+		return integerChar == null ? Collections.emptySet() : integerChar.getKeySet();
 	}
 
 	public final boolean containsKey(StringKey key)
@@ -218,7 +224,7 @@ public abstract class CDOMObject extends ConcretePrereqObject
 	{
 		if (stringChar == null)
 		{
-			stringChar = new HashMap<>();
+			stringChar = new OrdinalKeyMap<>(StringKey::ordinal);
 		}
 		return stringChar.put(key, value);
 	}
@@ -235,7 +241,7 @@ public abstract class CDOMObject extends ConcretePrereqObject
 
 	public final Set<StringKey> getStringKeys()
 	{
-		return stringChar == null ? Collections.emptySet() : new HashSet<>(stringChar.keySet());
+		return stringChar == null ? Collections.emptySet() : stringChar.getKeySet();
 	}
 
 	public final boolean containsKey(FormulaKey key)
@@ -337,7 +343,7 @@ public abstract class CDOMObject extends ConcretePrereqObject
 	{
 		if (objectChar == null)
 		{
-			objectChar = new HashMap<>();
+			objectChar = new OrdinalKeyMap<>(ObjectKey::getOrdinal);
 		}
 		return key.cast(objectChar.put(key, value));
 	}
@@ -354,7 +360,7 @@ public abstract class CDOMObject extends ConcretePrereqObject
 
 	public final Set<ObjectKey<?>> getObjectKeys()
 	{
-		return objectChar == null ? Collections.emptySet() : new HashSet<>(objectChar.keySet());
+		return objectChar == null ? Collections.emptySet() : objectChar.getKeySet();
 	}
 
 	public final boolean containsKey(FactKey<?> key)
@@ -947,7 +953,7 @@ public abstract class CDOMObject extends ConcretePrereqObject
 		{
 			if (integerChar == null)
 			{
-				integerChar = new HashMap<>();
+				integerChar = new OrdinalIntMap<>(IntegerKey::getOrdinal);
 			}
 			integerChar.putAll(cdo.integerChar);
 		}
@@ -955,7 +961,7 @@ public abstract class CDOMObject extends ConcretePrereqObject
 		{
 			if (stringChar == null)
 			{
-				stringChar = new HashMap<>();
+				stringChar = new OrdinalKeyMap<>(StringKey::ordinal);
 			}
 			stringChar.putAll(cdo.stringChar);
 		}
@@ -971,7 +977,7 @@ public abstract class CDOMObject extends ConcretePrereqObject
 		{
 			if (objectChar == null)
 			{
-				objectChar = new HashMap<>();
+				objectChar = new OrdinalKeyMap<>(ObjectKey::getOrdinal);
 			}
 			objectChar.putAll(cdo.objectChar);
 		}
@@ -1029,11 +1035,11 @@ public abstract class CDOMObject extends ConcretePrereqObject
 	public CDOMObject clone() throws CloneNotSupportedException
 	{
 		CDOMObject clone = (CDOMObject) super.clone();
-		clone.integerChar = integerChar == null ? null : new HashMap<>(integerChar);
-		clone.stringChar = stringChar == null ? null : new HashMap<>(stringChar);
+		clone.integerChar = integerChar == null ? null : new OrdinalIntMap<>(integerChar);
+		clone.stringChar = stringChar == null ? null : new OrdinalKeyMap<>(stringChar);
 		clone.formulaChar = formulaChar == null ? null : new HashMap<>(formulaChar);
 		clone.variableChar = variableChar == null ? null : new HashMap<>(variableChar);
-		clone.objectChar = objectChar == null ? null : new HashMap<>(objectChar);
+		clone.objectChar = objectChar == null ? null : new OrdinalKeyMap<>(objectChar);
 		clone.factChar = factChar == null ? null : new HashMap<>(factChar);
 		if (listChar != null)
 		{
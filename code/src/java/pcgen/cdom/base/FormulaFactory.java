@@ -61,7 +61,9 @@ public final class FormulaFactory
 	}
 
 	/**
-	 * Returns a Formula for the given String.
+	 * Returns a Formula for the given String. While data is being loaded, the
+	 * Formula is shared with every other use of the same String (see
+	 * LoadInterner).
 	 * 
 	 * @param formulaString
 	 *            The String to be converted to a Formula
@@ -75,6 +77,11 @@ public final class FormulaFactory
 		{
 			throw new IllegalArgumentException("Formula cannot be empty");
 		}
+		return LoadInterner.internFormula(formulaString, FormulaFactory::createFormula);
+	}
+
+	private static Formula createFormula(String formulaString)
+	{
 		try
 		{
 			return getFormulaFor(Integer.valueOf(formulaString));
@@ -0,0 +1,318 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.cdom.base;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import pcgen.base.formula.Formula;
+import pcgen.core.prereq.Prerequisite;
+
+/**
+ * LoadInterner shares equal values created while the data sets are loaded, so
+ * that each distinct value is held once across every object that uses it.
+ * 
+ * Strings, Formulas and Prerequisites are interned. Formulas and Prerequisites
+ * are keyed by the text they were parsed from, since equal text always parses
+ * to the same value. A shared Prerequisite must therefore not be modified once
+ * it has been interned; code that needs to change one (such as the resizing
+ * of Equipment) must change a clone.
+ * 
+ * Interning only takes place while a LoadInterner is active (see
+ * setActive(LoadInterner)), so that values created after the load is complete
+ * are not retained. Once the load is complete, the pools are discarded with
+ * the LoadInterner, leaving only the shared values in the loaded objects.
+ */
+public final class LoadInterner
+{
+
+	/**
+	 * The approximate size, in bytes, of a String with no characters.
+	 */
+	private static final int STRING_SIZE = 40;
+
+	/**
+	 * The approximate size, in bytes, of a Formula other than its text.
+	 */
+	private static final int FORMULA_SIZE = 16;
+
+	/**
+	 * The approximate size, in bytes, of a Prerequisite other than its Strings
+	 * and child Prerequisites.
+	 */
+	private static final int PREREQUISITE_SIZE = 56;
+
+	/**
+	 * The interner for the load in progress, if any.
+	 */
+	private static volatile LoadInterner active = null;
+
+	private final Map<String, String> strings = new ConcurrentHashMap<>();
+	private final Map<String, Formula> formulas = new ConcurrentHashMap<>();
+	private final Map<String, Prerequisite> prerequisites = new ConcurrentHashMap<>();
+
+	/**
+	 * Prerequisites parsed by PreParserFactory, which are kept apart from
+	 * those parsed by the PRExxx tokens as the same text is parsed slightly
+	 * differently (PREMULT with a single child is replaced by the child).
+	 */
+	private final Map<String, Prerequisite> parsedPrerequisites = new ConcurrentHashMap<>();
+
+	private final Tally stringTally = new Tally("Strings");
+	private final Tally formulaTally = new Tally("Formulas");
+	private final Tally prerequisiteTally = new Tally("Prerequisites");
+
+	/**
+	 * Sets the interner to be used by the load in progress.
+	 * 
+	 * @param interner
+	 *            The interner for the load in progress, or null once the load
+	 *            has finished
+	 */
+	public static void setActive(LoadInterner interner)
+	{
+		active = interner;
+	}
+
+	/**
+	 * Returns the interner for the load in progress.
+	 * 
+	 * @return The interner for the load in progress, or null if there is none
+	 */
+	public static LoadInterner getActive()
+	{
+		return active;
+	}
+
+	/**
+	 * Returns a String equal to the given String, shared with every other use
+	 * of an equal String during the load in progress. If no load is in
+	 * progress, the given String is returned.
+	 * 
+	 * @param s
+	 *            The String to be interned (may be null)
+	 * @return The shared String equal to the given String
+	 */
+	public static String intern(String s)
+	{
+		LoadInterner interner = active;
+		return ((interner == null) || (s == null)) ? s : interner.internString(s);
+	}
+
+	/**
+	 * Returns the Formula for the given text, shared with every other use of
+	 * the same text during the load in progress. The Formula is created by the
+	 * given Function if the text has not been seen before, or if no load is in
+	 * progress.
+	 * 
+	 * @param text
+	 *            The text of the Formula
+	 * @param factory
+	 *            The Function used to create the Formula from the text
+	 * @return The Formula for the given text
+	 */
+	public static Formula internFormula(String text, Function<String, Formula> factory)
+	{
+		LoadInterner interner = active;
+		if (interner == null)
+		{
+			return factory.apply(text);
+		}
+		Formula formula = interner.formulas.get(text);
+		if (formula != null)
+		{
+			interner.formulaTally.shared(FORMULA_SIZE + getSize(text));
+			return formula;
+		}
+		formula = factory.apply(text);
+		Formula existing = interner.formulas.putIfAbsent(interner.internString(text), formula);
+		interner.formulaTally.added();
+		return (existing == null) ? formula : existing;
+	}
+
+	/**
+	 * Returns a Prerequisite equal to the given Prerequisite, which was parsed
+	 * by a PRExxx token from the given text. The returned Prerequisite is
+	 * shared with every other Prerequisite parsed from the same text during
+	 * the load in progress.
+	 * 
+	 * @param text
+	 *            The text from which the Prerequisite was parsed, including
+	 *            the token name
+	 * @param prereq
+	 *            The Prerequisite parsed from the given text (may be null)
+	 * @return The shared Prerequisite for the given text
+	 */
+	public static Prerequisite internPrerequisite(String text, Prerequisite prereq)
+	{
+		LoadInterner interner = active;
+		return ((interner == null) || (prereq == null)) ? prereq
+			: interner.internPrerequisite(interner.prerequisites, text, prereq);
+	}
+
+	/**
+	 * Returns a Prerequisite equal to the given Prerequisite, which was parsed
+	 * from the given text by PreParserFactory. The returned Prerequisite is
+	 * shared with every other Prerequisite parsed by PreParserFactory from the
+	 * same text during the load in progress.
+	 * 
+	 * @param text
+	 *            The text from which the Prerequisite was parsed
+	 * @param prereq
+	 *            The Prerequisite parsed from the given text (may be null)
+	 * @return The shared Prerequisite for the given text
+	 */
+	public static Prerequisite internParsedPrerequisite(String text, Prerequisite prereq)
+	{
+		LoadInterner interner = active;
+		return ((interner == null) || (prereq == null)) ? prereq
+			: interner.internPrerequisite(interner.parsedPrerequisites, text, prereq);
+	}
+
+	private String internString(String s)
+	{
+		String existing = strings.putIfAbsent(s, s);
+		if (existing == null)
+		{
+			stringTally.added();
+			return s;
+		}
+		if (existing != s)
+		{
+			stringTally.shared(getSize(s));
+		}
+		return existing;
+	}
+
+	private String internNullable(String s)
+	{
+		return (s == null) ? null : internString(s);
+	}
+
+	private Prerequisite internPrerequisite(Map<String, Prerequisite> pool, String text, Prerequisite prereq)
+	{
+		Prerequisite existing = pool.get(text);
+		if (existing == null)
+		{
+			// Not yet shared, so the Strings it holds can still be replaced
+			internStrings(prereq);
+			existing = pool.putIfAbsent(internString(text), prereq);
+			if (existing == null)
+			{
+				prerequisiteTally.added();
+				return prereq;
+			}
+		}
+		if (existing != prereq)
+		{
+			prerequisiteTally.shared(getSize(prereq));
+		}
+		return existing;
+	}
+
+	private void internStrings(Prerequisite prereq)
+	{
+		prereq.setKind(internNullable(prereq.getKind()));
+		prereq.setKey(internNullable(prereq.getKey()));
+		prereq.setSubKey(internNullable(prereq.getSubKey()));
+		prereq.setOperand(internNullable(prereq.getOperand()));
+		prereq.setCategoryName(internNullable(prereq.getCategoryName()));
+		for (Prerequisite child : prereq.getPrerequisites())
+		{
+			internStrings(child);
+		}
+	}
+
+	private static long getSize(String s)
+	{
+		return (s == null) ? 0 : STRING_SIZE + s.length();
+	}
+
+	private static long getSize(Prerequisite prereq)
+	{
+		long size = PREREQUISITE_SIZE + getSize(prereq.getKind()) + getSize(prereq.getKey())
+			+ getSize(prereq.getSubKey()) + getSize(prereq.getOperand()) + getSize(prereq.getCategoryName());
+		for (Prerequisite child : prereq.getPrerequisites())
+		{
+			size += getSize(child);
+		}
+		return size;
+	}
+
+	/**
+	 * Returns the approximate number of bytes saved by this LoadInterner, that
+	 * is, the approximate size of the duplicate values it has replaced.
+	 * 
+	 * @return The approximate number of bytes saved
+	 */
+	public long getBytesSaved()
+	{
+		return stringTally.bytesSaved.sum() + formulaTally.bytesSaved.sum() + prerequisiteTally.bytesSaved.sum();
+	}
+
+	/**
+	 * Returns a report of the values interned by this LoadInterner and the
+	 * approximate number of bytes saved.
+	 * 
+	 * @return The report of the values interned by this LoadInterner
+	 */
+	public String getReport()
+	{
+		StringBuilder sb = new StringBuilder(200);
+		sb.append("Load interning saved approximately ").append(getBytesSaved()).append(" bytes");
+		stringTally.appendTo(sb);
+		formulaTally.appendTo(sb);
+		prerequisiteTally.appendTo(sb);
+		return sb.toString();
+	}
+
+	/**
+	 * The number of distinct and duplicate values of one kind seen by a
+	 * LoadInterner.
+	 */
+	private static final class Tally
+	{
+		private final String name;
+		private final LongAdder distinct = new LongAdder();
+		private final LongAdder duplicates = new LongAdder();
+		private final LongAdder bytesSaved = new LongAdder();
+
+		private Tally(String name)
+		{
+			this.name = name;
+		}
+
+		private void added()
+		{
+			distinct.increment();
+		}
+
+		private void shared(long size)
+		{
+			duplicates.increment();
+			bytesSaved.add(size);
+		}
+
+		private void appendTo(StringBuilder sb)
+		{
+			sb.append("; ").append(name).append(": ").append(distinct.sum()).append(" distinct, ")
+				.append(duplicates.sum()).append(" duplicates replaced (").append(bytesSaved.sum())
+				.append(" bytes)");
+		}
+	}
+}
@@ -19,6 +19,7 @@ package pcgen.cdom.enumeration;
 
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import pcgen.base.enumeration.TypeSafeConstant;
 import pcgen.cdom.base.PCGenIdentifier;
@@ -35,7 +36,7 @@ public final class CharID implements TypeSafeConstant, PCGenIdentifier
 	/**
 	 * This is used to provide a unique ordinal to each constant in this class
 	 */
-	private static int ordinalCount = 0;
+	private static final AtomicInteger ordinalCount = new AtomicInteger();
 
 	/**
 	 * The ordinal of this Constant
@@ -56,10 +57,16 @@ public final class CharID implements TypeSafeConstant, PCGenIdentifier
 	@SuppressWarnings("unused")
 	private Map<Class<?>, Object> myFacetCache;
 
+	/**
+	 * The number of changes made to the facets of the Character, used to
+	 * detect whether results calculated from the facets are still current.
+	 */
+	private final AtomicInteger changeCount = new AtomicInteger();
+
 	private CharID(DataSetID dsid)
 	{
 		Objects.requireNonNull(dsid, "DataSetID cannot be null");
-		ordinal = ordinalCount++;
+		ordinal = ordinalCount.getAndIncrement();
 		datasetID = dsid;
 	}
 
@@ -89,4 +96,24 @@ public final class CharID implements TypeSafeConstant, PCGenIdentifier
 	{
 		return this.datasetID;
 	}
+
+	/**
+	 * Records that the contents of a facet have changed for the Character.
+	 */
+	public void recordChange()
+	{
+		changeCount.incrementAndGet();
+	}
+
+	/**
+	 * Returns the number of changes made to the facets of the Character. The
+	 * value has no meaning other than that it changes whenever the contents of
+	 * a facet that fires change events are changed.
+	 * 
+	 * @return The number of changes made to the facets of the Character
+	 */
+	public int getChangeCount()
+	{
+		return changeCount.get();
+	}
 }
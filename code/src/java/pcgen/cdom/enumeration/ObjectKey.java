@@ -25,6 +25,7 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import pcgen.base.formula.Formula;
 import pcgen.base.lang.UnreachableError;
@@ -92,6 +93,11 @@ import pcgen.util.enumeration.Visibility;
 public class ObjectKey<T>
 {
 
+	/**
+	 * This is used to provide a unique ordinal to each constant in this class
+	 */
+	private static final AtomicInteger ORDINAL_COUNT = new AtomicInteger();
+
 	private static CaseInsensitiveMap<ObjectKey<?>> map = null;
 
 	public static final ObjectKey<Boolean> USE_UNTRAINED = new ObjectKey<>(Boolean.TRUE);
@@ -334,11 +340,25 @@ public class ObjectKey<T>
 
 	private final T defaultValue;
 
+	/**
+	 * The ordinal of this Constant
+	 */
+	private final int ordinal;
+
 	private ObjectKey(T def)
 	{
+		ordinal = ORDINAL_COUNT.getAndIncrement();
 		defaultValue = def;
 	}
 
+	/**
+	 * Gets the ordinal of this Constant
+	 */
+	public int getOrdinal()
+	{
+		return ordinal;
+	}
+
 	public T getDefault()
 	{
 		return defaultValue;
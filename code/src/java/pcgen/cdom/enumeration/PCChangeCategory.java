@@ -0,0 +1,112 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.cdom.enumeration;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * This is a Typesafe enumeration of the kinds of change that can be made to a
+ * PC. When a PC is marked as changed, the category of the change determines
+ * which of its cached results and conditionally granted objects need to be
+ * recalculated.
+ */
+public enum PCChangeCategory
+{
+	/** Equipment, equipment sets and wealth. */
+	EQUIPMENT,
+
+	/** Stat scores. */
+	STATS,
+
+	/** Classes, class levels, hit points and domains. */
+	CLASSES,
+
+	/** Abilities, including feats. */
+	ABILITIES,
+
+	/** Skill ranks. */
+	SKILLS,
+
+	/** Spells, spell books and spell lists. */
+	SPELLS,
+
+	/** Languages. */
+	LANGUAGES,
+
+	/** Race, templates and kits. */
+	RACE,
+
+	/** Deity and alignment. */
+	DEITY,
+
+	/**
+	 * Biographical values that rules can test, such as age, gender, height,
+	 * weight, birthplace and city.
+	 */
+	BIO,
+
+	/**
+	 * Descriptive text with no effect on the rules, such as the name, notes,
+	 * appearance and personality of the PC.
+	 */
+	TEXT,
+
+	/**
+	 * How the PC is displayed or output, such as skill order, the preview
+	 * sheet and the biography fields to suppress.
+	 */
+	DISPLAY;
+
+	/**
+	 * The categories of change that can alter the rules outcome for a PC.
+	 * Prerequisites, variables and bonuses can refer to any of these, and a
+	 * change in one can cascade into the others through the objects granted as
+	 * a result, so anything derived from them depends on all of them.
+	 */
+	public static final Set<PCChangeCategory> RULES = Collections.unmodifiableSet(
+		EnumSet.complementOf(EnumSet.of(TEXT, DISPLAY)));
+
+	/**
+	 * Returns the category of a change to the given PCStringKey.
+	 *
+	 * @param key
+	 *            The PCStringKey that has changed
+	 * @return The category of a change to the given PCStringKey
+	 */
+	public static PCChangeCategory getCategory(PCStringKey key)
+	{
+		switch (key)
+		{
+			case BIRTHPLACE:
+			case CITY:
+				// Tested by PREBIRTHPLACE and PRECITY
+				return BIO;
+			case ASSETS:
+			case COMPANIONS:
+			case MAGIC:
+				// Counted by the COUNT[MISC.*] variable terms
+				return EQUIPMENT;
+			case SPELLBOOK_AUTO_ADD_KNOWN:
+				return SPELLS;
+			case CURRENT_EQUIP_SET_NAME:
+				return EQUIPMENT;
+			default:
+				return TEXT;
+		}
+	}
+}
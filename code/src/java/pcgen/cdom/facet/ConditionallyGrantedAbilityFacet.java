@@ -39,9 +39,13 @@ public class ConditionallyGrantedAbilityFacet extends AbstractListFacet<CharID,
 
 	private ConditionalAbilityFacet conditionalAbilityFacet;
 
-	private static boolean entered = false;
+	/*
+	 * Guards against reentrant updates. These are per thread, as an update
+	 * on one thread must not suppress an update on another.
+	 */
+	private static final ThreadLocal<Boolean> ENTERED = ThreadLocal.withInitial(() -> false);
 
-	private static boolean redo = false;
+	private static final ThreadLocal<Boolean> REDO = ThreadLocal.withInitial(() -> false);
 
 	/**
 	 * Performs a global update of conditionally granted Abilities for a Player
@@ -53,12 +57,12 @@ public class ConditionallyGrantedAbilityFacet extends AbstractListFacet<CharID,
 	 */
 	public void update(CharID id)
 	{
-		if (entered)
+		if (ENTERED.get())
 		{
-			redo = true;
+			REDO.set(true);
 			return;
 		}
-		entered = true;
+		ENTERED.set(true);
 		Collection<CNAbilitySelection> current = getSet(id);
 		Collection<CNAbilitySelection> qualified = conditionalAbilityFacet.getQualifiedSet(id);
 		List<CNAbilitySelection> toRemove = new ArrayList<>(current);
@@ -82,10 +86,10 @@ public class ConditionallyGrantedAbilityFacet extends AbstractListFacet<CharID,
 			}
 		}
 
-		entered = false;
-		if (redo)
+		ENTERED.set(false);
+		if (REDO.get())
 		{
-			redo = false;
+			REDO.set(false);
 			update(id);
 		}
 	}
@@ -18,8 +18,8 @@
 package pcgen.cdom.facet;
 
 import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import pcgen.cdom.helper.SpringHelper;
 import pcgen.util.Logging;
@@ -36,7 +36,7 @@ public final class FacetLibrary
 		//Do not instantiate
 	}
 
-	private static final Map<Class<?>, Object> facets = new HashMap<>();
+	private static final Map<Class<?>, Object> facets = new ConcurrentHashMap<>();
 
 	public static <T> T getFacet(Class<T> cl)
 	{
@@ -59,7 +59,14 @@ public final class FacetLibrary
 					Logging.errorPrint("unable to construct old style Facet", e);
 				}
 			}
-			facets.put(cl, facet);
+			if (facet != null)
+			{
+				Object existing = facets.putIfAbsent(cl, facet);
+				if (existing != null)
+				{
+					facet = (T) existing;
+				}
+			}
 		}
 		return facet;
 	}
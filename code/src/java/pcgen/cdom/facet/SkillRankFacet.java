@@ -102,6 +102,7 @@ public class SkillRankFacet extends AbstractStorageFacet<CharID>
 		clMap.put(pcc, value);
 
 		float newRank = getRank(id, skill);
+		recordChange(id);
 		support.fireSkillRankChangeEvent(id, skill, oldRank, newRank);
 	}
 
@@ -187,6 +188,7 @@ public class SkillRankFacet extends AbstractStorageFacet<CharID>
 				float oldRank = getRank(id, sk);
 				clMap.remove(pcc);
 				float newRank = getRank(id, sk);
+				recordChange(id);
 				support.fireSkillRankChangeEvent(id, sk, oldRank, newRank);
 			}
 		}
@@ -16,6 +16,11 @@
  */
 package pcgen.cdom.facet.analysis;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
 import pcgen.cdom.enumeration.CharID;
 import pcgen.cdom.facet.EquipmentFacet;
 import pcgen.cdom.facet.FacetLibrary;
@@ -24,12 +29,19 @@ import pcgen.core.Equipment;
 import pcgen.core.Globals;
 import pcgen.core.PlayerCharacter;
 import pcgen.core.RuleConstants;
+import pcgen.core.prereq.PrereqCache;
 
 /**
  * TotalWeightFacet performs calculations related to the total weight of
  * Equipment carried by a Player Character (does not include the body weight of
  * the Player Character).
  * 
+ * The total weight, and the contained weight of each container, are held
+ * until the Player Character or its Equipment changes. The totals are
+ * discarded whenever the serial of the Player Character, the change count of
+ * its CharID or the weight change count of Equipment moves on, so changes made
+ * directly to an item (such as its quantity carried or its container) are
+ * seen without the Player Character being marked as changed.
  */
 public class TotalWeightFacet
 {
@@ -38,6 +50,8 @@ public class TotalWeightFacet
 
 	private EquipmentFacet equipmentFacet;
 
+	private final Map<CharID, WeightCache> cacheMap = Collections.synchronizedMap(new WeakHashMap<>());
+
 	/**
 	 * Returns the total Equipment weight for the Player Character identified by
 	 * the given CharID.
@@ -49,12 +63,41 @@ public class TotalWeightFacet
 	 *         the given CharID
 	 */
 	public Float getTotalWeight(CharID id)
+	{
+		PlayerCharacter pc = trackingFacet.getPC(id);
+		WeightCache cache = getWeightCache(id, pc);
+		if (cache.totalWeight == null)
+		{
+			cache.totalWeight = calculateTotalWeight(id, pc, cache);
+		}
+		return cache.totalWeight;
+	}
+
+	/**
+	 * Returns the weight of the contents of the given container, held by the
+	 * Player Character identified by the given CharID. This is the value of
+	 * Equipment.getContainedWeight(PlayerCharacter) for the container.
+	 * 
+	 * @param id
+	 *            The CharID identifying the Player Character holding the
+	 *            container
+	 * @param container
+	 *            The container for which the weight of the contents is to be
+	 *            returned
+	 * @return The weight of the contents of the given container
+	 */
+	public Float getContainedWeight(CharID id, Equipment container)
+	{
+		PlayerCharacter pc = trackingFacet.getPC(id);
+		return container.getContainedWeight(pc, false, getWeightCache(id, pc).containedWeight);
+	}
+
+	private float calculateTotalWeight(CharID id, PlayerCharacter pc, WeightCache cache)
 	{
 		float totalWeight = 0;
 		final Float floatZero = 0.0f;
 		boolean firstClothing = !Globals.checkRule(RuleConstants.CLOTHINGENCUMBRANCE);
 
-		PlayerCharacter pc = trackingFacet.getPC(id);
 		for (Equipment eq : equipmentFacet.getSet(id))
 		{
 			// Loop through the list of top
@@ -62,7 +105,7 @@ public class TotalWeightFacet
 			{
 				if (eq.getChildCount() > 0)
 				{
-					totalWeight += (eq.getWeightAsDouble(pc) + eq.getContainedWeight(pc));
+					totalWeight += (eq.getWeightAsDouble(pc) + eq.getContainedWeight(pc, false, cache.containedWeight));
 				}
 				else
 				{
@@ -84,9 +127,59 @@ public class TotalWeightFacet
 		return totalWeight;
 	}
 
+	/**
+	 * Returns the WeightCache for the Player Character identified by the given
+	 * CharID, discarding the cached weights if the Player Character has
+	 * changed since they were calculated.
+	 */
+	private WeightCache getWeightCache(CharID id, PlayerCharacter pc)
+	{
+		if ((pc == null) || pc.isCalculatingBonuses())
+		{
+			/*
+			 * Weights can depend on bonuses, which are incomplete while they
+			 * are being calculated, so nothing is kept
+			 */
+			return new WeightCache(0, 0, false);
+		}
+		long stamp = PrereqCache.getStamp(pc.getSerial(), id.getChangeCount());
+		int weightChanges = Equipment.getWeightChangeCount();
+		boolean clothingRule = Globals.checkRule(RuleConstants.CLOTHINGENCUMBRANCE);
+		synchronized (cacheMap)
+		{
+			WeightCache cache = cacheMap.get(id);
+			if ((cache == null) || (cache.stamp != stamp) || (cache.weightChanges != weightChanges)
+				|| (cache.clothingRule != clothingRule))
+			{
+				cache = new WeightCache(stamp, weightChanges, clothingRule);
+				cacheMap.put(id, cache);
+			}
+			return cache;
+		}
+	}
+
 	public void setEquipmentFacet(EquipmentFacet equipmentFacet)
 	{
 		this.equipmentFacet = equipmentFacet;
 	}
 
+	/**
+	 * The weights calculated for a Player Character at a given stamp.
+	 */
+	private static final class WeightCache
+	{
+		private final long stamp;
+		private final int weightChanges;
+		private final boolean clothingRule;
+		private final Map<Equipment, Float> containedWeight = Collections.synchronizedMap(new IdentityHashMap<>());
+		private volatile Float totalWeight;
+
+		private WeightCache(long stamp, int weightChanges, boolean clothingRule)
+		{
+			this.stamp = stamp;
+			this.weightChanges = weightChanges;
+			this.clothingRule = clothingRule;
+		}
+	}
+
 }
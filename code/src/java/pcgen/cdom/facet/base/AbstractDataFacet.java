@@ -29,8 +29,11 @@ import pcgen.cdom.base.Category;
 import pcgen.cdom.base.PCGenIdentifier;
 import pcgen.cdom.enumeration.Nature;
 import pcgen.cdom.facet.CategorizedDataFacetChangeEvent;
+import pcgen.cdom.facet.event.BatchedDataFacetChangeListener;
 import pcgen.cdom.facet.event.DataFacetChangeEvent;
 import pcgen.cdom.facet.event.DataFacetChangeListener;
+import pcgen.util.PerformanceMetrics;
+import pcgen.util.PerformanceMetrics.Metric;
 
 /**
  * A AbstractDataFacet is a DataFacet that contains information about
@@ -214,6 +217,9 @@ public abstract class AbstractDataFacet<IDT extends PCGenIdentifier, T> extends
 	@SuppressWarnings("rawtypes")
 	protected void fireDataFacetChangeEvent(IDT id, T node, int type, Category category, Nature nature)
 	{
+		recordChange(id);
+		long start = PerformanceMetrics.start();
+		int calls = 0;
 		for (DataFacetChangeListener<IDT, ? super T>[] dfclArray : listeners.values())
 		{
 			/*
@@ -239,6 +245,12 @@ public abstract class AbstractDataFacet<IDT extends PCGenIdentifier, T> extends
 					}
 				}
 				DataFacetChangeListener dfcl = dfclArray[i];
+				if ((dfcl instanceof BatchedDataFacetChangeListener)
+					&& DataFacetChangeBatch.hold((BatchedDataFacetChangeListener) dfcl, ccEvent))
+				{
+					continue;
+				}
+				calls++;
 				switch (ccEvent.getEventType())
 				{
 					case DataFacetChangeEvent.DATA_ADDED:
@@ -252,6 +264,8 @@ public abstract class AbstractDataFacet<IDT extends PCGenIdentifier, T> extends
 				}
 			}
 		}
+		PerformanceMetrics.stop(Metric.FACET_EVENT, start);
+		PerformanceMetrics.count(Metric.FACET_LISTENER_CALL, calls);
 	}
 
 	public DataFacetChangeListener<IDT, ? super T>[] getDataFacetChangeListeners()
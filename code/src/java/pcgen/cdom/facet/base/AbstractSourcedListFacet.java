@@ -27,6 +27,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import pcgen.base.util.ListSet;
 import pcgen.cdom.base.CDOMObject;
@@ -55,6 +56,11 @@ import pcgen.cdom.facet.event.DataFacetChangeEvent;
  * 
  * null is a valid source.
  * 
+ * copyContents does not copy the stored objects. The copy shares the contents
+ * of the original until either of them is changed, at which point the one
+ * being changed takes its own copy. This keeps cloning a PlayerCharacter cheap
+ * when the clone is only read, as it is for output.
+ * 
  * @param <IDT>
  *            The Type of identifier used in this AbstractSourcedListFacet
  * @param <T>
@@ -62,6 +68,12 @@ import pcgen.cdom.facet.event.DataFacetChangeEvent;
  */
 public abstract class AbstractSourcedListFacet<IDT extends PCGenIdentifier, T> extends AbstractDataFacet<IDT, T>
 {
+	/**
+	 * The resources whose contents may be shared with another resource, and
+	 * must therefore be copied before they are changed.
+	 */
+	private final Map<IDT, Boolean> sharedIDs = Collections.synchronizedMap(new WeakHashMap<>());
+
 	/**
 	 * Add the given object with the given source to the list of objects stored
 	 * in this AbstractSourcedListFacet for the resource represented by the
@@ -140,7 +152,8 @@ public abstract class AbstractSourcedListFacet<IDT extends PCGenIdentifier, T> e
 	public boolean remove(IDT id, T obj, Object source)
 	{
 		Map<T, Set<Object>> componentMap = getCachedMap(id);
-		return (componentMap != null) && processRemoval(id, componentMap, obj, source);
+		return (componentMap != null) && componentMap.containsKey(obj)
+			&& processRemoval(id, getModifiableMap(id, componentMap), obj, source);
 	}
 
 	/**
@@ -169,6 +182,7 @@ public abstract class AbstractSourcedListFacet<IDT extends PCGenIdentifier, T> e
 		Map<T, Set<Object>> componentMap = getCachedMap(id);
 		if (componentMap != null)
 		{
+			componentMap = getModifiableMap(id, componentMap);
 			for (T obj : c)
 			{
 				processRemoval(id, componentMap, obj, source);
@@ -206,6 +220,7 @@ public abstract class AbstractSourcedListFacet<IDT extends PCGenIdentifier, T> e
 		{
 			return Collections.emptyMap();
 		}
+		componentMap = getModifiableMap(id, componentMap);
 		removeCache(id);
 		for (T obj : componentMap.keySet())
 		{
@@ -381,10 +396,44 @@ public abstract class AbstractSourcedListFacet<IDT extends PCGenIdentifier, T> e
 		Map<T, Set<Object>> componentMap = getCachedMap(id);
 		if (componentMap == null)
 		{
+			sharedIDs.remove(id);
 			componentMap = getComponentMap();
 			setCache(id, componentMap);
+			return componentMap;
 		}
-		return componentMap;
+		return getModifiableMap(id, componentMap);
+	}
+
+	/**
+	 * Returns a Map of the contents of this AbstractSourcedListFacet for the
+	 * given PCGenIdentifier that may be modified without changing the contents
+	 * for any other PCGenIdentifier. If the given Map may be shared with
+	 * another PCGenIdentifier, it is copied and the copy is stored for the
+	 * given PCGenIdentifier.
+	 * 
+	 * @param id
+	 *            The PCGenIdentifier for which a modifiable Map should be
+	 *            returned
+	 * @param componentMap
+	 *            The Map currently stored for the given PCGenIdentifier
+	 * @return A Map of the contents for the given PCGenIdentifier that is not
+	 *         shared with any other PCGenIdentifier
+	 */
+	private Map<T, Set<Object>> getModifiableMap(IDT id, Map<T, Set<Object>> componentMap)
+	{
+		if (sharedIDs.isEmpty() || (sharedIDs.remove(id) == null))
+		{
+			return componentMap;
+		}
+		Map<T, Set<Object>> copy = getComponentMap();
+		for (Map.Entry<T, Set<Object>> me : componentMap.entrySet())
+		{
+			Set<Object> set = Collections.newSetFromMap(new IdentityHashMap<>());
+			set.addAll(me.getValue());
+			copy.put(me.getKey(), set);
+		}
+		setCache(id, copy);
+		return copy;
 	}
 
 	/**
@@ -437,7 +486,18 @@ public abstract class AbstractSourcedListFacet<IDT extends PCGenIdentifier, T> e
 	public void copyContents(IDT source, IDT destination)
 	{
 		Map<T, Set<Object>> sourceMap = getCachedMap(source);
-		if (sourceMap != null)
+		if (sourceMap == null)
+		{
+			return;
+		}
+		if (getCachedMap(destination) == null)
+		{
+			// Share the contents until either side is changed
+			sharedIDs.put(source, Boolean.TRUE);
+			sharedIDs.put(destination, Boolean.TRUE);
+			setCache(destination, sourceMap);
+		}
+		else
 		{
 			for (Map.Entry<T, Set<Object>> me : sourceMap.entrySet())
 			{
@@ -509,8 +569,9 @@ public abstract class AbstractSourcedListFacet<IDT extends PCGenIdentifier, T> e
 	public void removeAll(IDT id, Object source)
 	{
 		Map<T, Set<Object>> componentMap = getCachedMap(id);
-		if (componentMap != null)
+		if (componentMap != null && containsFrom(id, source))
 		{
+			componentMap = getModifiableMap(id, componentMap);
 			/*
 			 * This list exists primarily to eliminate the possibility of a
 			 * concurrent modification exception on a recursive remove
@@ -17,17 +17,21 @@
  */
 package pcgen.cdom.facet.base;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import pcgen.base.test.InequalityTester;
-import pcgen.base.util.DoubleKeyMap;
 import pcgen.cdom.base.PCGenIdentifier;
+import pcgen.cdom.enumeration.CharID;
 import pcgen.util.Logging;
 
 /**
@@ -72,20 +76,64 @@ public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 	/**
 	 * The actual cache that stores the CDOM information, as stored by the
 	 * identifying PCGenIdentifier of a resource and the class of the facet
-	 * storing the information
+	 * storing the information. Each resource has its own map, so characters
+	 * processed on different threads do not contend with each other (the
+	 * contents stored for a single resource are not themselves thread-safe).
+	 * The resources are held weakly, as by a WeakHashMap.
 	 */
-	private static final DoubleKeyMap<PCGenIdentifier, Class<?>, Object> CACHE =
-			new DoubleKeyMap<>(WeakHashMap.class, HashMap.class);
+	private static final Map<Object, Map<Class<?>, Object>> CACHE = new ConcurrentHashMap<>();
+
+	/**
+	 * The keys of CACHE whose resource has been garbage collected.
+	 */
+	private static final ReferenceQueue<PCGenIdentifier> COLLECTED = new ReferenceQueue<>();
 
 	/*
-	 * Note: the use of CACHE.getReadOnlyMapFor(K1) in peekAtCache makes calling
-	 * CACHE.removeAll(k1) or CACHE.clear() [not used in this class at the
-	 * moment] a rather dangerous activity that is prone to later frustration in
-	 * debugging. It is advised that if such a call is every considered that
-	 * detailed consideration is made of the consequences so that debugging
-	 * information is not destroyed in the process. - thpr Dec 15, 2012.
+	 * Note: the use of the map for a PCGenIdentifier in peekAtCache makes
+	 * removing that map from CACHE a rather dangerous activity that is prone to
+	 * later frustration in debugging. It is advised that if such a call is
+	 * every considered that detailed consideration is made of the consequences
+	 * so that debugging information is not destroyed in the process. - thpr
+	 * Dec 15, 2012.
 	 */
 
+	/**
+	 * Returns the map of the cache for the given resource, or null if nothing
+	 * has been stored for the resource.
+	 */
+	private static Map<Class<?>, Object> getMapFor(PCGenIdentifier id)
+	{
+		return CACHE.get(new LookupKey(id));
+	}
+
+	/**
+	 * Returns the map of the cache for the given resource, creating it if
+	 * nothing has been stored for the resource.
+	 */
+	private static Map<Class<?>, Object> getOrCreateMapFor(PCGenIdentifier id)
+	{
+		Map<Class<?>, Object> map = getMapFor(id);
+		if (map == null)
+		{
+			expungeCollected();
+			map = CACHE.computeIfAbsent(new IdentifierKey(id, COLLECTED), k -> new ConcurrentHashMap<>());
+		}
+		return map;
+	}
+
+	/**
+	 * Removes the maps of resources that have been garbage collected.
+	 */
+	private static void expungeCollected()
+	{
+		Reference<? extends PCGenIdentifier> ref = COLLECTED.poll();
+		while (ref != null)
+		{
+			CACHE.remove(ref);
+			ref = COLLECTED.poll();
+		}
+	}
+
 	/**
 	 * Removes the information from the cache for a given resource and facet (as
 	 * identified by the Class)
@@ -100,7 +148,8 @@ public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 	public Object removeCache(T id)
 	{
 		Objects.requireNonNull(id, "PCGenIdentifier cannot be null in removeCache");
-		return CACHE.remove(id, thisClass);
+		Map<Class<?>, Object> map = getMapFor(id);
+		return (map == null) ? null : map.remove(thisClass);
 	}
 
 	/**
@@ -119,7 +168,12 @@ public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 	public Object setCache(T id, Object o)
 	{
 		Objects.requireNonNull(id, "PCGenIdentifier cannot be null in setCache");
-		return CACHE.put(id, thisClass, o);
+		if (o == null)
+		{
+			// The maps do not hold null, which reads the same as no entry
+			return removeCache(id);
+		}
+		return getOrCreateMapFor(id).put(thisClass, o);
 	}
 
 	/**
@@ -136,7 +190,8 @@ public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 	public Object getCache(T id)
 	{
 		Objects.requireNonNull(id, "PCGenIdentifier cannot be null in getCache");
-		return CACHE.get(id, thisClass);
+		Map<Class<?>, Object> map = getMapFor(id);
+		return (map == null) ? null : map.get(thisClass);
 	}
 
 	/**
@@ -161,8 +216,10 @@ public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 	{
 		Objects.requireNonNull(id1, "PCGenIdentifier #1 cannot be null in areEqualCache");
 		Objects.requireNonNull(id2, "PCGenIdentifier #2 cannot be null in areEqualCache");
-		Set<Class<?>> set1 = CACHE.getSecondaryKeySet(id1);
-		Set<Class<?>> set2 = CACHE.getSecondaryKeySet(id2);
+		Map<Class<?>, Object> map1 = Objects.requireNonNullElse(getMapFor(id1), Collections.emptyMap());
+		Map<Class<?>, Object> map2 = Objects.requireNonNullElse(getMapFor(id2), Collections.emptyMap());
+		Set<Class<?>> set1 = new HashSet<>(map1.keySet());
+		Set<Class<?>> set2 = new HashSet<>(map2.keySet());
 		if (!set1.equals(set2))
 		{
 			List<Class<?>> l1 = new ArrayList<>(set1);
@@ -174,8 +231,8 @@ public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 		}
 		for (Class<?> cl : set1)
 		{
-			Object obj1 = CACHE.get(id1, cl);
-			Object obj2 = CACHE.get(id2, cl);
+			Object obj1 = map1.get(cl);
+			Object obj2 = map2.get(cl);
 			String equal = t.testEquality(obj1, obj2, cl + "/");
 			if (equal != null)
 			{
@@ -196,7 +253,7 @@ public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 	 * returned Map is transferred to the caller, although since it is
 	 * read-only, that is perhaps only relevant for determining the garbage
 	 * collection time of the decorator that makes the returned Map an
-	 * unmodifiable view into this DoubleKeyMap.
+	 * unmodifiable view into the cache.
 	 * 
 	 * Note that while this is a read-only map, there is no guarantee that this
 	 * returned map is thread-safe. Use in threaded situations with caution.
@@ -209,6 +266,86 @@ public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 	public static Map<Class<?>, Object> peekAtCache(PCGenIdentifier id)
 	{
 		Objects.requireNonNull(id, "PCGenIdentifier cannot be null in peekAtCache");
-		return CACHE.getReadOnlyMapFor(id);
+		return Collections.unmodifiableMap(getOrCreateMapFor(id));
+	}
+
+	/**
+	 * Records that the contents of a facet have changed for the given
+	 * PCGenIdentifier, so that results calculated from the facets of a
+	 * Character (such as cached prerequisite results) are no longer treated as
+	 * current. Has no effect if the PCGenIdentifier is not a CharID.
+	 * 
+	 * @param id
+	 *            The PCGenIdentifier for which the contents of a facet have
+	 *            changed
+	 */
+	protected static void recordChange(PCGenIdentifier id)
+	{
+		if (id instanceof CharID)
+		{
+			((CharID) id).recordChange();
+		}
+	}
+
+	/**
+	 * A key of CACHE, which refers weakly to a PCGenIdentifier and compares
+	 * identifiers by identity, as PCGenIdentifiers do not override equals.
+	 */
+	private static final class IdentifierKey extends WeakReference<PCGenIdentifier>
+	{
+		private final int hash;
+
+		private IdentifierKey(PCGenIdentifier id, ReferenceQueue<PCGenIdentifier> queue)
+		{
+			super(id, queue);
+			hash = System.identityHashCode(id);
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (this == obj)
+			{
+				return true;
+			}
+			PCGenIdentifier id = get();
+			if (obj instanceof LookupKey)
+			{
+				return (id != null) && (id == ((LookupKey) obj).id);
+			}
+			return (obj instanceof IdentifierKey) && (id != null) && (id == ((IdentifierKey) obj).get());
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return hash;
+		}
+	}
+
+	/**
+	 * A key used only to look up the map of a PCGenIdentifier in CACHE,
+	 * without creating a WeakReference for each lookup.
+	 */
+	private static final class LookupKey
+	{
+		private final PCGenIdentifier id;
+
+		private LookupKey(PCGenIdentifier id)
+		{
+			this.id = id;
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			return (obj instanceof IdentifierKey) && (((IdentifierKey) obj).get() == id);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return System.identityHashCode(id);
+		}
 	}
 }
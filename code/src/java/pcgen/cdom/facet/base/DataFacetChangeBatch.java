@@ -0,0 +1,197 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.cdom.facet.base;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import pcgen.cdom.base.PCGenIdentifier;
+import pcgen.cdom.facet.CategorizedDataFacetChangeEvent;
+import pcgen.cdom.facet.event.BatchedDataFacetChangeListener;
+import pcgen.cdom.facet.event.DataFacetChangeEvent;
+
+/**
+ * A DataFacetChangeBatch groups the changes made to the facets of a Character
+ * into a single batch. While a batch is open for a Character, the
+ * DataFacetChangeEvents for that Character are held back from any
+ * BatchedDataFacetChangeListener, and are delivered to each such listener in a
+ * single call when the batch is committed. Other DataFacetChangeListeners
+ * (including all of those on which the rules depend) continue to receive each
+ * event as it occurs.
+ *
+ * This allows an operation which makes many changes, such as applying a kit or
+ * adding many levels, to update views of the Character once rather than once
+ * per change.
+ *
+ * Batches may be nested; the events are delivered when the outermost batch is
+ * committed. Each call to begin() must be matched by a call to commit(),
+ * typically in a finally block.
+ */
+public final class DataFacetChangeBatch
+{
+
+	/**
+	 * The open batches, by the PCGenIdentifier of the Character to which they
+	 * apply.
+	 */
+	private static final Map<PCGenIdentifier, DataFacetChangeBatch> OPEN = new ConcurrentHashMap<>();
+
+	/**
+	 * The number of times this batch has been begun but not committed.
+	 */
+	private int depth;
+
+	/**
+	 * The events held back, by the listener to which they are to be
+	 * delivered, in the order in which the listeners first received an event.
+	 */
+	private final Map<BatchedDataFacetChangeListener<?, ?>, List<DataFacetChangeEvent<?, ?>>> held =
+			new LinkedHashMap<>();
+
+	private DataFacetChangeBatch()
+	{
+		// Only constructed by begin
+	}
+
+	/**
+	 * Begins a batch of changes to the Character identified by the given
+	 * PCGenIdentifier.
+	 *
+	 * @param id
+	 *            The PCGenIdentifier of the Character being changed
+	 */
+	public static void begin(PCGenIdentifier id)
+	{
+		Objects.requireNonNull(id, "PCGenIdentifier cannot be null in begin");
+		OPEN.computeIfAbsent(id, k -> new DataFacetChangeBatch()).depth++;
+	}
+
+	/**
+	 * Commits a batch of changes to the Character identified by the given
+	 * PCGenIdentifier. If this commits the outermost batch, the events held
+	 * back during the batch are delivered to the BatchedDataFacetChangeListeners.
+	 *
+	 * @param id
+	 *            The PCGenIdentifier of the Character being changed
+	 */
+	public static void commit(PCGenIdentifier id)
+	{
+		DataFacetChangeBatch batch = OPEN.get(id);
+		if (batch == null)
+		{
+			throw new IllegalStateException("No batch of changes has been begun for " + id);
+		}
+		batch.depth--;
+		if (batch.depth == 0)
+		{
+			OPEN.remove(id);
+			batch.deliver();
+		}
+	}
+
+	/**
+	 * Holds back the given event from the given listener, if a batch is open
+	 * for the Character to which the event applies.
+	 *
+	 * @param listener
+	 *            The listener to which the event would be sent
+	 * @param event
+	 *            The event to be sent
+	 * @return true if the event has been held back; false if it should be sent
+	 *         now
+	 */
+	static boolean hold(BatchedDataFacetChangeListener<?, ?> listener, DataFacetChangeEvent<?, ?> event)
+	{
+		if (OPEN.isEmpty())
+		{
+			return false;
+		}
+		DataFacetChangeBatch batch = OPEN.get(event.getCharID());
+		if (batch == null)
+		{
+			return false;
+		}
+		batch.held.computeIfAbsent(listener, k -> new ArrayList<>()).add(event);
+		return true;
+	}
+
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private void deliver()
+	{
+		for (Map.Entry<BatchedDataFacetChangeListener<?, ?>, List<DataFacetChangeEvent<?, ?>>> me : held
+			.entrySet())
+		{
+			List<DataFacetChangeEvent<?, ?>> events = coalesce(me.getValue());
+			if (!events.isEmpty())
+			{
+				((BatchedDataFacetChangeListener) me.getKey()).dataChanged(events);
+			}
+		}
+	}
+
+	/**
+	 * Returns the given events without those which cancel each other out: an
+	 * object added to a facet and then removed from it (or removed and then
+	 * added back).
+	 */
+	private static List<DataFacetChangeEvent<?, ?>> coalesce(List<DataFacetChangeEvent<?, ?>> events)
+	{
+		List<DataFacetChangeEvent<?, ?>> result = new ArrayList<>(events.size());
+		Map<List<Object>, Integer> lastIndex = new HashMap<>();
+		for (DataFacetChangeEvent<?, ?> event : events)
+		{
+			List<Object> key = getKey(event);
+			Integer index = lastIndex.remove(key);
+			if ((index != null) && (result.get(index).getEventType() != event.getEventType()))
+			{
+				result.set(index, null);
+				// An earlier event for the same object may now be the last
+				for (int i = index - 1; i >= 0; i--)
+				{
+					DataFacetChangeEvent<?, ?> earlier = result.get(i);
+					if ((earlier != null) && key.equals(getKey(earlier)))
+					{
+						lastIndex.put(key, i);
+						break;
+					}
+				}
+			}
+			else
+			{
+				lastIndex.put(key, result.size());
+				result.add(event);
+			}
+		}
+		result.removeIf(Objects::isNull);
+		return result;
+	}
+
+	private static List<Object> getKey(DataFacetChangeEvent<?, ?> event)
+	{
+		if (event instanceof CategorizedDataFacetChangeEvent)
+		{
+			CategorizedDataFacetChangeEvent<?, ?> cEvent = (CategorizedDataFacetChangeEvent<?, ?>) event;
+			return Arrays.asList(event.getSource(), event.getCDOMObject(), cEvent.getCategory(), cEvent.getNature());
+		}
+		return Arrays.asList(event.getSource(), event.getCDOMObject());
+	}
+}
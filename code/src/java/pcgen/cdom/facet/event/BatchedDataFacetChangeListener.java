@@ -0,0 +1,53 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.cdom.facet.event;
+
+import java.util.List;
+
+import pcgen.cdom.base.PCGenIdentifier;
+
+/**
+ * A BatchedDataFacetChangeListener is a DataFacetChangeListener which can
+ * receive the changes made during a batch of changes (see
+ * DataFacetChangeBatch) all at once, when the batch is committed, rather than
+ * as each change is made.
+ * 
+ * As the events are held back until the batch is committed, a
+ * BatchedDataFacetChangeListener must not be one on which the rules rely
+ * during the batch; it is intended for listeners such as user interface
+ * models which only reflect the state of a Character.
+ * 
+ * @param <IDT>
+ *            The type of Identifier (e.g. CharID) used by this
+ *            BatchedDataFacetChangeListener
+ * @param <T>
+ *            The Type object of changed in the events received by a
+ *            BatchedDataFacetChangeListener
+ */
+public interface BatchedDataFacetChangeListener<IDT extends PCGenIdentifier, T> extends DataFacetChangeListener<IDT, T>
+{
+	/**
+	 * Method called when a batch of changes is committed, with the
+	 * DataFacetChangeEvents held back during the batch. Events which cancel
+	 * each other out (an object being added to and then removed from the same
+	 * facet, or vice versa) are not included.
+	 * 
+	 * @param events
+	 *            The DataFacetChangeEvents which occurred during the batch, in
+	 *            the order in which they occurred; never empty
+	 */
+	public void dataChanged(List<DataFacetChangeEvent<IDT, T>> events);
+}
@@ -21,6 +21,7 @@ import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -93,6 +94,13 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 	private final Map<FixedStringList, WeakReference<CDOMGroupRef<T>>> typeReferences =
 			new TreeMap<>(FixedStringList.CASE_INSENSITIVE_ORDER);
 
+	/**
+	 * Hashed index of typeReferences, keyed by the canonical form of the set
+	 * of types (see getTypeKey(String...)), so that a type reference can be
+	 * found without comparing the types of every other type reference.
+	 */
+	private final Map<String, WeakReference<CDOMGroupRef<T>>> typeReferenceIndex = new HashMap<>();
+
 	/**
 	 * Storage for individual references. This ensures that only one reference
 	 * is ever built for any identifier. (and allows those references to be
@@ -103,6 +111,13 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 	private final Map<String, WeakReference<CDOMSingleRef<T>>> referenced =
 			new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
 
+	/**
+	 * Hashed index of referenced, keyed by the case folded identifier (see
+	 * caseFold(String)). The TreeMap is retained so that the references are
+	 * resolved in the same order as before.
+	 */
+	private final Map<String, WeakReference<CDOMSingleRef<T>>> referencedIndex = new HashMap<>();
+
 	/**
 	 * Stores the active objects for this AbstractReferenceManufacturer. These
 	 * are objects that have been constructed or imported into the
@@ -110,6 +125,12 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 	 */
 	private final KeyMap<T> active = new KeyMap<>();
 
+	/**
+	 * Hashed index of active, keyed by the case folded identifier (see
+	 * caseFold(String)). This must be updated whenever active is changed.
+	 */
+	private final Map<String, T> activeIndex = new HashMap<>();
+
 	/**
 	 * Stores derivative objects (Those that are NOT created by this
 	 * AbstractReferenceManufacturer and are NOT inserted into this
@@ -223,8 +244,8 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 			}
 		}
 		Arrays.sort(types);
-		FixedStringList typeList = new FixedStringList(types);
-		WeakReference<CDOMGroupRef<T>> ref = typeReferences.get(typeList);
+		String typeKey = getTypeKey(types);
+		WeakReference<CDOMGroupRef<T>> ref = typeReferenceIndex.get(typeKey);
 		if (ref != null)
 		{
 			CDOMGroupRef<T> trt = ref.get();
@@ -235,10 +256,81 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 		}
 		// Didn't find the appropriate key, create new
 		CDOMGroupRef<T> cgr = factory.getTypeReference(types);
-		typeReferences.put(typeList, new WeakReference<>(cgr));
+		WeakReference<CDOMGroupRef<T>> wr = new WeakReference<>(cgr);
+		typeReferences.put(new FixedStringList(types), wr);
+		typeReferenceIndex.put(typeKey, wr);
 		return cgr;
 	}
 
+	/**
+	 * Returns the canonical form of the given set of types, used as the key of
+	 * typeReferenceIndex. Sets of types that differ only in case or in order
+	 * have the same canonical form.
+	 * 
+	 * @param types
+	 *            The types, which must not contain a period
+	 * @return The canonical form of the given set of types
+	 */
+	private static String getTypeKey(String... types)
+	{
+		if (types.length == 1)
+		{
+			return caseFold(types[0]);
+		}
+		String[] folded = new String[types.length];
+		for (int i = 0; i < types.length; i++)
+		{
+			folded[i] = caseFold(types[i]);
+		}
+		Arrays.sort(folded);
+		return String.join(".", folded);
+	}
+
+	/**
+	 * true if String.CASE_INSENSITIVE_ORDER compares supplementary characters
+	 * by code point (as it does from Java 16), rather than comparing each half
+	 * of a surrogate pair separately.
+	 */
+	private static final boolean FOLD_SUPPLEMENTARY =
+			String.CASE_INSENSITIVE_ORDER.compare("\uD801\uDC00", "\uD801\uDC28") == 0;
+
+	/**
+	 * Returns the given String with the case of each character folded, such
+	 * that two Strings are equal once folded if and only if they are equal
+	 * under String.CASE_INSENSITIVE_ORDER.
+	 * 
+	 * @param key
+	 *            The String to be folded
+	 * @return The case folded String (the given String if folding does not
+	 *         change it)
+	 */
+	static String caseFold(String key)
+	{
+		int length = key.length();
+		for (int i = 0; i < length; i++)
+		{
+			char c = key.charAt(i);
+			if (Character.isSurrogate(c) ? FOLD_SUPPLEMENTARY : (fold(c) != c))
+			{
+				StringBuilder sb = new StringBuilder(length);
+				sb.append(key, 0, i);
+				while (i < length)
+				{
+					int cp = FOLD_SUPPLEMENTARY ? key.codePointAt(i) : key.charAt(i);
+					sb.appendCodePoint(fold(cp));
+					i += Character.charCount(cp);
+				}
+				return sb.toString();
+			}
+		}
+		return key;
+	}
+
+	private static int fold(int codePoint)
+	{
+		return Character.toLowerCase(Character.toUpperCase(codePoint));
+	}
+
 	/**
 	 * Returns a CDOMGroupRef for the given Class or Class/Context provided by
 	 * this AbstractReferenceManufacturer.
@@ -383,10 +475,12 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 			throw new IllegalArgumentException(
 				"Attempted to register a " + item.getClass().getName() + " in " + factory.getReferenceDescription());
 		}
-		T current = active.get(key);
+		String foldedKey = caseFold(key);
+		T current = activeIndex.get(foldedKey);
 		if (current == null)
 		{
 			active.put(key, item);
+			activeIndex.put(foldedKey, item);
 		}
 		else
 		{
@@ -414,7 +508,7 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 	@Override
 	public T getActiveObject(String key)
 	{
-		return active.get(key);
+		return activeIndex.get(caseFold(key));
 	}
 
 	/**
@@ -436,7 +530,7 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 	@Override
 	public T getObject(String key)
 	{
-		T po = active.get(key);
+		T po = activeIndex.get(caseFold(key));
 		if (po != null)
 		{
 			List<T> list = duplicates.getListFor(new CaseInsensitiveString(key));
@@ -577,12 +671,14 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 			{
 				// No replacement
 				active.remove(key);
+				activeIndex.remove(caseFold(key));
 			}
 			else
 			{
 				T newActive = duplicates.getElementInList(ocik, 0);
 				duplicates.removeFromListFor(ocik, newActive);
 				active.put(key, newActive);
+				activeIndex.put(caseFold(key), newActive);
 			}
 		}
 		return true;
@@ -608,7 +704,7 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 	@Override
 	public boolean containsObjectKeyed(String key)
 	{
-		return active.containsKey(key);
+		return activeIndex.containsKey(caseFold(key));
 	}
 
 	/**
@@ -676,7 +772,8 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 			throw new IllegalArgumentException("%LIST cannot be a valid single item (not supported in this token?)");
 		}
 
-		WeakReference<CDOMSingleRef<T>> wr = referenced.get(key);
+		String foldedKey = caseFold(key);
+		WeakReference<CDOMSingleRef<T>> wr = referencedIndex.get(foldedKey);
 		if (wr != null)
 		{
 			CDOMSingleRef<T> ref = wr.get();
@@ -688,7 +785,7 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 		CDOMSingleRef<T> ref;
 		if (isResolved)
 		{
-			T current = active.get(key);
+			T current = activeIndex.get(foldedKey);
 			if (current == null)
 			{
 				throw new IllegalArgumentException(
@@ -699,7 +796,9 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 		else
 		{
 			CDOMSingleRef<T> lr = factory.getReference(key);
-			referenced.put(key, new WeakReference<>(lr));
+			WeakReference<CDOMSingleRef<T>> lrwr = new WeakReference<>(lr);
+			referenced.put(key, lrwr);
+			referencedIndex.put(foldedKey, lrwr);
 			ref = lr;
 		}
 		return ref;
@@ -957,7 +1056,7 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 	{
 		for (String cis : deferred)
 		{
-			if (!active.containsKey(cis))
+			if (!activeIndex.containsKey(caseFold(cis)))
 			{
 				constructObject(cis);
 			}
@@ -991,6 +1090,7 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 			if (trt == null)
 			{
 				it.remove();
+				typeReferenceIndex.values().remove(wr);
 			}
 			else
 			{
@@ -1098,7 +1198,7 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 	@Override
 	public T constructNowIfNecessary(String key)
 	{
-		T obj = active.get(key);
+		T obj = activeIndex.get(caseFold(key));
 		if (obj == null)
 		{
 			obj = constructObject(key);
@@ -0,0 +1,298 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.cdom.util;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * An OrdinalKeyMap is a compact map for keys that have a unique ordinal, such
+ * as StringKey or ObjectKey. The keys are held in a single array sorted by
+ * ordinal, with the values in a parallel array, so a lookup is a binary search
+ * and there is no per-entry object or hash table.
+ *
+ * This is intended for the small number of keys set on each CDOMObject, and is
+ * not efficient for large maps, as insertion and removal shift the arrays.
+ * Null values are permitted.
+ *
+ * **NOTE** This class is NOT thread safe.
+ *
+ * @param <K>
+ *            The type of key stored in this OrdinalKeyMap
+ * @param <V>
+ *            The type of value stored in this OrdinalKeyMap
+ */
+public final class OrdinalKeyMap<K, V>
+{
+
+	private static final Object[] EMPTY = new Object[0];
+
+	/**
+	 * The function returning the ordinal of a key.
+	 */
+	private final ToIntFunction<? super K> ordinal;
+
+	/**
+	 * The keys in this OrdinalKeyMap, sorted by ordinal. Only the first size
+	 * entries are in use.
+	 */
+	private Object[] keys = EMPTY;
+
+	/**
+	 * The value for each key, at the same index as the key.
+	 */
+	private Object[] values = EMPTY;
+
+	private int size = 0;
+
+	/**
+	 * Constructs a new, empty OrdinalKeyMap.
+	 *
+	 * @param ordinal
+	 *            The function returning the ordinal of a key. Distinct keys
+	 *            must have distinct ordinals.
+	 */
+	public OrdinalKeyMap(ToIntFunction<? super K> ordinal)
+	{
+		this.ordinal = Objects.requireNonNull(ordinal);
+	}
+
+	/**
+	 * Constructs a new OrdinalKeyMap with the same contents as the given
+	 * OrdinalKeyMap.
+	 *
+	 * @param other
+	 *            The OrdinalKeyMap to be copied
+	 */
+	public OrdinalKeyMap(OrdinalKeyMap<K, ? extends V> other)
+	{
+		this.ordinal = other.ordinal;
+		this.size = other.size;
+		this.keys = Arrays.copyOf(other.keys, size);
+		this.values = Arrays.copyOf(other.values, size);
+	}
+
+	/**
+	 * Returns true if this OrdinalKeyMap contains a value for the given key.
+	 *
+	 * @param key
+	 *            The key to be checked
+	 * @return true if this OrdinalKeyMap contains a value for the given key;
+	 *         false otherwise
+	 */
+	public boolean containsKey(K key)
+	{
+		return indexOf(key) >= 0;
+	}
+
+	/**
+	 * Returns the value for the given key.
+	 *
+	 * @param key
+	 *            The key for which the value should be returned
+	 * @return The value for the given key, or null if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(K key)
+	{
+		int index = indexOf(key);
+		return index < 0 ? null : (V) values[index];
+	}
+
+	/**
+	 * Sets the value for the given key.
+	 *
+	 * @param key
+	 *            The key for which the value should be set
+	 * @param value
+	 *            The value to be set
+	 * @return The previous value for the given key, or null if there was none
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(K key, V value)
+	{
+		int index = indexOf(key);
+		if (index >= 0)
+		{
+			V old = (V) values[index];
+			values[index] = value;
+			return old;
+		}
+		int insert = -(index + 1);
+		if (size == keys.length)
+		{
+			int capacity = Math.max(2, size + (size >> 1) + 1);
+			keys = Arrays.copyOf(keys, capacity);
+			values = Arrays.copyOf(values, capacity);
+		}
+		System.arraycopy(keys, insert, keys, insert + 1, size - insert);
+		System.arraycopy(values, insert, values, insert + 1, size - insert);
+		keys[insert] = key;
+		values[insert] = value;
+		size++;
+		return null;
+	}
+
+	/**
+	 * Copies all of the values in the given OrdinalKeyMap into this
+	 * OrdinalKeyMap, replacing any existing values for the same keys.
+	 *
+	 * @param other
+	 *            The OrdinalKeyMap to be copied into this OrdinalKeyMap
+	 */
+	@SuppressWarnings("unchecked")
+	public void putAll(OrdinalKeyMap<K, ? extends V> other)
+	{
+		for (int i = 0; i < other.size; i++)
+		{
+			put((K) other.keys[i], (V) other.values[i]);
+		}
+	}
+
+	/**
+	 * Removes the value for the given key.
+	 *
+	 * @param key
+	 *            The key for which the value should be removed
+	 * @return The value that was removed, or null if there was none
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(K key)
+	{
+		int index = indexOf(key);
+		if (index < 0)
+		{
+			return null;
+		}
+		V old = (V) values[index];
+		int moved = size - index - 1;
+		System.arraycopy(keys, index + 1, keys, index, moved);
+		System.arraycopy(values, index + 1, values, index, moved);
+		size--;
+		keys[size] = null;
+		values[size] = null;
+		return old;
+	}
+
+	/**
+	 * Returns true if this OrdinalKeyMap is empty.
+	 *
+	 * @return true if this OrdinalKeyMap is empty; false otherwise
+	 */
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	/**
+	 * Returns a copy of the keys in this OrdinalKeyMap. Modifying the returned
+	 * Set does not modify this OrdinalKeyMap.
+	 *
+	 * @return A copy of the keys in this OrdinalKeyMap
+	 */
+	@SuppressWarnings("unchecked")
+	public Set<K> getKeySet()
+	{
+		Set<K> set = new HashSet<>();
+		for (int i = 0; i < size; i++)
+		{
+			set.add((K) keys[i]);
+		}
+		return set;
+	}
+
+	@SuppressWarnings("unchecked")
+	private int indexOf(K key)
+	{
+		int target = ordinal.applyAsInt(key);
+		int low = 0;
+		int high = size - 1;
+		while (low <= high)
+		{
+			int mid = (low + high) >>> 1;
+			int midOrdinal = ordinal.applyAsInt((K) keys[mid]);
+			if (midOrdinal < target)
+			{
+				low = mid + 1;
+			}
+			else if (midOrdinal > target)
+			{
+				high = mid - 1;
+			}
+			else
+			{
+				return mid;
+			}
+		}
+		return -(low + 1);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		int hash = size;
+		for (int i = 0; i < size; i++)
+		{
+			hash = 31 * hash + keys[i].hashCode();
+		}
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object obj)
+	{
+		if (obj == this)
+		{
+			return true;
+		}
+		if (!(obj instanceof OrdinalKeyMap))
+		{
+			return false;
+		}
+		OrdinalKeyMap<?, ?> other = (OrdinalKeyMap<?, ?>) obj;
+		if (size != other.size)
+		{
+			return false;
+		}
+		for (int i = 0; i < size; i++)
+		{
+			if (!keys[i].equals(other.keys[i]) || !Objects.equals(values[i], other.values[i]))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder sb = new StringBuilder();
+		sb.append('{');
+		for (int i = 0; i < size; i++)
+		{
+			if (i > 0)
+			{
+				sb.append(", ");
+			}
+			sb.append(keys[i]).append('=').append(values[i]);
+		}
+		return sb.append('}').toString();
+	}
+}
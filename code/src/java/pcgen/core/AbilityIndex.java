@@ -0,0 +1,227 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.StringTokenizer;
+
+import pcgen.base.util.HashMapToList;
+import pcgen.cdom.base.CDOMList;
+import pcgen.cdom.base.CDOMReference;
+import pcgen.cdom.base.Category;
+import pcgen.cdom.base.Constants;
+import pcgen.cdom.enumeration.Type;
+import pcgen.cdom.list.AbilityList;
+import pcgen.core.prereq.Prerequisite;
+import pcgen.core.prereq.PrerequisiteOperator;
+
+/**
+ * An AbilityIndex holds indexes over a fixed set of loaded Ability objects, so
+ * that the relationships between them can be looked up without walking the
+ * prerequisites and lists of every Ability each time.
+ *
+ * The indexes are built when the AbilityIndex is constructed, and do not
+ * reflect changes made to the Ability objects after that point.
+ */
+public final class AbilityIndex
+{
+
+	/**
+	 * The abilities named in the (non-negated) ability prerequisites of each
+	 * Ability.
+	 */
+	private final HashMapToList<Ability, Ability> prereqAbilities = new HashMapToList<>();
+
+	/**
+	 * The abilities which have each Ability in their (non-negated) ability
+	 * prerequisites, either by name or by TYPE.
+	 */
+	private final HashMapToList<Ability, Ability> requiredBy = new HashMapToList<>();
+
+	/**
+	 * The abilities which grant each Ability through an ability list.
+	 */
+	private final HashMapToList<Ability, Ability> grantedBy = new HashMapToList<>();
+
+	private final HashMapToList<Type, Ability> byType = new HashMapToList<>();
+
+	/**
+	 * Constructs a new AbilityIndex over the given abilities.
+	 *
+	 * @param abilities
+	 *            The abilities to be indexed
+	 */
+	public AbilityIndex(Collection<Ability> abilities)
+	{
+		// The types are needed to find the abilities a TYPE prerequisite names
+		for (Ability ability : abilities)
+		{
+			for (Type type : ability.getTrueTypeList(false))
+			{
+				byType.addToListFor(type, ability);
+			}
+		}
+		for (Ability ability : abilities)
+		{
+			for (Prerequisite prereq : ability.getPrerequisiteList())
+			{
+				addPrereqAbilities(ability, prereq, ability.getCDOMCategory());
+			}
+			addGrantedAbilities(ability);
+		}
+	}
+
+	private void addPrereqAbilities(Ability ability, Prerequisite prereq, Category<Ability> cat)
+	{
+		// Exclude negated prereqs
+		if (prereq == null || (prereq.getOperator() == PrerequisiteOperator.LT && "1".equals(prereq.getOperand())))
+		{
+			return;
+		}
+
+		if ("FEAT".equalsIgnoreCase(prereq.getKind()) || "ABILITY".equalsIgnoreCase(prereq.getKind()))
+		{
+			String key = prereq.getKey();
+			if (key.startsWith(Constants.LST_TYPE_EQUAL) || key.startsWith(Constants.LST_TYPE_DOT))
+			{
+				// Any ability of the type will do, so none is part of the prereq tree
+				for (Ability required : getAbilitiesOfType(key))
+				{
+					requiredBy.addToListFor(required, ability);
+				}
+			}
+			else
+			{
+				Ability required =
+						Globals.getContext().getReferenceContext().getManufacturerId(cat).getObject(key);
+				if (required != null)
+				{
+					prereqAbilities.addToListFor(ability, required);
+					requiredBy.addToListFor(required, ability);
+				}
+			}
+		}
+
+		for (Prerequisite childPrereq : prereq.getPrerequisites())
+		{
+			addPrereqAbilities(ability, childPrereq, cat);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void addGrantedAbilities(Ability ability)
+	{
+		for (CDOMReference<? extends CDOMList<?>> ref : ability.getModifiedLists())
+		{
+			for (CDOMList<?> list : ref.getContainedObjects())
+			{
+				if (list instanceof AbilityList)
+				{
+					for (CDOMReference<Ability> objref : ability.getListMods((CDOMReference<AbilityList>) ref))
+					{
+						for (Ability grantedAbility : objref.getContainedObjects())
+						{
+							if (!grantedBy.containsInList(grantedAbility, ability))
+							{
+								grantedBy.addToListFor(grantedAbility, ability);
+							}
+						}
+					}
+					break; // Only do once
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the abilities named in the ability prerequisites of the given
+	 * Ability, in the order they appear. Negated prerequisites and
+	 * prerequisites on a TYPE of ability are excluded.
+	 *
+	 * @param ability
+	 *            The Ability for which the prerequisite abilities should be
+	 *            returned
+	 * @return A new List of the abilities named in the prerequisites of the
+	 *         given Ability
+	 */
+	public List<Ability> getPrereqAbilities(Ability ability)
+	{
+		return getList(prereqAbilities, ability);
+	}
+
+	/**
+	 * Returns the abilities which name the given Ability, or a TYPE of the
+	 * given Ability, in their ability prerequisites. Negated prerequisites are
+	 * excluded.
+	 *
+	 * @param ability
+	 *            The Ability for which the abilities that require it should be
+	 *            returned
+	 * @return A new List of the abilities which require the given Ability
+	 */
+	public List<Ability> getAbilitiesRequiring(Ability ability)
+	{
+		return getList(requiredBy, ability);
+	}
+
+	/**
+	 * Returns the abilities which grant the given Ability through an ability
+	 * list (such as the ABILITY token).
+	 *
+	 * @param ability
+	 *            The Ability for which the abilities that grant it should be
+	 *            returned
+	 * @return A new List of the abilities which grant the given Ability
+	 */
+	public List<Ability> getAbilitiesGranting(Ability ability)
+	{
+		return getList(grantedBy, ability);
+	}
+
+	/**
+	 * Returns the abilities of the given type. As for PObject.isType(), the
+	 * type may start with TYPE= or TYPE., and may list several types separated
+	 * by a period, all of which an ability must have.
+	 *
+	 * @param type
+	 *            The type of the abilities to be returned
+	 * @return A new List of the abilities of the given type
+	 */
+	public List<Ability> getAbilitiesOfType(String type)
+	{
+		String types = (type.startsWith(Constants.LST_TYPE_EQUAL) || type.startsWith(Constants.LST_TYPE_DOT))
+			? type.substring(Constants.SUBSTRING_LENGTH_FIVE) : type;
+		StringTokenizer tok = new StringTokenizer(types, ".");
+		if (!tok.hasMoreTokens())
+		{
+			return new ArrayList<>();
+		}
+		List<Ability> list = getList(byType, Type.getConstant(tok.nextToken()));
+		if (tok.hasMoreTokens())
+		{
+			list.removeIf(ability -> !ability.isType(types));
+		}
+		return list;
+	}
+
+	private static <K> List<Ability> getList(HashMapToList<K, Ability> map, K key)
+	{
+		List<Ability> list = map.getListFor(key);
+		return (list == null) ? new ArrayList<>() : list;
+	}
+}
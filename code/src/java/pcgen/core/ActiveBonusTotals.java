@@ -0,0 +1,181 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core;
+
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ActiveBonusTotals indexes the totals in the active bonus map of a
+ * BonusManager, so that the total for a bonus (such as COMBAT.AC) or a typed
+ * bonus (such as COMBAT.AC:ARMOR) can be found by looking at only the entries
+ * for that bonus, rather than every entry in the map.
+ *
+ * Each fully qualified bonus type in the map, such as COMBAT.AC:ARMOR.REPLACE,
+ * is split into the bonus (COMBAT.AC), the typed bonus (COMBAT.AC:ARMOR) and
+ * the stacking mode (REPLACE). The totals of a typed bonus for each stacking
+ * mode are held together, as doubles, under the bonus.
+ */
+final class ActiveBonusTotals
+{
+
+	private static final String STACK_SUFFIX = ".STACK";
+	private static final String REPLACE_SUFFIX = ".REPLACE";
+
+	/**
+	 * The totals of each typed bonus, by bonus and then by typed bonus.
+	 */
+	private final Map<String, Map<String, TypedTotal>> totals = new ConcurrentHashMap<>();
+
+	/**
+	 * Records the total for the given fully qualified bonus type, as stored in
+	 * the active bonus map.
+	 *
+	 * @param fullyQualifiedBonusType
+	 *            The upper case, fully qualified bonus type, e.g.
+	 *            COMBAT.AC:ARMOR.REPLACE
+	 * @param value
+	 *            The total for the bonus type, as stored in the active bonus
+	 *            map
+	 */
+	void put(String fullyQualifiedBonusType, String value)
+	{
+		String typedBonus = fullyQualifiedBonusType;
+		boolean stack = false;
+		boolean replace = false;
+		if (typedBonus.endsWith(STACK_SUFFIX))
+		{
+			typedBonus = typedBonus.substring(0, typedBonus.length() - STACK_SUFFIX.length());
+			stack = true;
+		}
+		else if (typedBonus.endsWith(REPLACE_SUFFIX))
+		{
+			typedBonus = typedBonus.substring(0, typedBonus.length() - REPLACE_SUFFIX.length());
+			replace = true;
+		}
+		TypedTotal total = totals.computeIfAbsent(getBonus(typedBonus), k -> new ConcurrentHashMap<>())
+			.computeIfAbsent(typedBonus, TypedTotal::new);
+		double d = Double.parseDouble(value);
+		if (stack)
+		{
+			total.stack = d;
+		}
+		else if (replace)
+		{
+			total.replace = d;
+		}
+		else
+		{
+			total.value = d;
+		}
+	}
+
+	/**
+	 * Records the totals in the given active bonus map.
+	 *
+	 * @param activeBonusMap
+	 *            The active bonus map to be indexed
+	 */
+	void putAll(Map<String, String> activeBonusMap)
+	{
+		activeBonusMap.forEach(this::put);
+	}
+
+	/**
+	 * Returns the total of the bonuses for the given bonus or typed bonus.
+	 * Given a bonus, such as COMBAT.AC, this totals every typed bonus for that
+	 * bonus. For each typed bonus, the higher of the normal and REPLACE totals
+	 * is taken, and the STACK total is added.
+	 *
+	 * @param fullyQualifiedBonusType
+	 *            The upper case bonus (e.g. COMBAT.AC) or typed bonus (e.g.
+	 *            COMBAT.AC:ARMOR)
+	 * @return The total of the bonuses, or an empty OptionalDouble if there
+	 *         are no bonuses for the given bonus or typed bonus
+	 */
+	OptionalDouble sum(String fullyQualifiedBonusType)
+	{
+		Map<String, TypedTotal> typedTotals = totals.get(getBonus(fullyQualifiedBonusType));
+		if (typedTotals == null)
+		{
+			return OptionalDouble.empty();
+		}
+		String typePrefix = fullyQualifiedBonusType + ':';
+		boolean found = false;
+		double bonus = 0;
+		for (TypedTotal total : typedTotals.values())
+		{
+			// COMBAT.AC matches COMBAT.AC and COMBAT.AC:LUCK
+			if (total.typedBonus.equals(fullyQualifiedBonusType) || total.typedBonus.startsWith(typePrefix))
+			{
+				found = true;
+				bonus += total.getTotal();
+			}
+		}
+		return found ? OptionalDouble.of(bonus) : OptionalDouble.empty();
+	}
+
+	/**
+	 * Returns the bonus part (the part before the type) of the given typed
+	 * bonus.
+	 */
+	private static String getBonus(String typedBonus)
+	{
+		int colonLoc = typedBonus.indexOf(':');
+		return (colonLoc == -1) ? typedBonus : typedBonus.substring(0, colonLoc);
+	}
+
+	/**
+	 * The totals of a typed bonus for each stacking mode.
+	 */
+	private static final class TypedTotal
+	{
+		private final String typedBonus;
+
+		/*
+		 * NaN is used in order to be able to get the max between an undefined
+		 * bonus and a negative
+		 */
+		private double value = Double.NaN;
+		private double replace = Double.NaN;
+		private double stack = 0;
+
+		private TypedTotal(String typedBonus)
+		{
+			this.typedBonus = typedBonus;
+		}
+
+		private double getTotal()
+		{
+			double total;
+			if (Double.isNaN(value))
+			{
+				total = Double.isNaN(replace) ? 0 : replace;
+			}
+			else if (Double.isNaN(replace))
+			{
+				total = value;
+			}
+			else
+			{
+				total = Math.max(value, replace);
+			}
+			// always add stack
+			return total + stack;
+		}
+	}
+}
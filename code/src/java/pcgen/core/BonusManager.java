@@ -27,6 +27,7 @@ import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.OptionalDouble;
 import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.TreeSet;
@@ -41,6 +42,7 @@ import pcgen.cdom.base.Constants;
 import pcgen.cdom.base.FormulaFactory;
 import pcgen.cdom.enumeration.StringKey;
 import pcgen.core.analysis.ChooseActivation;
+import pcgen.core.bonus.BonusDependencyIndex;
 import pcgen.core.bonus.BonusObj;
 import pcgen.core.bonus.BonusPair;
 import pcgen.core.bonus.util.MissingObject;
@@ -49,6 +51,8 @@ import pcgen.core.prereq.Prerequisite;
 import pcgen.core.utils.CoreUtility;
 import pcgen.util.Delta;
 import pcgen.util.Logging;
+import pcgen.util.PerformanceMetrics;
+import pcgen.util.PerformanceMetrics.Metric;
 
 public class BonusManager
 {
@@ -67,6 +71,11 @@ public class BonusManager
 
 	private Map<String, String> activeBonusMap = new ConcurrentHashMap<>();
 
+	/**
+	 * The totals in activeBonusMap, indexed by bonus.
+	 */
+	private ActiveBonusTotals activeBonusTotals = new ActiveBonusTotals();
+
 	private Map<String, Double> cachedActiveBonusSumsMap = new ConcurrentHashMap<>();
 
 	private Map<BonusObj, Object> activeBonusBySource = new IdentityHashMap<>();
@@ -99,107 +108,20 @@ public class BonusManager
 		fullyQualifiedBonusType = fullyQualifiedBonusType.toUpperCase();
 		if (cachedActiveBonusSumsMap.containsKey(fullyQualifiedBonusType))
 		{
+			PerformanceMetrics.count(Metric.BONUS_SUM_CACHE_HIT);
 			return cachedActiveBonusSumsMap.get(fullyQualifiedBonusType);
 		}
 
-		final List<String> aList = new ArrayList<>();
-		boolean found = false;
-
-		for (String fullyQualifedCurrentBonus : activeBonusMap.keySet())
-		{
-			// aKey is either of the form:
-			// COMBAT.AC
-			// or
-			// COMBAT.AC:Luck
-			// or
-			// COMBAT.AC:Armor.REPLACE
-			if (aList.contains(fullyQualifedCurrentBonus))
-			{
-				continue;
-			}
-
-			if (fullyQualifedCurrentBonus == null)
-			{
-				Logging.errorPrint(
-					"null BONUS: loaded into activeBonusMap. " + fullyQualifiedBonusType + " was requested");
-				continue;
-			}
-
-			String currentTypedBonusNameInfo = fullyQualifedCurrentBonus;
-
-			// rString could be something like:
-			// COMBAT.AC:Armor.REPLACE
-			// So need to remove the .STACK or .REPLACE
-			// to get a match for prefix like: COMBAT.AC:Armor
-			if (currentTypedBonusNameInfo.endsWith(".STACK"))
-			{
-				currentTypedBonusNameInfo =
-						currentTypedBonusNameInfo.substring(0, currentTypedBonusNameInfo.length() - 6);
-			}
-			else if (currentTypedBonusNameInfo.endsWith(".REPLACE"))
-			{
-				currentTypedBonusNameInfo =
-						currentTypedBonusNameInfo.substring(0, currentTypedBonusNameInfo.length() - 8);
-			}
-
-            // if prefix is of the form:
-			// COMBAT.AC
-			// then is must match rstring:
-			// COMBAT.AC
-			// COMBAT.AC:Luck
-			// COMBAT.AC:Armor.REPLACE
-			// However, it must not match
-			// COMBAT.ACCHECK
-			if ((currentTypedBonusNameInfo.length() > fullyQualifiedBonusType.length())
-				&& !currentTypedBonusNameInfo.startsWith(fullyQualifiedBonusType + ":"))
-			{
-				continue;
-			}
-
-			if (currentTypedBonusNameInfo.startsWith(fullyQualifiedBonusType))
-			{
-				found = true;
-				aList.add(currentTypedBonusNameInfo);
-				aList.add(currentTypedBonusNameInfo + ".STACK");
-				aList.add(currentTypedBonusNameInfo + ".REPLACE");
-
-				final double aBonus = getActiveBonusForMapKey(currentTypedBonusNameInfo, Double.NaN);
-				final double replaceBonus = getActiveBonusForMapKey(currentTypedBonusNameInfo + ".REPLACE", Double.NaN);
-				final double stackBonus = getActiveBonusForMapKey(currentTypedBonusNameInfo + ".STACK", 0);
-				//
-				// Using NaNs in order to be able to get the max
-				// between an undefined bonus and a negative
-				//
-				if (Double.isNaN(aBonus)) // no bonusKey
-				{
-					if (!Double.isNaN(replaceBonus))
-					{
-						// no bonusKey, but there
-						// is a replaceKey
-						bonus += replaceBonus;
-					}
-				}
-				else if (Double.isNaN(replaceBonus))
-				{
-					// is a bonusKey and no replaceKey
-					bonus += aBonus;
-				}
-				else
-				{
-					// is a bonusKey and a replaceKey
-					bonus += Math.max(aBonus, replaceBonus);
-				}
-
-				// always add stackBonus
-				bonus += stackBonus;
-			}
-		}
+		long start = PerformanceMetrics.start();
+		OptionalDouble total = activeBonusTotals.sum(fullyQualifiedBonusType);
 
 		// cache value only if it has been positively found
-		if (found)
+		if (total.isPresent())
 		{
+			bonus = total.getAsDouble();
 			cachedActiveBonusSumsMap.put(fullyQualifiedBonusType, bonus);
 		}
+		PerformanceMetrics.stop(Metric.BONUS_SUM, start);
 		return bonus;
 	}
 
@@ -297,6 +219,7 @@ public class BonusManager
 	void buildActiveBonusMap()
 	{
 		activeBonusMap = new ConcurrentHashMap<>();
+		activeBonusTotals = new ActiveBonusTotals();
 		cachedActiveBonusSumsMap = new ConcurrentHashMap<>();
 		Map<String, String> nonStackMap = new ConcurrentHashMap<>();
 		Map<String, String> stackMap = new ConcurrentHashMap<>();
@@ -333,7 +256,7 @@ public class BonusManager
 			{
 				final double iBonus = bp.resolve(pc).doubleValue();
 				setActiveBonusStack(iBonus, bp.fullyQualifiedBonusType, nonStackMap, stackMap);
-				totalBonusesForType(nonStackMap, stackMap, bp.fullyQualifiedBonusType, activeBonusMap);
+				totalActiveBonusesForType(nonStackMap, stackMap, bp.fullyQualifiedBonusType);
 
 				if (Logging.isDebugMode())
 				{
@@ -354,6 +277,7 @@ public class BonusManager
 		//
 		// Now we do all the BonusObj's that require calculations
 		bonusListCopy = new ArrayList<>(getActiveBonusList());
+		BonusDependencyIndex dependencyIndex = new BonusDependencyIndex(bonusListCopy);
 		for (BonusObj bonus : getActiveBonusList())
 		{
 			if (processedBonuses.contains(bonus))
@@ -370,8 +294,8 @@ public class BonusManager
 
 			try
 			{
-				processBonus(bonus, Collections.newSetFromMap(new IdentityHashMap<>()), processedBonuses, nonStackMap,
-					stackMap);
+				processBonus(bonus, Collections.newSetFromMap(new IdentityHashMap<>()), processedBonuses,
+					dependencyIndex, nonStackMap, stackMap);
 			}
 			catch (Exception e)
 			{
@@ -409,6 +333,29 @@ public class BonusManager
 		putActiveBonusMap(fullyQualifiedBonusType, String.valueOf(FullValue), targetMap);
 	}
 
+	/**
+	 * Combines the non-stacking bonus maximum and stacking bonus totals to a
+	 * total bonus for the bonus type, and stores it in activeBonusMap.
+	 * 
+	 * @param nonStackMap
+	 *            The map of non-stacking (i.e. highest wins) bonuses being built up.
+	 * @param stackMap
+	 *            The map of stacking (i.e. total all) bonuses being built up.
+	 * @param fullyQualifiedBonusType
+	 *            The type of the bonus e.g. STAT.DEX:LUCK
+	 */
+	private void totalActiveBonusesForType(Map<String, String> nonStackMap, Map<String, String> stackMap,
+		String fullyQualifiedBonusType)
+	{
+		totalBonusesForType(nonStackMap, stackMap, fullyQualifiedBonusType, activeBonusMap);
+		String key = fullyQualifiedBonusType.toUpperCase();
+		String value = activeBonusMap.get(key);
+		if (value != null)
+		{
+			activeBonusTotals.put(key, value);
+		}
+	}
+
 	public Collection<BonusObj> getActiveBonusList()
 	{
 		return activeBonusBySource.keySet();
@@ -525,13 +472,15 @@ public class BonusManager
 	 *            stack of calls to processBonus.
 	 * @param processedBonuses
 	 *            The list of bonuses which have already been processed overall.
+	 * @param dependencyIndex
+	 *            The index of the dependencies between the active bonuses.
 	 * @param nonStackMap
 	 *            The map of non-stacking (i.e. highest wins) bonuses being built up.
 	 * @param stackMap
 	 *            The map of stacking (i.e. total all) bonuses being built up.
 	 */
 	private void processBonus(final BonusObj aBonus, final Set<BonusObj> prevProcessed, Set<BonusObj> processedBonuses,
-		Map<String, String> nonStackMap, Map<String, String> stackMap)
+		BonusDependencyIndex dependencyIndex, Map<String, String> nonStackMap, Map<String, String> stackMap)
 	{
 		// Make sure we don't get into an infinite loop - can occur due to LST
 		// coding or best guess dependancy mapping
@@ -550,17 +499,11 @@ public class BonusManager
 
 		final List<BonusObj> aList = new ArrayList<>();
 
-		// Go through all bonuses and check to see if they add to
-		// aBonus's dependencies and have not already been processed
-		for (BonusObj newBonus : getActiveBonusList())
+		// Go through all bonuses that add to aBonus's dependencies
+		// and check to see if they have not already been processed
+		for (BonusObj newBonus : dependencyIndex.getDependencies(aBonus))
 		{
-			if (processedBonuses.contains(newBonus))
-			{
-				continue;
-			}
-
-			if (aBonus.getDependsOn(newBonus.getUnparsedBonusInfoList())
-				|| aBonus.getDependsOnBonusName(newBonus.getBonusName()))
+			if (!processedBonuses.contains(newBonus))
 			{
 				aList.add(newBonus);
 			}
@@ -571,7 +514,7 @@ public class BonusManager
 		for (BonusObj newBonus : aList)
 		{
 			// Recursively call itself
-			processBonus(newBonus, prevProcessed, processedBonuses, nonStackMap, stackMap);
+			processBonus(newBonus, prevProcessed, processedBonuses, dependencyIndex, nonStackMap, stackMap);
 		}
 
 		// Double check that it hasn't been processed yet
@@ -597,7 +540,7 @@ public class BonusManager
 		{
 			final double iBonus = bp.resolve(pc).doubleValue();
 			setActiveBonusStack(iBonus, bp.fullyQualifiedBonusType, nonStackMap, stackMap);
-			totalBonusesForType(nonStackMap, stackMap, bp.fullyQualifiedBonusType, activeBonusMap);
+			totalActiveBonusesForType(nonStackMap, stackMap, bp.fullyQualifiedBonusType);
 			//			Logging.debugPrint("vBONUS: " + anObj.getDisplayName() + " : "
 			//					+ iBonus + " : " + bp.fullyQualifiedBonusType);
 		}
@@ -847,6 +790,7 @@ public class BonusManager
 		clone.activeBonusBySource.putAll(activeBonusBySource);
 		clone.tempBonusBySource.putAll(tempBonusBySource);
 		clone.activeBonusMap.putAll(activeBonusMap);
+		clone.activeBonusTotals.putAll(activeBonusMap);
 		clone.tempBonusFilters.addAll(tempBonusFilters);
 		return clone;
 	}
@@ -25,12 +25,12 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 
-import pcgen.cdom.base.Category;
 import pcgen.cdom.base.ChooseInformation;
 import pcgen.cdom.base.Constants;
 import pcgen.cdom.base.SortKeyRequired;
@@ -39,8 +39,6 @@ import pcgen.cdom.enumeration.ObjectKey;
 import pcgen.cdom.enumeration.StringKey;
 import pcgen.cdom.enumeration.Type;
 import pcgen.core.character.EquipSlot;
-import pcgen.core.prereq.Prerequisite;
-import pcgen.core.prereq.PrerequisiteOperator;
 import pcgen.facade.core.AbilityFacade;
 import pcgen.facade.core.DataSetFacade;
 import pcgen.facade.core.EquipmentFacade;
@@ -69,6 +67,7 @@ public class DataSet implements DataSetFacade
 	private final DefaultListFacade<PCStat> unsortedStats;
 	private final ListFacade<PCStat> stats;
 	private final AbilityMap abilityMap;
+	private AbilityIndex abilityIndex;
 	private final LoadContext context;
 	private final GameMode gameMode;
 	private final ListFacade<Campaign> campaigns;
@@ -280,40 +279,51 @@ public class DataSet implements DataSetFacade
 			return Collections.emptyList();
 		}
 
-		Ability ability = (Ability) abilityFacade;
-		List<AbilityFacade> prereqList = new ArrayList<>();
-		for (Prerequisite prereq : ability.getPrerequisiteList())
+		return new ArrayList<>(getAbilityIndex().getPrereqAbilities((Ability) abilityFacade));
+	}
+
+	@Override
+	public List<AbilityFacade> getAbilitiesRequiring(AbilityFacade abilityFacade)
+	{
+		if (abilityFacade == null || !(abilityFacade instanceof Ability))
 		{
-			prereqList.addAll(getAbilitiesFromPrereq(prereq, ability.getCDOMCategory()));
+			return Collections.emptyList();
 		}
-		return prereqList;
+
+		return new ArrayList<>(getAbilityIndex().getAbilitiesRequiring((Ability) abilityFacade));
 	}
 
-	private List<AbilityFacade> getAbilitiesFromPrereq(Prerequisite prereq, Category<Ability> cat)
+	@Override
+	public List<AbilityFacade> getAbilitiesGranting(AbilityFacade abilityFacade)
 	{
-		List<AbilityFacade> prereqList = new ArrayList<>();
-		// Exclude negated prereqs
-		if (prereq == null || (prereq.getOperator() == PrerequisiteOperator.LT && "1".equals(prereq.getOperand())))
+		if (abilityFacade == null || !(abilityFacade instanceof Ability))
 		{
-			return prereqList;
+			return Collections.emptyList();
 		}
 
-		if ("FEAT".equalsIgnoreCase(prereq.getKind()) || "ABILITY".equalsIgnoreCase(prereq.getKind()))
+		return new ArrayList<>(getAbilityIndex().getAbilitiesGranting((Ability) abilityFacade));
+	}
+
+	/**
+	 * Returns the index over the loaded abilities. The index is built the first
+	 * time it is needed, so data sets which never show the ability chooser's
+	 * prerequisite, granted by or next views do not pay for it.
+	 *
+	 * @return The AbilityIndex for this DataSet
+	 */
+	public synchronized AbilityIndex getAbilityIndex()
+	{
+		if (abilityIndex == null)
 		{
-			Ability ability =
-					Globals.getContext().getReferenceContext().getManufacturerId(cat).getObject(prereq.getKey());
-			if (ability != null)
+			Set<Ability> abilities = new LinkedHashSet<>();
+			for (AbilityCategory category : gameMode.getAllAbilityCategories())
 			{
-				prereqList.add(ability);
+				abilities
+					.addAll(Globals.getContext().getReferenceContext().getManufacturerId(category).getAllObjects());
 			}
+			abilityIndex = new AbilityIndex(abilities);
 		}
-
-		for (Prerequisite childPrereq : prereq.getPrerequisites())
-		{
-			prereqList.addAll(getAbilitiesFromPrereq(childPrereq, cat));
-		}
-
-		return prereqList;
+		return abilityIndex;
 	}
 
 	@Override
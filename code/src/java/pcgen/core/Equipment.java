@@ -36,6 +36,7 @@ import java.util.Set;
 import java.util.SortedSet;
 import java.util.StringTokenizer;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -113,6 +114,9 @@ public final class Equipment extends PObject
 
 	private static final SortedSet<String> S_EQUIPMENT_TYPES = new TreeSet<>();
 
+	/** The number of changes made to any Equipment that may change its weight. */
+	private static final AtomicInteger WEIGHT_CHANGES = new AtomicInteger();
+
 	private AssociationSupport assocSupt = new AssociationSupport();
 
 	private BigDecimal costMod = BigDecimal.ZERO;
@@ -1048,6 +1052,7 @@ public final class Equipment extends PObject
 	{
 
 		equipped = aFlag;
+		weightChanged();
 
 		if (equipped)
 		{
@@ -1305,6 +1310,7 @@ public final class Equipment extends PObject
 			location = newLocation;
 		}
 		equipped = location.isEquipped();
+		weightChanged();
 	}
 
 	/**
@@ -1425,6 +1431,7 @@ public final class Equipment extends PObject
 	public void setNumberCarried(final Float aNumber)
 	{
 		carried = aNumber;
+		weightChanged();
 	}
 
 	/**
@@ -1435,6 +1442,7 @@ public final class Equipment extends PObject
 	public void setNumberEquipped(final int num)
 	{
 		numberEquipped = num;
+		weightChanged();
 
 		if (num > 0)
 		{
@@ -1517,6 +1525,7 @@ public final class Equipment extends PObject
 	public void setParent(final Equipment parent)
 	{
 		d_parent = parent;
+		weightChanged();
 	}
 
 	/**
@@ -1680,6 +1689,7 @@ public final class Equipment extends PObject
 		catch (NumberFormatException nfe)
 		{
 			qty = 0.0;
+			weightChanged();
 		}
 	}
 
@@ -3369,6 +3379,7 @@ public final class Equipment extends PObject
 
 			put(ObjectKey.CURRENT_COST, eq.getCostAdjustedForSize(pc, newSize));
 			put(ObjectKey.WEIGHT, eq.getWeightAdjustedForSize(pc, newSize));
+			weightChanged();
 			adjustACForSize(pc, eq, newSize);
 			String dam = eq.getDamageAdjustedForSize(iNewSize, true);
 			if (dam != null && !dam.isEmpty())
@@ -3426,8 +3437,11 @@ public final class Equipment extends PObject
 		{
 			AbstractReferenceContext ref = Globals.getContext().getReferenceContext();
 			int maxIndex = ref.getConstructedObjectCount(SizeAdjustment.class);
-			for (Prerequisite aBonus : getPrerequisiteList())
+			List<Prerequisite> prereqList = new ArrayList<>(getPrerequisiteList());
+			boolean resized = false;
+			for (int i = 0; i < prereqList.size(); i++)
 			{
+				Prerequisite aBonus = prereqList.get(i);
 				if ("SIZE".equalsIgnoreCase(aBonus.getKind()))
 				{
 					SizeAdjustment sa = ref.silentlyGetConstructedCDOMObject(SizeAdjustment.class, aBonus.getOperand());
@@ -3436,16 +3450,30 @@ public final class Equipment extends PObject
 
 					if ((iNewSize >= 0) && (iNewSize <= maxIndex))
 					{
-						// Note: This actually impacts the Prereq in this
-						// Equipment, since it is returned
-						// by reference from the get above ... thus no need to
-						// perform a set
+						// The Prereq may be shared with other Equipment (clones
+						// and interned load data), so a resized copy replaces it
 						SizeAdjustment size =
 								ref.getSortedList(SizeAdjustment.class, IntegerKey.SIZEORDER).get(iNewSize);
-						aBonus.setOperand(size.getKeyName());
+						try
+						{
+							Prerequisite resizedPrereq = aBonus.clone();
+							resizedPrereq.setOperand(size.getKeyName());
+							prereqList.set(i, resizedPrereq);
+							resized = true;
+						}
+						catch (CloneNotSupportedException e)
+						{
+							ShowMessageDelegate.showMessageDialog(e.getMessage(), Constants.APPLICATION_NAME,
+								MessageType.ERROR);
+						}
 					}
 				}
 			}
+			if (resized)
+			{
+				clearPrerequisiteList();
+				addAllPrerequisites(prereqList);
+			}
 		}
 	}
 
@@ -3531,6 +3559,29 @@ public final class Equipment extends PObject
 	private void setDirty(final boolean dirty)
 	{
 		this.dirty = dirty;
+		if (dirty)
+		{
+			// The equipment modifiers have changed, which may change the weight
+			weightChanged();
+		}
+	}
+
+	/**
+	 * Returns the number of changes made to any Equipment that may change its
+	 * weight, such as a change to the quantity carried, to the container
+	 * holding it, or to its equipment modifiers. Weights calculated from
+	 * Equipment can be kept until this count moves on.
+	 * 
+	 * @return The number of changes made to the weight of any Equipment
+	 */
+	public static int getWeightChangeCount()
+	{
+		return WEIGHT_CHANGES.get();
+	}
+
+	private static void weightChanged()
+	{
+		WEIGHT_CHANGES.incrementAndGet();
 	}
 
 	/**
@@ -3625,6 +3676,7 @@ public final class Equipment extends PObject
 	public void setQty(final double argQty)
 	{
 		qty = argQty;
+		weightChanged();
 	}
 
 	/**
@@ -5338,6 +5390,7 @@ public final class Equipment extends PObject
 	public void setCarried(final Float argCarried)
 	{
 		carried = argCarried;
+		weightChanged();
 	}
 
 	/**
@@ -5506,6 +5559,38 @@ public final class Equipment extends PObject
 	 */
 	public Float getContainedWeight(final PlayerCharacter aPC, final boolean effective)
 	{
+		return getContainedWeight(aPC, effective, null);
+	}
+
+	/**
+	 * Gets the contained Weight this object recursis all child objects to get
+	 * their contained weight. The contained weight of each nested container
+	 * (as returned by getContainedWeight(PlayerCharacter)) is taken from, and
+	 * added to, the given map, so that a caller holding the map for an
+	 * unchanged PC does not recalculate it.
+	 * 
+	 * @param aPC The PC that has the Equipment
+	 * 
+	 * @param effective
+	 *            Should we recurse child objects?
+	 * @param containedWeights
+	 *            The contained weights already calculated for aPC, by
+	 *            container, or null if they are not to be kept
+	 * @return The containedWeight value
+	 */
+	public Float getContainedWeight(final PlayerCharacter aPC, final boolean effective,
+		final Map<Equipment, Float> containedWeights)
+	{
+		boolean keep = !effective && (containedWeights != null);
+		if (keep)
+		{
+			Float cached = containedWeights.get(this);
+			if (cached != null)
+			{
+				return cached;
+			}
+		}
+
 		float total = 0.0f;
 
 		if ((getSafe(ObjectKey.CONTAINER_CONSTANT_WEIGHT) && !effective) || (getChildCount() == 0))
@@ -5520,7 +5605,8 @@ public final class Equipment extends PObject
 
 			if (anEquip.getContainedEquipmentCount() > 0)
 			{
-				total = (float) (total + anEquip.getWeightAsDouble(aPC) + anEquip.getContainedWeight(aPC));
+				total = (float) (total + anEquip.getWeightAsDouble(aPC)
+					+ anEquip.getContainedWeight(aPC, false, containedWeights));
 			}
 			else
 			{
@@ -5534,6 +5620,10 @@ public final class Equipment extends PObject
 			total *= (crw.floatValue() / 100);
 		}
 
+		if (keep)
+		{
+			containedWeights.put(this, total);
+		}
 		return total;
 	}
 
@@ -24,10 +24,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 import javax.swing.JFrame;
@@ -60,7 +61,7 @@ import pcgen.util.enumeration.VisionType;
 public final class Globals
 {
 	/** These are changed during normal operation */
-	private static final List<PlayerCharacter> PC_LIST = new ArrayList<>();
+	private static final List<PlayerCharacter> PC_LIST = new CopyOnWriteArrayList<>();
 
 	/** NOTE: The defaultPath is duplicated in LstSystemLoader. */
 	private static final String DEFAULT_PCG_PATH = getUserFilesPath() + File.separator + "characters"; //$NON-NLS-1$
@@ -70,8 +71,8 @@ public final class Globals
 	private static int selectedPaper = -1;
 
 	/** we need maps for efficient lookups */
-	private static final Map<URI, Campaign> CAMPAIGN_MAP = new HashMap<>();
-	private static final Map<String, Integer> EQ_SLOT_MAP = new HashMap<>();
+	private static final Map<URI, Campaign> CAMPAIGN_MAP = new ConcurrentHashMap<>();
+	private static final Map<String, Integer> EQ_SLOT_MAP = new ConcurrentHashMap<>();
 
 	// end of filter creation sets
 	private static JFrame rootFrame;
@@ -98,7 +99,7 @@ public final class Globals
 	 */
 	public static Campaign getCampaignByURI(final URI aName, final boolean complainOnError)
 	{
-		final Campaign campaign = CAMPAIGN_MAP.get(aName);
+		final Campaign campaign = (aName == null) ? null : CAMPAIGN_MAP.get(aName);
 
 		if ((campaign == null) && complainOnError)
 		{
@@ -70,6 +70,7 @@ import pcgen.cdom.enumeration.MapKey;
 import pcgen.cdom.enumeration.Nature;
 import pcgen.cdom.enumeration.NumericPCAttribute;
 import pcgen.cdom.enumeration.ObjectKey;
+import pcgen.cdom.enumeration.PCChangeCategory;
 import pcgen.cdom.enumeration.PCStringKey;
 import pcgen.cdom.enumeration.Region;
 import pcgen.cdom.enumeration.SkillCost;
@@ -250,6 +251,7 @@ import pcgen.core.chooser.ChooserUtilities;
 import pcgen.core.display.CharacterDisplay;
 import pcgen.core.display.SkillDisplay;
 import pcgen.core.pclevelinfo.PCLevelInfo;
+import pcgen.core.prereq.PrereqCache;
 import pcgen.core.spell.Spell;
 import pcgen.core.utils.CoreUtility;
 import pcgen.core.utils.MessageType;
@@ -264,6 +266,8 @@ import pcgen.rules.context.VariableContext;
 import pcgen.system.PCGenSettings;
 import pcgen.util.Delta;
 import pcgen.util.Logging;
+import pcgen.util.PerformanceMetrics;
+import pcgen.util.PerformanceMetrics.Metric;
 import pcgen.util.enumeration.AttackType;
 import pcgen.util.enumeration.Load;
 
@@ -273,7 +277,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 {
 
 	// Constants for use in getBonus
-	private static String lastVariable;
+	private static final ThreadLocal<String> LAST_VARIABLE = new ThreadLocal<>();
 	// This marker is static so that the spells allocated to it can also be found in the cloned character.
 	private static final CDOMObject GRANTED_SPELL_CACHE = new ObjectCache();
 
@@ -403,6 +407,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	private final SpellProhibitorFacet spellProhibitorFacet = FacetLibrary.getFacet(SpellProhibitorFacet.class);
 
 	private ObjectCache cache = new ObjectCache();
+	private final PrereqCache prereqCache = new PrereqCache();
 	private AssociationSupport assocSupt = new AssociationSupport();
 	private BonusManager bonusManager = new BonusManager(this);
 	private final BonusChangeFacet bonusChangeFacet = FacetLibrary.getFacet(BonusChangeFacet.class);
@@ -475,6 +480,8 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	private boolean dirtyFlag = false;
 	private int serial = 0;
 	private boolean importing = false;
+	// The number of calls to calcActiveBonuses in progress
+	private int bonusCalcDepth = 0;
 
 	// Should temp mods/bonuses be used/saved?
 	private boolean useTempMods = true;
@@ -647,7 +654,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 
 		if (didChange)
 		{
-			setDirty(true);
+			setDirty(PCChangeCategory.BIO);
 			if (attr.shouldRecalcActiveBonuses())
 			{
 				calcActiveBonuses();
@@ -984,7 +991,40 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	{
 		if (dirtyState)
 		{
-			serial++;
+			markChanged(true);
+		}
+
+		dirtyFlag = dirtyState;
+	}
+
+	/**
+	 * Sets the character changed since last save, by a change of the given
+	 * category. Only the cached results and conditional objects that depend on
+	 * that category of change are recalculated. The same care is needed as for
+	 * setDirty(boolean).
+	 *
+	 * @param category the category of the change that has been made
+	 */
+	public void setDirty(final PCChangeCategory category)
+	{
+		markChanged(PCChangeCategory.RULES.contains(category));
+		dirtyFlag = true;
+	}
+
+	/**
+	 * Record that the character has changed. The serial is always incremented
+	 * so that any output of the character is refreshed. The spell info cache,
+	 * variable cache and conditionally granted abilities, spells, languages
+	 * and skill ranks all depend on the rules, so they are only recalculated
+	 * if the rules outcome may have changed.
+	 *
+	 * @param rulesChanged true if the change may alter the rules outcome
+	 */
+	private void markChanged(final boolean rulesChanged)
+	{
+		serial++;
+		if (rulesChanged)
+		{
 			cache = new ObjectCache();
 			variableProcessor.setSerial(serial);
 			cabFacet.update(id);
@@ -993,8 +1033,6 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 			condLangFacet.update(id);
 			bonusSkillRankChangeFacet.reset(id);
 		}
-
-		dirtyFlag = dirtyState;
 	}
 
 	/**
@@ -1018,6 +1056,27 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		return serial;
 	}
 
+	/**
+	 * Returns the cache of prerequisite results for this PlayerCharacter.
+	 *
+	 * @return The cache of prerequisite results for this PlayerCharacter
+	 */
+	public PrereqCache getPrereqCache()
+	{
+		return prereqCache;
+	}
+
+	/**
+	 * Returns the stamp used to check whether the results held in the
+	 * PrereqCache of this PlayerCharacter are current.
+	 *
+	 * @return The stamp of this PlayerCharacter
+	 */
+	public long getPrereqStamp()
+	{
+		return PrereqCache.getStamp(serial, id.getChangeCount());
+	}
+
 	/**
 	 * Get the list of equipment sets.
 	 *
@@ -1290,7 +1349,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		if (genderFacet.getGender(id) != g)
 		{
 			genderFacet.set(id, g);
-			setDirty(true);
+			setDirty(PCChangeCategory.BIO);
 		}
 	}
 
@@ -1332,7 +1391,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		if (oldAmt == null || amt.compareTo(oldAmt) != 0)
 		{
 			goldFacet.set(id, amt);
-			setDirty(true);
+			setDirty(PCChangeCategory.EQUIPMENT);
 		}
 	}
 
@@ -1361,7 +1420,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	{
 		if (heightFacet.set(id, i))
 		{
-			setDirty(true);
+			setDirty(PCChangeCategory.BIO);
 		}
 	}
 
@@ -2119,7 +2178,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	{
 		if (suppressBioFieldFacet.setSuppressField(id, field, suppress))
 		{
-			setDirty(true);
+			setDirty(PCChangeCategory.DISPLAY);
 		}
 	}
 
@@ -2189,6 +2248,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		double value = 0.0;
 		boolean found = false;
 
+		String lastVariable = LAST_VARIABLE.get();
 		if (lastVariable != null)
 		{
 			if (lastVariable.equals(variableString))
@@ -2200,7 +2260,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 						+ value;
 					Logging.debugPrint(sb);
 				}
-				lastVariable = null;
+				LAST_VARIABLE.remove();
 				return (float) value;
 			}
 		}
@@ -2223,10 +2283,10 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		boolean includeBonus = true;
 		if (!found)
 		{
-			lastVariable = variableString;
+			LAST_VARIABLE.set(variableString);
 			value = getVariableValue(variableString, Constants.EMPTY_STRING);
 			includeBonus = false;
-			lastVariable = null;
+			LAST_VARIABLE.remove();
 		}
 
 		if (includeBonus)
@@ -2330,7 +2390,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	{
 		if (previewSheetFacet.set(id, previewSheet))
 		{
-			setDirty(true);
+			setDirty(PCChangeCategory.DISPLAY);
 		}
 	}
 
@@ -2350,7 +2410,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	{
 		equipmentFacet.add(id, eq, this);
 		userEquipmentFacet.add(id, eq, this);
-		//setDirty(true);
+		//setDirty(PCChangeCategory.EQUIPMENT);
 	}
 
 	/**
@@ -2436,7 +2496,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	{
 		if (noteItemFacet.add(id, item))
 		{
-			setDirty(true);
+			setDirty(PCChangeCategory.TEXT);
 		}
 	}
 
@@ -2929,7 +2989,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	{
 		if (canSelectDeity(aDeity) && deityFacet.set(id, aDeity))
 		{
-			setDirty(true);
+			setDirty(PCChangeCategory.DEITY);
 		}
 	}
 
@@ -3485,7 +3545,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	{
 		if (skillFilterFacet.set(id, filter))
 		{
-			setDirty(true);
+			setDirty(PCChangeCategory.DISPLAY);
 		}
 	}
 
@@ -3519,7 +3579,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		if (skillsOutputOrder != i)
 		{
 			skillsOutputOrder = i;
-			setDirty(true);
+			setDirty(PCChangeCategory.DISPLAY);
 		}
 	}
 
@@ -4696,31 +4756,44 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		// situation where we have a variable A that has a prereq
 		// that depends on variable B that will not be the correct
 		// value until after the map has been completely created.
+		// Each pass evaluates every active bonus; only the lookup of the
+		// bonuses each one depends on is indexed (see BonusDependencyIndex).
 
+		long start = PerformanceMetrics.start();
 		int count = 0;
-		do
+		bonusCalcDepth++;
+		try
 		{
-			if (count >= 29)
+			do
 			{
-				Logging.errorPrint("Active bonus loop exceeded reasonable limit of " + count + '.');
-				bonusManager.logChangeFromCheckpoint();
-				if (count > 31)
+				if (count >= 29)
 				{
-					break;
+					Logging.errorPrint("Active bonus loop exceeded reasonable limit of " + count + '.');
+					bonusManager.logChangeFromCheckpoint();
+					if (count > 31)
+					{
+						break;
+					}
+				}
+				bonusManager.checkpointBonusMap();
+				setDirty(true);
+				count++;
+				calcActiveBonusLoop();
+				if (Globals.checkRule(RuleConstants.RETROSKILL))
+				{
+					checkSkillModChange();
 				}
 			}
-			bonusManager.checkpointBonusMap();
-			setDirty(true);
-			count++;
-			calcActiveBonusLoop();
-			if (Globals.checkRule(RuleConstants.RETROSKILL))
-			{
-				checkSkillModChange();
-			}
+			while (!bonusManager.compareToCheckpoint());
+			// If the newly calculated bonus map is different to the old one
+			// loop again until they are the same.
 		}
-		while (!bonusManager.compareToCheckpoint());
-		// If the newly calculated bonus map is different to the old one
-		// loop again until they are the same.
+		finally
+		{
+			bonusCalcDepth--;
+		}
+		PerformanceMetrics.stop(Metric.CALC_ACTIVE_BONUSES, start);
+		PerformanceMetrics.count(Metric.CALC_ACTIVE_BONUS_LOOP, count);
 		if (Logging.isDebugMode())
 		{
 			Logging.log(Logging.DEBUG, "Ran " + count + " loops to calc bonuses");
@@ -5762,7 +5835,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 			levelInfoFacet.get(id, idx).addModifiedStat(stat, mod, isPreMod);
 		}
 
-		setDirty(true);
+		setDirty(PCChangeCategory.STATS);
 	}
 
 	public int getStatIncrease(final PCStat stat, final boolean includePost)
@@ -5811,6 +5884,18 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		return importing;
 	}
 
+	/**
+	 * Returns true if the active bonuses of the character are currently being
+	 * calculated. While this is the case the bonuses are incomplete, so values
+	 * that depend on them must not be cached.
+	 *
+	 * @return true if the active bonuses are being calculated; false otherwise
+	 */
+	public boolean isCalculatingBonuses()
+	{
+		return bonusCalcDepth > 0;
+	}
+
 	public void giveClassesAway(final PCClass toClass, final PCClass fromClass, int iCount)
 	{
 		if ((toClass == null) || (fromClass == null))
@@ -5895,19 +5980,19 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	public void addFreeLanguage(final Language aLang, CDOMObject source)
 	{
 		freeLangFacet.add(id, aLang, source);
-		setDirty(true);
+		setDirty(PCChangeCategory.LANGUAGES);
 	}
 
 	public void addAddLanguage(final Language aLang, CDOMObject source)
 	{
 		addLangFacet.add(id, aLang, source);
-		setDirty(true);
+		setDirty(PCChangeCategory.LANGUAGES);
 	}
 
 	public void removeAddLanguage(final Language aLang, CDOMObject source)
 	{
 		addLangFacet.remove(id, aLang, source);
-		setDirty(true);
+		setDirty(PCChangeCategory.LANGUAGES);
 	}
 
 	public void addAutoLanguage(Language l, Object obj)
@@ -7203,7 +7288,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		if (PlayerCharacter.shouldDirtyForChange(s, currValue))
 		{
 			factFacet.set(id, key, s);
-			setDirty(true);
+			setDirty(PCChangeCategory.getCategory(key));
 		}
 	}
 
@@ -8740,7 +8825,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		boolean added = domainInputFacet.add(id, domain, source);
 		if (added)
 		{
-			setDirty(true);
+			setDirty(PCChangeCategory.CLASSES);
 		}
 		return added;
 	}
@@ -8753,7 +8838,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	public void removeDomain(Domain domain)
 	{
 		domainInputFacet.remove(id, domain);
-		setDirty(true);
+		setDirty(PCChangeCategory.CLASSES);
 	}
 
 	public boolean hasDomains()
@@ -9597,7 +9682,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	public void setSkillPool(PCClass pcc, int skillPool)
 	{
 		skillPoolFacet.set(id, pcc, skillPool);
-		setDirty(true);
+		setDirty(PCChangeCategory.SKILLS);
 	}
 
 	public void setSkillOrder(Skill skill, int outputindex)
@@ -9633,7 +9718,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	public void removeNote(NoteItem note)
 	{
 		noteItemFacet.remove(id, note);
-		setDirty(true);
+		setDirty(PCChangeCategory.TEXT);
 	}
 
 	public void removeSkillRankValue(Skill sk, PCClass cl)
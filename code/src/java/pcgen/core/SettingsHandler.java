@@ -56,6 +56,10 @@ import org.apache.commons.lang3.SystemUtils;
  * 
  * <b>NB: This class is being gradually replaced with use of 
  * {@link pcgen.system.PropertyContext} and its children.</b>   
+ * 
+ * The settings are not thread-safe. Several threads may read them (as the
+ * concurrent batch export does) only while no thread changes them, and any
+ * change must be made before those threads are started or handed work.
  *
  **/
 public final class SettingsHandler
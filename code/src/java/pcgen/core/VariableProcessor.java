@@ -32,6 +32,9 @@ import pcgen.core.utils.CoreUtility;
 import pcgen.io.ExportHandler;
 import pcgen.util.Logging;
 import pcgen.util.PJEP;
+import pcgen.util.PJEP.ParsedExpression;
+import pcgen.util.PerformanceMetrics;
+import pcgen.util.PerformanceMetrics.Metric;
 import pcgen.util.PjepPool;
 
 /**
@@ -128,7 +131,9 @@ public abstract class VariableProcessor
 
 		if (null == result)
 		{
+			long start = PerformanceMetrics.start();
 			result = processBrokenParser(aSpell, varString, src, spellLevelTemp);
+			PerformanceMetrics.stop(Metric.FORMULA_LEGACY, start);
 
 			String cacheString = makeCacheString(aSpell, varString, src, spellLevelTemp);
 
@@ -166,10 +171,14 @@ public abstract class VariableProcessor
 		Float total = getCachedVariable(cacheString);
 		if (total != null)
 		{
+			PerformanceMetrics.count(Metric.FORMULA_CACHE_HIT);
 			return total;
 		}
+		PerformanceMetrics.count(Metric.FORMULA_CACHE_MISS);
 
+		long start = PerformanceMetrics.start();
 		CachableResult cRes = processJepFormula(aSpell, varString, src);
+		PerformanceMetrics.stop(Metric.FORMULA_JEP, start);
 		if (cRes != null)
 		{
 			if (cRes.cachable)
@@ -485,8 +494,8 @@ public abstract class VariableProcessor
 		try
 		{
 			parser = PjepPool.getInstance().aquire(this, src);
-			parser.parseExpression(formula);
-			if (parser.hasError())
+			ParsedExpression expression = parser.parseCachedExpression(formula);
+			if (expression == null)
 			{
 				if (Logging.isLoggable(Logging.DEBUG) && formula.startsWith(DEBUG_FORMULA_PREFIX))
 				{
@@ -495,7 +504,7 @@ public abstract class VariableProcessor
 				return null;
 			}
 
-			for (final String element : (Iterable<String>) parser.getSymbolTable().keySet())
+			for (final String element : expression.getVariableNames())
 			{
 				if ("e".equals(element) || "FALSE".equals(element) || "pi".equals(element) || "TRUE".equals(element))
 				{
@@ -505,7 +514,7 @@ public abstract class VariableProcessor
 				Float d = lookupVariable(element, src, spell);
 				if (d != null)
 				{
-					parser.addVariable(element, d.doubleValue());
+					expression.setVariable(element, d.doubleValue());
 				} else
 				{
 					// we could not get a value for all of the variables, so it must not have been a JEP function
@@ -514,7 +523,7 @@ public abstract class VariableProcessor
 				}
 			}
 
-			final Object result = parser.getValueAsObject();
+			final Object result = parser.getValueAsObject(expression);
 			if (result != null)
 			{
 				if (Logging.isLoggable(Logging.DEBUG) && formula.startsWith(DEBUG_FORMULA_PREFIX))
@@ -523,7 +532,7 @@ public abstract class VariableProcessor
 				}
 				try
 				{
-					return new CachableResult(Float.valueOf(result.toString()), parser.isResultCachable());
+					return new CachableResult(Float.valueOf(result.toString()), expression.isResultCachable());
 				}
 				catch (NumberFormatException nfe)
 				{
@@ -67,14 +67,14 @@ public final class BonusCalc
 
 		final String aTypePlusName = aType + '.' + aName + '.';
 
-		if (!BonusCalc.dontRecurse && (po instanceof Ability) && (AbilityUtilities.isFeat(obj))
+		if (!DONT_RECURSE.get() && (po instanceof Ability) && (AbilityUtilities.isFeat(obj))
 			&& !Globals.checkRule(RuleConstants.FEATPRE))
 		{
 			// SUCK!  This is horrid, but bonusTo is actually recursive with respect to
 			// passesPreReqToGain and there is no other way to do this without decomposing the
 			// dependencies.  I am loathe to break working code.
 			// This addresses bug #709677 -- Feats give bonuses even if you no longer qualify
-			BonusCalc.dontRecurse = true;
+			DONT_RECURSE.set(true);
 
 			boolean returnZero = false;
 
@@ -83,7 +83,7 @@ public final class BonusCalc
 				returnZero = true;
 			}
 
-			BonusCalc.dontRecurse = false;
+			DONT_RECURSE.set(false);
 
 			if (returnZero)
 			{
@@ -136,8 +136,11 @@ public final class BonusCalc
 		return retVal;
 	}
 
-	/** a boolean for whether something should recurse, default is false. */
-	private static boolean dontRecurse = false;
+	/**
+	 * Whether something should recurse, default is false. This is per thread,
+	 * as it guards a single call stack.
+	 */
+	private static final ThreadLocal<Boolean> DONT_RECURSE = ThreadLocal.withInitial(() -> false);
 
 	/**
 	 * Apply the bonus to a PC, pass through object's default bonuslist
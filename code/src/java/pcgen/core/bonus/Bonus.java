@@ -24,6 +24,7 @@ import java.util.StringTokenizer;
 import pcgen.base.formula.Formula;
 import pcgen.base.text.ParsingSeparator;
 import pcgen.cdom.base.Constants;
+import pcgen.cdom.base.LoadInterner;
 import pcgen.core.bonus.BonusObj.StackType;
 import pcgen.persistence.PersistenceLayerException;
 import pcgen.persistence.lst.LstUtils;
@@ -145,7 +146,7 @@ public final class Bonus
 				try
 				{
 					final PreParserFactory factory = PreParserFactory.getInstance();
-					aBonus.addPrerequisite(factory.parse(aString));
+					aBonus.addPrerequisite(LoadInterner.internParsedPrerequisite(aString, factory.parse(aString)));
 				}
 				catch (PersistenceLayerException ple)
 				{
@@ -0,0 +1,123 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core.bonus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A BonusDependencyIndex records, for a fixed collection of active bonuses,
+ * which bonuses provide each bonus info entry and bonus name. This allows the
+ * bonuses a given bonus depends on to be found by looking up its dependencies
+ * rather than by testing it against every other active bonus.
+ *
+ * The dependencies returned are in the same order as the collection the index
+ * was built from, so bonus processing order is unchanged.
+ *
+ * Only the lookup of dependencies is indexed. Every active bonus is still
+ * evaluated on each pass of PlayerCharacter.calcActiveBonuses, as the
+ * dependencies recorded by a bonus are a best guess: formulas and cached
+ * variable values can read bonus totals it does not list, so skipping the
+ * bonuses whose listed dependencies are unchanged could give wrong totals.
+ */
+public final class BonusDependencyIndex
+{
+
+	private static final String NAME_PREFIX = "NAME|";
+
+	/**
+	 * The position of each bonus in the collection the index was built from.
+	 */
+	private final Map<BonusObj, Integer> position = new IdentityHashMap<>();
+
+	/**
+	 * The bonuses providing each unparsed bonus info entry.
+	 */
+	private final Map<String, List<BonusObj>> byInfo = new HashMap<>();
+
+	/**
+	 * The bonuses with each bonus name.
+	 */
+	private final Map<String, List<BonusObj>> byName = new HashMap<>();
+
+	/**
+	 * The dependencies already calculated, by bonus.
+	 */
+	private final Map<BonusObj, List<BonusObj>> dependencies = new IdentityHashMap<>();
+
+	/**
+	 * Constructs a new BonusDependencyIndex for the given active bonuses.
+	 *
+	 * @param activeBonuses
+	 *            The active bonuses, in processing order
+	 */
+	public BonusDependencyIndex(Collection<BonusObj> activeBonuses)
+	{
+		int index = 0;
+		for (BonusObj bonus : activeBonuses)
+		{
+			position.put(bonus, index++);
+			for (String info : bonus.getUnparsedBonusInfoList())
+			{
+				byInfo.computeIfAbsent(info, k -> new ArrayList<>()).add(bonus);
+			}
+			byName.computeIfAbsent(bonus.getBonusName(), k -> new ArrayList<>()).add(bonus);
+		}
+	}
+
+	/**
+	 * Returns the indexed bonuses that the given bonus depends on, in the order
+	 * of the collection this index was built from. This is equivalent to
+	 * testing each indexed bonus with
+	 * {@link BonusObj#getDependsOn(List)} and
+	 * {@link BonusObj#getDependsOnBonusName(String)}.
+	 *
+	 * @param bonus
+	 *            The bonus for which the dependencies should be returned
+	 * @return The indexed bonuses that the given bonus depends on
+	 */
+	public List<BonusObj> getDependencies(BonusObj bonus)
+	{
+		return dependencies.computeIfAbsent(bonus, this::calculateDependencies);
+	}
+
+	private List<BonusObj> calculateDependencies(BonusObj bonus)
+	{
+		Set<BonusObj> found = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (String key : bonus.getDependsOnKeys())
+		{
+			found.addAll(byInfo.getOrDefault(key, Collections.emptyList()));
+			if (key.startsWith(NAME_PREFIX))
+			{
+				found.addAll(byName.getOrDefault(key.substring(NAME_PREFIX.length()), Collections.emptyList()));
+			}
+		}
+		if (found.isEmpty())
+		{
+			return Collections.emptyList();
+		}
+		List<BonusObj> result = new ArrayList<>(found);
+		result.sort(Comparator.comparing(position::get));
+		return result;
+	}
+}
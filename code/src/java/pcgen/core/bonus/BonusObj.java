@@ -19,9 +19,11 @@ package pcgen.core.bonus;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringTokenizer;
 
 import pcgen.base.formula.Formula;
@@ -165,6 +167,16 @@ public abstract class BonusObj extends ConcretePrereqObject implements Serializa
 		return dependMap.containsKey("NAME|" + bonusName);
 	}
 
+	/**
+	 * Get the keys this bonus depends on. Keys of the form NAME|xxx indicate a
+	 * dependency on all bonuses with the name xxx.
+	 * @return The keys this bonus depends on
+	 */
+	public Set<String> getDependsOnKeys()
+	{
+		return Collections.unmodifiableSet(dependMap.keySet());
+	}
+
 	/**
 	 * Report on the dependencies of the bonus.
 	 * @return String the dependancies
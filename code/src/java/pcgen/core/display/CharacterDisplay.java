@@ -1149,6 +1149,19 @@ public class CharacterDisplay
 		return totalWeightFacet.getTotalWeight(id);
 	}
 
+	/**
+	 * Returns the weight of the contents of the given container.
+	 * 
+	 * @param container
+	 *            The container for which the weight of the contents is to be
+	 *            returned
+	 * @return The weight of the contents of the given container
+	 */
+	public Float getContainedWeight(Equipment container)
+	{
+		return totalWeightFacet.getContainedWeight(id, container);
+	}
+
 	public boolean hasKit(Kit kit)
 	{
 		return kitFacet.contains(id, kit);
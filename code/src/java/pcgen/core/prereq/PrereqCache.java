@@ -0,0 +1,223 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core.prereq;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A PrereqCache holds the results of prerequisite tests for a single
+ * PlayerCharacter, keyed by the identity of the Prerequisite and of the object
+ * for which it was tested.
+ *
+ * The results are only used while the cache is open (see open() and close()),
+ * which is intended for passes that test the same prerequisites many times
+ * without changing the character, such as writing an output sheet. Even while
+ * open, the results are discarded whenever the stamp of the character changes.
+ * The stamp is built from the serial of the PlayerCharacter and the change
+ * count of its CharID, so any change made through setDirty or to the contents
+ * of a facet invalidates the cached results.
+ *
+ * **NOTE** This class is NOT thread safe, except for the hit and miss counters.
+ */
+public final class PrereqCache
+{
+
+	private static final AtomicLong HITS = new AtomicLong();
+	private static final AtomicLong MISSES = new AtomicLong();
+
+	private final Map<Key, Boolean> results = new HashMap<>();
+
+	/**
+	 * The stamp of the character for which the cached results are valid.
+	 */
+	private long stamp;
+
+	/**
+	 * The number of times this cache has been opened and not yet closed.
+	 */
+	private int depth = 0;
+
+	/**
+	 * Opens this PrereqCache, so that prerequisite results are cached until
+	 * the matching call to close(). Calls may be nested.
+	 */
+	public void open()
+	{
+		depth++;
+	}
+
+	/**
+	 * Closes this PrereqCache. Once every call to open() has been matched by a
+	 * call to close(), the cached results are discarded.
+	 */
+	public void close()
+	{
+		if (depth > 0)
+		{
+			depth--;
+		}
+		if (depth == 0)
+		{
+			results.clear();
+		}
+	}
+
+	/**
+	 * Returns true if this PrereqCache is open.
+	 *
+	 * @return true if this PrereqCache is open; false otherwise
+	 */
+	public boolean isOpen()
+	{
+		return depth > 0;
+	}
+
+	/**
+	 * Returns the cached result of testing the given Prerequisite for the
+	 * given caller, or null if there is no current result.
+	 *
+	 * @param prereq
+	 *            The Prerequisite that was tested
+	 * @param caller
+	 *            The object for which the Prerequisite was tested
+	 * @param currentStamp
+	 *            The current stamp of the character
+	 * @return The cached result, or null if there is no current result
+	 */
+	public Boolean get(Prerequisite prereq, Object caller, long currentStamp)
+	{
+		if (currentStamp != stamp)
+		{
+			results.clear();
+			stamp = currentStamp;
+		}
+		Boolean result = results.get(new Key(prereq, caller));
+		if (result == null)
+		{
+			MISSES.incrementAndGet();
+		}
+		else
+		{
+			HITS.incrementAndGet();
+		}
+		return result;
+	}
+
+	/**
+	 * Caches the result of testing the given Prerequisite for the given
+	 * caller. The result is valid until the stamp of the character changes.
+	 *
+	 * @param prereq
+	 *            The Prerequisite that was tested
+	 * @param caller
+	 *            The object for which the Prerequisite was tested
+	 * @param currentStamp
+	 *            The stamp of the character when the Prerequisite was tested
+	 * @param result
+	 *            The result of the test
+	 */
+	public void put(Prerequisite prereq, Object caller, long currentStamp, boolean result)
+	{
+		if (currentStamp != stamp)
+		{
+			// The test itself changed the character, so the result is stale
+			return;
+		}
+		results.put(new Key(prereq, caller), result);
+	}
+
+	/**
+	 * Returns the stamp of a character, given its serial and the change count
+	 * of its CharID.
+	 *
+	 * @param serial
+	 *            The serial of the PlayerCharacter
+	 * @param changeCount
+	 *            The change count of the CharID of the PlayerCharacter
+	 * @return The stamp of the character
+	 */
+	public static long getStamp(int serial, int changeCount)
+	{
+		return ((long) serial << 32) | (changeCount & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Returns the number of tests answered from a PrereqCache since the
+	 * counters were last reset.
+	 *
+	 * @return The number of cache hits
+	 */
+	public static long getHits()
+	{
+		return HITS.get();
+	}
+
+	/**
+	 * Returns the number of tests that could not be answered from an open
+	 * PrereqCache since the counters were last reset.
+	 *
+	 * @return The number of cache misses
+	 */
+	public static long getMisses()
+	{
+		return MISSES.get();
+	}
+
+	/**
+	 * Resets the hit and miss counters to zero.
+	 */
+	public static void resetCounters()
+	{
+		HITS.set(0);
+		MISSES.set(0);
+	}
+
+	/**
+	 * The key of a cached result, which matches on the identity of the
+	 * Prerequisite and caller rather than on equality, since comparing
+	 * Prerequisite trees for equality costs about as much as testing them.
+	 */
+	private static final class Key
+	{
+		private final Prerequisite prereq;
+		private final Object caller;
+
+		private Key(Prerequisite prereq, Object caller)
+		{
+			this.prereq = prereq;
+			this.caller = caller;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return 31 * System.identityHashCode(prereq) + System.identityHashCode(caller);
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (!(obj instanceof Key))
+			{
+				return false;
+			}
+			Key other = (Key) obj;
+			return prereq == other.prereq && caller == other.caller;
+		}
+	}
+}
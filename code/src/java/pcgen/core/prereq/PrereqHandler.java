@@ -33,6 +33,8 @@ import pcgen.core.PlayerCharacter;
 import pcgen.core.RuleConstants;
 import pcgen.system.LanguageBundle;
 import pcgen.util.Logging;
+import pcgen.util.PerformanceMetrics;
+import pcgen.util.PerformanceMetrics.Metric;
 
 /**
  * This class tests if the character passes the prerequisites for the caller.
@@ -204,6 +206,18 @@ public final class PrereqHandler
 		{
 			return true;
 		}
+		PrereqCache cache = (aPC == null) ? null : aPC.getPrereqCache();
+		long stamp = 0;
+		if (cache != null && cache.isOpen())
+		{
+			stamp = aPC.getPrereqStamp();
+			Boolean cached = cache.get(prereq, caller, stamp);
+			if (cached != null)
+			{
+				return cached;
+			}
+		}
+		long start = PerformanceMetrics.start();
 		try
 		{
 			CDOMObject cdomCaller = (caller instanceof CDOMObject) ? (CDOMObject) caller : null;
@@ -220,7 +234,13 @@ public final class PrereqHandler
 			Logging.errorPrint("Problem encountered when testing PREREQ " + String.valueOf(prereq) + callerString
 				+ ". See following trace for details.", e);
 		}
-		return total > 0;
+		PerformanceMetrics.stop(Metric.PREREQ_TEST, start);
+		boolean passes = total > 0;
+		if (cache != null && cache.isOpen())
+		{
+			cache.put(prereq, caller, stamp, passes);
+		}
+		return passes;
 	}
 
 	/**
@@ -25,7 +25,10 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -33,14 +36,45 @@ import pcgen.core.Globals;
 import pcgen.core.PCStat;
 import pcgen.util.Logging;
 
+/**
+ * An EvaluatorFactory finds the TermEvaluator for a term. A term is matched
+ * against the keys of the TermEvaluatorBuilders by a prefix trie, so that most
+ * variable names which are not terms are rejected without running the full
+ * pattern, and the TermEvaluators (and the names which are not terms) are
+ * cached.
+ *
+ * The caches are safe for use by several threads, so characters may be
+ * evaluated in parallel, and are cleared once they hold MAX_CACHED_TERMS
+ * entries, so they do not grow without limit.
+ */
 public final class EvaluatorFactory
 {
 
+	/**
+	 * The number of cached entries at which the caches are cleared.
+	 */
+	private static final int MAX_CACHED_TERMS = 20000;
+
 	Pattern internalVarPattern;
 	Map<String, TermEvaluatorBuilder> BuilderStore;
 
-	private final Map<String, TermEvaluator> SrcNeutralEvaluatorStore = new HashMap<>();
-	private final Map<String, Map<String, TermEvaluator>> SrcDependantEvaluatorStore = new HashMap<>();
+	/**
+	 * The root of a trie of the keys in BuilderStore.
+	 */
+	private final PrefixNode keyTrie = new PrefixNode();
+
+	private final Map<String, TermEvaluator> SrcNeutralEvaluatorStore = new ConcurrentHashMap<>();
+	private final Map<String, Map<String, TermEvaluator>> SrcDependantEvaluatorStore = new ConcurrentHashMap<>();
+
+	/**
+	 * The terms for which there is no TermEvaluator, whatever the source.
+	 */
+	private final Set<String> NonTermStore = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * The number of entries in the stores above.
+	 */
+	private final AtomicInteger cachedCount = new AtomicInteger();
 
 	public static final EvaluatorFactory PC = new EvaluatorFactory(true, TermEvaluatorBuilderPCVar.values());
 
@@ -71,6 +105,7 @@ public final class EvaluatorFactory
 			for (String k : keys)
 			{
 				BuilderStore.put(k, e);
+				keyTrie.add(k);
 			}
 		}
 
@@ -117,8 +152,36 @@ public final class EvaluatorFactory
 		return new TermEvaluatorBuilderPCStat(pSt.toString(), s.toArray(new String[0]), false);
 	}
 
+	/**
+	 * Returns true if the given term could match the pattern of a
+	 * TermEvaluatorBuilder, as it starts with one of the keys in BuilderStore.
+	 */
+	private boolean startsWithKey(String term)
+	{
+		PrefixNode node = keyTrie;
+		for (int i = 0; i < term.length(); i++)
+		{
+			node = node.children.get(term.charAt(i));
+			if (node == null)
+			{
+				return false;
+			}
+			if (node.isKey)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private TermEvaluator makeTermEvaluator(String term, String source)
 	{
+		if (!startsWithKey(term))
+		{
+			NonTermStore.add(term);
+			cached();
+			return null;
+		}
 
 		Matcher mat = internalVarPattern.matcher(term);
 
@@ -131,6 +194,8 @@ public final class EvaluatorFactory
 			{
 				if (f.isEntireTerm() && (term.length() != matchedPortion.length()))
 				{
+					NonTermStore.add(term);
+					cached();
 					return null;
 				}
 				else
@@ -146,12 +211,21 @@ public final class EvaluatorFactory
 				}
 			}
 		}
+		else
+		{
+			NonTermStore.add(term);
+			cached();
+		}
 
 		return null;
 	}
 
 	public TermEvaluator getTermEvaluator(String term, String source)
 	{
+		if (NonTermStore.contains(term))
+		{
+			return null;
+		}
 
 		Map<String, TermEvaluator> inner = SrcDependantEvaluatorStore.get(term);
 
@@ -181,16 +255,49 @@ public final class EvaluatorFactory
 
 		if (evaluator.isSourceDependant())
 		{
-			Map<String, TermEvaluator> i = SrcDependantEvaluatorStore.get(term);
-			Map<String, TermEvaluator> j = (i == null) ? new HashMap<>() : i;
-			j.put(source, evaluator);
-			SrcDependantEvaluatorStore.put(term, j);
+			SrcDependantEvaluatorStore.computeIfAbsent(term, k -> new ConcurrentHashMap<>()).put(source, evaluator);
 		}
 		else
 		{
 			SrcNeutralEvaluatorStore.put(term, evaluator);
 		}
+		cached();
 
 		return evaluator;
 	}
+
+	/**
+	 * Counts an entry added to the caches, and clears the caches if they have
+	 * reached MAX_CACHED_TERMS entries. Clearing only costs the time to find
+	 * the TermEvaluators again.
+	 */
+	private void cached()
+	{
+		if (cachedCount.incrementAndGet() >= MAX_CACHED_TERMS)
+		{
+			cachedCount.set(0);
+			SrcNeutralEvaluatorStore.clear();
+			SrcDependantEvaluatorStore.clear();
+			NonTermStore.clear();
+		}
+	}
+
+	/**
+	 * A node in the trie of the keys of the TermEvaluatorBuilders.
+	 */
+	private static final class PrefixNode
+	{
+		private final Map<Character, PrefixNode> children = new HashMap<>();
+		private boolean isKey;
+
+		private void add(String key)
+		{
+			PrefixNode node = this;
+			for (int i = 0; i < key.length(); i++)
+			{
+				node = node.children.computeIfAbsent(key.charAt(i), c -> new PrefixNode());
+			}
+			node.isKey = true;
+		}
+	}
 }
@@ -53,6 +53,23 @@ public interface DataSetFacade
 	 */
 	public List<AbilityFacade> getPrereqAbilities(AbilityFacade abilityFacade);
 
+	/**
+	 * Retrieve the abilities that have this ability, or one of its types, as
+	 * a prerequisite. Used to find the abilities that taking this ability can
+	 * lead to.
+	 * @param abilityFacade The ability to be queried
+	 * @return The list of abilities requiring the ability
+	 */
+	public List<AbilityFacade> getAbilitiesRequiring(AbilityFacade abilityFacade);
+
+	/**
+	 * Retrieve the abilities that grant this ability when they are taken.
+	 * Used when building up a tree of abilities by the abilities granting them.
+	 * @param abilityFacade The ability to be queried
+	 * @return The list of abilities granting the ability
+	 */
+	public List<AbilityFacade> getAbilitiesGranting(AbilityFacade abilityFacade);
+
 	public ListFacade<Skill> getSkills();
 
 	public ListFacade<Race> getRaces();
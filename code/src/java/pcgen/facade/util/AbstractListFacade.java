@@ -32,6 +32,23 @@ public abstract class AbstractListFacade<E> implements ListFacade<E>
 	protected EventListenerList listenerList = new EventListenerList();
 	private Iterable<E> iteratorWrapper = null;
 
+	/**
+	 * The number of batches of changes which have been begun but not yet
+	 * committed.
+	 */
+	private int batchDepth = 0;
+
+	/**
+	 * true if this list has changed during the current batch of changes.
+	 */
+	private boolean batchChanged = false;
+
+	/**
+	 * The source of the events held back during the current batch of changes,
+	 * or this list if they came from more than one source.
+	 */
+	private Object batchSource = null;
+
 	@Override
 	public void addListListener(ListListener<? super E> listener)
 	{
@@ -88,6 +105,60 @@ public abstract class AbstractListFacade<E> implements ListFacade<E>
 		return iteratorWrapper.iterator();
 	}
 
+	/**
+	 * Begins a batch of changes to this list. While a batch is in progress, no
+	 * ListEvents are sent to the ListListeners; instead, when the batch is
+	 * committed, a single elementsChanged event is sent if the list changed.
+	 * The event has the source of the events it replaces, or this list if
+	 * they had different sources.
+	 * Batches may be nested, in which case the event is sent when the
+	 * outermost batch is committed.
+	 * 
+	 * Each call to this method must be matched by a call to commitBatch(),
+	 * typically in a finally block.
+	 */
+	public void beginBatch()
+	{
+		batchDepth++;
+	}
+
+	/**
+	 * Commits a batch of changes to this list begun by beginBatch(). If this
+	 * commits the outermost batch and the list changed during the batch, a
+	 * single elementsChanged event is sent to the ListListeners.
+	 */
+	public void commitBatch()
+	{
+		if (batchDepth == 0)
+		{
+			throw new IllegalStateException("commitBatch called without beginBatch");
+		}
+		batchDepth--;
+		if ((batchDepth == 0) && batchChanged)
+		{
+			Object source = batchSource;
+			batchChanged = false;
+			batchSource = null;
+			fireElementsChanged(source);
+		}
+	}
+
+	/**
+	 * Returns true if the current event should be held back because a batch of
+	 * changes is in progress, recording that the list has changed and the
+	 * source of the event.
+	 */
+	private boolean isBatching(Object source)
+	{
+		if (batchDepth > 0)
+		{
+			batchSource = (!batchChanged || (batchSource == source)) ? source : this;
+			batchChanged = true;
+			return true;
+		}
+		return false;
+	}
+
 	/**
 	 * {@code AbstractListFacade} subclasses must call this method
 	 * <b>after</b> one element is added from the model.
@@ -99,6 +170,10 @@ public abstract class AbstractListFacade<E> implements ListFacade<E>
 	 */
 	protected void fireElementAdded(Object source, E element, int index)
 	{
+		if (isBatching(source))
+		{
+			return;
+		}
 		Object[] listeners = listenerList.getListenerList();
 		ListEvent<E> e = null;
 		for (int i = listeners.length - 2; i >= 0; i -= 2)
@@ -125,6 +200,10 @@ public abstract class AbstractListFacade<E> implements ListFacade<E>
 	 */
 	protected void fireElementRemoved(Object source, E element, int index)
 	{
+		if (isBatching(source))
+		{
+			return;
+		}
 		Object[] listeners = listenerList.getListenerList();
 		ListEvent<E> e = null;
 		for (int i = listeners.length - 2; i >= 0; i -= 2)
@@ -148,6 +227,10 @@ public abstract class AbstractListFacade<E> implements ListFacade<E>
 	 */
 	protected void fireElementsChanged(Object source)
 	{
+		if (isBatching(source))
+		{
+			return;
+		}
 		Object[] listeners = listenerList.getListenerList();
 		ListEvent<E> e = null;
 		for (int i = listeners.length - 2; i >= 0; i -= 2)
@@ -174,6 +257,10 @@ public abstract class AbstractListFacade<E> implements ListFacade<E>
 	 */
 	protected void fireElementModified(Object source, E element, int index)
 	{
+		if (isBatching(source))
+		{
+			return;
+		}
 		Object[] listeners = listenerList.getListenerList();
 		ListEvent<E> e = null;
 		for (int i = listeners.length - 2; i >= 0; i -= 2)
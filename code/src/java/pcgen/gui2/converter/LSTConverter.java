@@ -66,6 +66,7 @@ import pcgen.persistence.lst.AbilityCategoryLoader;
 import pcgen.persistence.lst.CampaignSourceEntry;
 import pcgen.persistence.lst.GenericLoader;
 import pcgen.persistence.lst.LstFileLoader;
+import pcgen.persistence.lst.LstLineSplitter;
 import pcgen.rules.context.EditorLoadContext;
 import pcgen.rules.persistence.CDOMControlLoader;
 import pcgen.system.LanguageBundle;
@@ -319,7 +320,7 @@ public class LSTConverter extends Observable
 		StringBuilder resultBuffer = new StringBuilder(dataBuffer.length());
 		final String aString = dataBuffer;
 
-		String[] fileLines = aString.split(LstFileLoader.LINE_SEPARATOR_REGEXP);
+		String[] fileLines = LstLineSplitter.split(aString, false);
 		for (int line = 0; line < fileLines.length; line++)
 		{
 			String lineString = fileLines[line];
@@ -36,8 +36,8 @@ import pcgen.cdom.enumeration.Nature;
 import pcgen.cdom.enumeration.ObjectKey;
 import pcgen.cdom.facet.FacetLibrary;
 import pcgen.cdom.facet.GrantedAbilityFacet;
+import pcgen.cdom.facet.event.BatchedDataFacetChangeListener;
 import pcgen.cdom.facet.event.DataFacetChangeEvent;
-import pcgen.cdom.facet.event.DataFacetChangeListener;
 import pcgen.cdom.helper.CNAbilitySelection;
 import pcgen.core.Ability;
 import pcgen.core.AbilityCategory;
@@ -624,7 +624,8 @@ public class CharacterAbilities
 	 * The Class {@code GrantedAbilityChangeHandler} responds to changes to
 	 * the character's list of granted abilities.
 	 */
-	private final class GrantedAbilityChangeHandler implements DataFacetChangeListener<CharID, CNAbilitySelection>
+	private final class GrantedAbilityChangeHandler
+			implements BatchedDataFacetChangeListener<CharID, CNAbilitySelection>
 	{
 		@SuppressWarnings("nls")
 		@Override
@@ -660,6 +661,20 @@ public class CharacterAbilities
 			}
 			rebuildAbilityLists();
 		}
+
+		@Override
+		public void dataChanged(List<DataFacetChangeEvent<CharID, CNAbilitySelection>> events)
+		{
+			if (events.get(0).getCharID() != charID)
+			{
+				return;
+			}
+			if (Logging.isDebugMode())
+			{
+				Logging.debugPrint("Got " + events.size() + " granted ability changes");
+			}
+			rebuildAbilityLists();
+		}
 	}
 
 }
@@ -58,6 +58,8 @@ import pcgen.cdom.enumeration.StringKey;
 import pcgen.cdom.enumeration.Type;
 import pcgen.cdom.facet.AutoEquipmentFacet;
 import pcgen.cdom.facet.FacetLibrary;
+import pcgen.cdom.facet.base.DataFacetChangeBatch;
+import pcgen.cdom.facet.event.BatchedDataFacetChangeListener;
 import pcgen.cdom.facet.event.DataFacetChangeEvent;
 import pcgen.cdom.facet.event.DataFacetChangeListener;
 import pcgen.cdom.facet.fact.XPFacet;
@@ -701,33 +703,46 @@ public class CharacterFacadeImpl
 		int oldLevel = charLevelsFacade.getSize();
 		boolean needFullRefresh = false;
 
-		for (PCClass pcClass : classes)
+		// Update the views of the character once for all of the levels
+		DataFacetChangeBatch.begin(theCharacter.getCharID());
+		pcClassLevels.beginBatch();
+		charLevelsFacade.beginBatch();
+		try
 		{
-			int totalLevels = charDisplay.getTotalLevels();
-			if (!validateAddLevel(pcClass))
+			for (PCClass pcClass : classes)
 			{
-				return;
-			}
-			Logging.log(Logging.INFO,
-				charDisplay.getName() + ": Adding level " + (totalLevels + 1) //$NON-NLS-1$
-					+ " in class " + pcClass); //$NON-NLS-1$
-			theCharacter.incrementClassLevel(1, pcClass);
-			if (totalLevels == charDisplay.getTotalLevels())
-			{
-				// The level change was rejected - no further processing needed.
-				return;
-			}
-			if (pcClass.containsKey(ObjectKey.EXCHANGE_LEVEL))
-			{
-				needFullRefresh = true;
-			}
-			if (!pcClasses.contains(pcClass))
-			{
-				pcClasses.add(pcClass);
+				int totalLevels = charDisplay.getTotalLevels();
+				if (!validateAddLevel(pcClass))
+				{
+					return;
+				}
+				Logging.log(Logging.INFO,
+					charDisplay.getName() + ": Adding level " + (totalLevels + 1) //$NON-NLS-1$
+						+ " in class " + pcClass); //$NON-NLS-1$
+				theCharacter.incrementClassLevel(1, pcClass);
+				if (totalLevels == charDisplay.getTotalLevels())
+				{
+					// The level change was rejected - no further processing needed.
+					return;
+				}
+				if (pcClass.containsKey(ObjectKey.EXCHANGE_LEVEL))
+				{
+					needFullRefresh = true;
+				}
+				if (!pcClasses.contains(pcClass))
+				{
+					pcClasses.add(pcClass);
+				}
+				CharacterLevelFacadeImpl cl = new CharacterLevelFacadeImpl(pcClass, charLevelsFacade.getSize() + 1);
+				pcClassLevels.addElement(cl);
+				charLevelsFacade.addLevelOfClass(cl);
 			}
-			CharacterLevelFacadeImpl cl = new CharacterLevelFacadeImpl(pcClass, charLevelsFacade.getSize() + 1);
-			pcClassLevels.addElement(cl);
-			charLevelsFacade.addLevelOfClass(cl);
+		}
+		finally
+		{
+			charLevelsFacade.commitBatch();
+			pcClassLevels.commitBatch();
+			DataFacetChangeBatch.commit(theCharacter.getCharID());
 		}
 		CharacterUtils.selectClothes(getTheCharacter());
 
@@ -3782,7 +3797,15 @@ public class CharacterFacadeImpl
 
 		// The user is applying the kit so use the real PC now.
 		Logging.log(Logging.INFO, charDisplay.getName() + ": Adding kit " + kit); //$NON-NLS-1$
-		kit.processKit(theCharacter, thingsToAdd);
+		DataFacetChangeBatch.begin(theCharacter.getCharID());
+		try
+		{
+			kit.processKit(theCharacter, thingsToAdd);
+		}
+		finally
+		{
+			DataFacetChangeBatch.commit(theCharacter.getCharID());
+		}
 		kitList.addElement(kit);
 
 		// Kits can upate most things so do a thorough refresh
@@ -3980,7 +4003,7 @@ public class CharacterFacadeImpl
 	 * The Class {@code LanguageListener} tracks adding and removal of
 	 * languages to the character.
 	 */
-	public class LanguageListener implements DataFacetChangeListener<CharID, Language>
+	public class LanguageListener implements BatchedDataFacetChangeListener<CharID, Language>
 	{
 		@Override
 		public void dataAdded(DataFacetChangeEvent<CharID, Language> dfce)
@@ -4002,13 +4025,23 @@ public class CharacterFacadeImpl
 			refreshLanguageList();
 		}
 
+		@Override
+		public void dataChanged(List<DataFacetChangeEvent<CharID, Language>> events)
+		{
+			if (events.get(0).getCharID() != theCharacter.getCharID())
+			{
+				return;
+			}
+			refreshLanguageList();
+		}
+
 	}
 
 	/**
 	 * The Class {@code TemplateListener} tracks adding and removal of
 	 * templates to the character.
 	 */
-	public class TemplateListener implements DataFacetChangeListener<CharID, PCTemplate>
+	public class TemplateListener implements BatchedDataFacetChangeListener<CharID, PCTemplate>
 	{
 		@Override
 		public void dataAdded(DataFacetChangeEvent<CharID, PCTemplate> dfce)
@@ -4030,6 +4063,16 @@ public class CharacterFacadeImpl
 			refreshTemplates();
 		}
 
+		@Override
+		public void dataChanged(List<DataFacetChangeEvent<CharID, PCTemplate>> events)
+		{
+			if (events.get(0).getCharID() != theCharacter.getCharID())
+			{
+				return;
+			}
+			refreshTemplates();
+		}
+
 	}
 
 	/**
@@ -4059,7 +4102,7 @@ public class CharacterFacadeImpl
 	 * The Class {@code AutoEquipListener} tracks changes to the character's 
 	 * automatically granted equipment.
 	 */
-	public class AutoEquipListener implements DataFacetChangeListener<CharID, QualifiedObject<CDOMReference<Equipment>>>
+	public class AutoEquipListener implements BatchedDataFacetChangeListener<CharID, QualifiedObject<CDOMReference<Equipment>>>
 	{
 		@Override
 		public void dataAdded(DataFacetChangeEvent<CharID, QualifiedObject<CDOMReference<Equipment>>> dfce)
@@ -4081,6 +4124,16 @@ public class CharacterFacadeImpl
 			refreshEquipment();
 		}
 
+		@Override
+		public void dataChanged(List<DataFacetChangeEvent<CharID, QualifiedObject<CDOMReference<Equipment>>>> events)
+		{
+			if (events.get(0).getCharID() != theCharacter.getCharID())
+			{
+				return;
+			}
+			refreshEquipment();
+		}
+
 	}
 
 	@Override
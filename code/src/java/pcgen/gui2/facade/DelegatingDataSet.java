@@ -234,6 +234,18 @@ public class DelegatingDataSet implements DataSetFacade
 		return delegate.getPrereqAbilities(abilityFacade);
 	}
 
+	@Override
+	public List<AbilityFacade> getAbilitiesRequiring(AbilityFacade abilityFacade)
+	{
+		return delegate.getAbilitiesRequiring(abilityFacade);
+	}
+
+	@Override
+	public List<AbilityFacade> getAbilitiesGranting(AbilityFacade abilityFacade)
+	{
+		return delegate.getAbilitiesGranting(abilityFacade);
+	}
+
 	@Override
 	public ListFacade<Skill> getSkills()
 	{
@@ -0,0 +1,152 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.gui2.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * A FilterRunner applies a Filter to a list of elements on behalf of a filtered
+ * model. Large lists are filtered in slices on the event dispatch thread, so
+ * the user interface remains responsive (and further key presses are handled)
+ * while the filter runs. Starting a new run cancels any run still in progress,
+ * so only the result of the latest filter is published.
+ *
+ * Filters are run on the event dispatch thread rather than a background thread
+ * because most filters consult the character, which may only be accessed from
+ * the event dispatch thread.
+ *
+ * @param <C> The type of the context of the filter
+ * @param <E> The type of the elements being filtered
+ */
+final class FilterRunner<C, E>
+{
+
+	/**
+	 * Lists with fewer elements than this are filtered in a single pass.
+	 */
+	static final int SLICED_THRESHOLD = 1000;
+
+	/**
+	 * The time, in milliseconds, a slice of a run may take before it yields
+	 * the event dispatch thread.
+	 */
+	private static final long SLICE_MILLIS = 20;
+
+	/**
+	 * The number of elements filtered between checks of the time taken.
+	 */
+	private static final int CHECK_INTERVAL = 64;
+
+	/**
+	 * Identifies the current run; incremented when a run is started or
+	 * cancelled, so that superseded runs stop at their next slice.
+	 */
+	private int generation;
+
+	private boolean pending;
+
+	/**
+	 * Filters the given elements, and passes the accepted elements, in their
+	 * original order, to the given Consumer. The Consumer is called on the
+	 * calling thread, either before this method returns or, if the list is
+	 * filtered in slices, once the last slice has run. It is not called if the
+	 * run is superseded or cancelled first.
+	 *
+	 * @param elements
+	 *            The elements to be filtered; the list must not be changed
+	 *            while the run is pending
+	 * @param filter
+	 *            The Filter to apply, or null to accept every element
+	 * @param context
+	 *            The context passed to the Filter
+	 * @param publish
+	 *            The Consumer to which the accepted elements are passed
+	 */
+	void run(List<E> elements, Filter<? super C, ? super E> filter, C context, Consumer<List<E>> publish)
+	{
+		final int run = ++generation;
+		if ((filter == null) || (elements.size() < SLICED_THRESHOLD) || !SwingUtilities.isEventDispatchThread())
+		{
+			pending = false;
+			List<E> accepted = new ArrayList<>(elements.size());
+			for (E element : elements)
+			{
+				if (filter == null || filter.accept(context, element))
+				{
+					accepted.add(element);
+				}
+			}
+			publish.accept(accepted);
+			return;
+		}
+		pending = true;
+		new Runnable()
+		{
+			private final List<E> accepted = new ArrayList<>();
+			private int index;
+
+			@Override
+			public void run()
+			{
+				if (run != generation)
+				{
+					// Superseded by a later run
+					return;
+				}
+				long end = System.currentTimeMillis() + SLICE_MILLIS;
+				while (index < elements.size())
+				{
+					E element = elements.get(index++);
+					if (filter.accept(context, element))
+					{
+						accepted.add(element);
+					}
+					if (((index % CHECK_INTERVAL) == 0) && (System.currentTimeMillis() >= end))
+					{
+						SwingUtilities.invokeLater(this);
+						return;
+					}
+				}
+				pending = false;
+				publish.accept(accepted);
+			}
+		}.run();
+	}
+
+	/**
+	 * Cancels the pending run, if any.
+	 */
+	void cancel()
+	{
+		generation++;
+		pending = false;
+	}
+
+	/**
+	 * Returns true if a run has been started but its result has not yet been
+	 * published.
+	 *
+	 * @return true if a run is pending; false otherwise
+	 */
+	boolean isPending()
+	{
+		return pending;
+	}
+}
@@ -33,6 +33,7 @@ public class FilteredListFacade<C, E> extends AbstractListFacade<E> implements L
 	private ListFacade<E> delegate = null;
 	private Filter<? super C, ? super E> filter = null;
 	private C context = null;
+	private final FilterRunner<C, E> runner = new FilterRunner<>();
 
 	@Override
 	public E getElementAt(int index)
@@ -83,26 +84,34 @@ public class FilteredListFacade<C, E> extends AbstractListFacade<E> implements L
 
 	public void refilter()
 	{
-		data.clear();
-		if (delegate != null)
+		if (delegate == null)
 		{
-			List<E> list = new ArrayList<>(delegate.getSize());
-			for (E element : delegate)
-			{
-				if (filter == null || filter.accept(context, element))
-				{
-					list.add(element);
-				}
-			}
-			data.addAll(list);
+			runner.cancel();
+			data.clear();
+			fireElementsChanged(this);
+			return;
+		}
+		List<E> list = new ArrayList<>(delegate.getSize());
+		for (E element : delegate)
+		{
+			list.add(element);
 		}
-		fireElementsChanged(this);
+		runner.run(list, filter, context, accepted -> {
+			data.clear();
+			data.addAll(accepted);
+			fireElementsChanged(this);
+		});
 	}
 
 	@Override
 	public void elementAdded(ListEvent<E> e)
 	{
-		if (filter == null || filter.accept(context, e.getElement()))
+		if (runner.isPending())
+		{
+			// The pending run is filtering an out of date copy of the list
+			refilter();
+		}
+		else if (filter == null || filter.accept(context, e.getElement()))
 		{
 			int size = data.size();
 			data.add(e.getElement());
@@ -113,6 +122,11 @@ public class FilteredListFacade<C, E> extends AbstractListFacade<E> implements L
 	@Override
 	public void elementRemoved(ListEvent<E> e)
 	{
+		if (runner.isPending())
+		{
+			refilter();
+			return;
+		}
 		int index = data.indexOf(e.getElement());
 		data.remove(e.getElement());
 		fireElementRemoved(this, e.getElement(), index);
@@ -127,7 +141,11 @@ public class FilteredListFacade<C, E> extends AbstractListFacade<E> implements L
 	@Override
 	public void elementModified(ListEvent<E> e)
 	{
-		if (data.contains(e.getElement()))
+		if (runner.isPending())
+		{
+			refilter();
+		}
+		else if (data.contains(e.getElement()))
 		{
 			if (filter != null && !filter.accept(context, e.getElement()))
 			{
@@ -34,6 +34,7 @@ public class FilteredTreeViewModel<C, E> implements TreeViewModel<E>, ListListen
 {
 
 	private final DefaultListFacade<E> data = new DefaultListFacade<>();
+	private final FilterRunner<C, E> runner = new FilterRunner<>();
 	private Filter<C, E> filter;
 	private TreeViewModel<E> model;
 	private C context;
@@ -64,6 +65,7 @@ public class FilteredTreeViewModel<C, E> implements TreeViewModel<E>, ListListen
 
 	public void setBaseModel(TreeViewModel<E> model)
 	{
+		runner.cancel();
 		if (this.model != null)
 		{
 			this.model.getDataModel().removeListListener(this);
@@ -101,22 +103,19 @@ public class FilteredTreeViewModel<C, E> implements TreeViewModel<E>, ListListen
 
 	public void refilter()
 	{
-		ListFacade<E> base = model.getDataModel();
-		List<E> list = new ArrayList<>(base.getSize());
-		for (E element : base)
-		{
-			if (filter == null || filter.accept(context, element))
-			{
-				list.add(element);
-			}
-		}
-		data.updateContents(list);
+		List<E> list = new ArrayList<>(ListFacades.wrap(model.getDataModel()));
+		runner.run(list, filter, context, data::updateContents);
 	}
 
 	@Override
 	public void elementAdded(ListEvent<E> e)
 	{
-		if (filter == null || filter.accept(context, e.getElement()))
+		if (runner.isPending())
+		{
+			// The pending run is filtering an out of date copy of the list
+			refilter();
+		}
+		else if (filter == null || filter.accept(context, e.getElement()))
 		{
 			data.addElement(e.getElement());
 		}
@@ -125,7 +124,14 @@ public class FilteredTreeViewModel<C, E> implements TreeViewModel<E>, ListListen
 	@Override
 	public void elementRemoved(ListEvent<E> e)
 	{
-		data.removeElement(e.getElement());
+		if (runner.isPending())
+		{
+			refilter();
+		}
+		else
+		{
+			data.removeElement(e.getElement());
+		}
 	}
 
 	@Override
@@ -137,7 +143,11 @@ public class FilteredTreeViewModel<C, E> implements TreeViewModel<E>, ListListen
 	@Override
 	public void elementModified(ListEvent<E> e)
 	{
-		if (!filter.accept(context, e.getElement()))
+		if (runner.isPending())
+		{
+			refilter();
+		}
+		else if (!filter.accept(context, e.getElement()))
 		{
 			data.removeElement(e.getElement());
 		}
@@ -22,11 +22,13 @@ import java.awt.BorderLayout;
 import java.awt.Component;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.Objects;
 
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
+import javax.swing.Timer;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 
@@ -37,8 +39,6 @@ import pcgen.facade.core.InfoFacade;
 import pcgen.gui2.tools.Icons;
 import pcgen.system.LanguageBundle;
 
-import org.apache.commons.lang3.StringUtils;
-
 /**
  * A text search filtering bar including the title, the text field and a clear 
  * button. When text is typed into the field the table contents will be 
@@ -50,12 +50,26 @@ public class SearchFilterPanel extends JPanel
 		implements DisplayableFilter<Object, Object>, DocumentListener, ActionListener
 {
 
+	/**
+	 * The time, in milliseconds, to wait after the search text is changed
+	 * before refiltering, so a refilter is not run for every key press.
+	 */
+	private static final int REFRESH_DELAY = 150;
+
 	private FilterHandler filterHandler;
 	private final JTextField searchField = new JTextField();
 	private final JButton clearButton = new JButton(Icons.CloseX9.getImageIcon());
+	private final Timer refreshTimer = new Timer(REFRESH_DELAY, e -> refreshFilter());
+	private final SearchIndex searchIndex = new SearchIndex(SearchFilterPanel::getSearchText);
+
+	/**
+	 * The current search text, folded for use with the SearchIndex.
+	 */
+	private String searchText = ""; //$NON-NLS-1$
 
 	public SearchFilterPanel()
 	{
+		refreshTimer.setRepeats(false);
 		searchField.getDocument().addDocumentListener(this);
 		clearButton.addActionListener(this);
 		setLayout(new BorderLayout());
@@ -67,31 +81,52 @@ public class SearchFilterPanel extends JPanel
 	@Override
 	public void insertUpdate(DocumentEvent e)
 	{
-		refreshFilter();
+		refreshTimer.restart();
 	}
 
 	@Override
 	public void removeUpdate(DocumentEvent e)
 	{
-		refreshFilter();
+		refreshTimer.restart();
 	}
 
 	@Override
 	public void changedUpdate(DocumentEvent e)
 	{
-		refreshFilter();
+		refreshTimer.restart();
 	}
 
 	private void refreshFilter()
 	{
+		refreshTimer.stop();
 		String text = searchField.getText();
-		filterHandler.setSearchEnabled(text != null && !text.isEmpty());
+		boolean searching = text != null && !text.isEmpty();
+		if (searching && searchText.isEmpty())
+		{
+			// A new search, so pick up any changes to the elements since the last
+			searchIndex.clear();
+		}
+		searchText = searching ? SearchIndex.fold(text) : ""; //$NON-NLS-1$
+		if (filterHandler == null)
+		{
+			return;
+		}
+		filterHandler.setSearchEnabled(searching);
 		filterHandler.refilter();
 		filterHandler.scrollToTop();
 	}
 
 	@Override
 	public boolean accept(Object context, Object element)
+	{
+		return searchText.isEmpty() || searchIndex.matches(element, searchText);
+	}
+
+	/**
+	 * Returns the text of the given element which is searched: its name and
+	 * type, and for a Campaign its source abbreviation.
+	 */
+	private static String getSearchText(Object element)
 	{
 		String typeStr = ""; //$NON-NLS-1$
 		String abbStr = ""; //$NON-NLS-1$
@@ -104,10 +139,8 @@ public class SearchFilterPanel extends JPanel
 			typeStr = ((Campaign) element).getListAsString(ListKey.BOOK_TYPE);
 			abbStr = ((Campaign) element).get(StringKey.SOURCE_SHORT);
 		}
-		final String searchText = searchField.getText();
-		return StringUtils.containsIgnoreCase(element.toString(), searchText)
-			|| StringUtils.containsIgnoreCase(typeStr, searchText)
-			|| StringUtils.containsIgnoreCase(abbStr, searchText);
+		// Separate the parts so a search cannot match across them
+		return element + "\n" + Objects.toString(typeStr, "") + '\n' + Objects.toString(abbStr, "");
 	}
 
 	@Override
@@ -126,6 +159,7 @@ public class SearchFilterPanel extends JPanel
 	public void actionPerformed(ActionEvent e)
 	{
 		searchField.setText("");
-		// A refreshFilter call is triggered by the text change.
+		// Apply the cleared search now, rather than after the refresh delay
+		refreshFilter();
 	}
 }
@@ -0,0 +1,175 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.gui2.filter;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A SearchIndex answers whether an element's search text contains a query,
+ * ignoring case. The search text of each element is computed once, when the
+ * element is first seen, and indexed by its trigrams (each run of three
+ * characters). For queries of three or more characters, the elements that
+ * match are found among the elements indexed under the rarest trigram of the
+ * query, rather than by searching the text of every element; after that,
+ * checking an element is a single set lookup.
+ *
+ * As the search text is computed when an element is first seen, changes to the
+ * text of an element are only seen once the index is cleared.
+ *
+ * **NOTE** This class is NOT thread safe.
+ */
+final class SearchIndex
+{
+
+	private static final int GRAM = 3;
+
+	/**
+	 * Computes the search text of an element.
+	 */
+	private final Function<Object, String> searchText;
+
+	/**
+	 * The (lower case) search text of each element seen.
+	 */
+	private final Map<Object, String> texts = new HashMap<>();
+
+	/**
+	 * The elements whose search text contains each trigram.
+	 */
+	private final Map<String, Set<Object>> grams = new HashMap<>();
+
+	/**
+	 * The query for which matches were last found, or null if none were.
+	 */
+	private String lastQuery;
+
+	/**
+	 * The elements whose search text contains lastQuery.
+	 */
+	private Set<Object> lastMatches;
+
+	/**
+	 * Constructs a new SearchIndex.
+	 *
+	 * @param searchText
+	 *            The Function which computes the search text of an element
+	 */
+	SearchIndex(Function<Object, String> searchText)
+	{
+		this.searchText = searchText;
+	}
+
+	/**
+	 * Returns the given text folded to the form in which it is indexed. Queries
+	 * passed to matches() must be folded with this method.
+	 *
+	 * @param text
+	 *            The text to be folded
+	 * @return The folded text
+	 */
+	static String fold(String text)
+	{
+		return text.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Returns true if the search text of the given element contains the given
+	 * query.
+	 *
+	 * @param element
+	 *            The element to be checked
+	 * @param query
+	 *            The query, folded with fold(String)
+	 * @return true if the search text of the element contains the query; false
+	 *         otherwise
+	 */
+	boolean matches(Object element, String query)
+	{
+		String text = texts.get(element);
+		if (text == null)
+		{
+			text = add(element);
+			return text.contains(query);
+		}
+		if (query.length() < GRAM)
+		{
+			return text.contains(query);
+		}
+		return getMatches(query).contains(element);
+	}
+
+	private String add(Object element)
+	{
+		String text = fold(searchText.apply(element));
+		texts.put(element, text);
+		for (int i = 0; i + GRAM <= text.length(); i++)
+		{
+			grams.computeIfAbsent(text.substring(i, i + GRAM), k -> new HashSet<>()).add(element);
+		}
+		if ((lastMatches != null) && text.contains(lastQuery))
+		{
+			lastMatches.add(element);
+		}
+		return text;
+	}
+
+	private Set<Object> getMatches(String query)
+	{
+		if (query.equals(lastQuery))
+		{
+			return lastMatches;
+		}
+		// Start from the smallest set of elements for any trigram in the query
+		Set<Object> smallest = null;
+		for (int i = 0; i + GRAM <= query.length(); i++)
+		{
+			Set<Object> elements = grams.getOrDefault(query.substring(i, i + GRAM), Collections.emptySet());
+			if ((smallest == null) || (elements.size() < smallest.size()))
+			{
+				smallest = elements;
+			}
+		}
+		Set<Object> matches = new HashSet<>();
+		for (Object element : smallest)
+		{
+			if (texts.get(element).contains(query))
+			{
+				matches.add(element);
+			}
+		}
+		lastQuery = query;
+		lastMatches = matches;
+		return matches;
+	}
+
+	/**
+	 * Discards the search text of every element, so that it is recomputed when
+	 * each element is next seen.
+	 */
+	void clear()
+	{
+		texts.clear();
+		grams.clear();
+		lastQuery = null;
+		lastMatches = null;
+	}
+}
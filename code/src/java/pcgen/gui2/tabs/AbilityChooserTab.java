@@ -22,8 +22,10 @@ import java.awt.BorderLayout;
 import java.awt.Component;
 import java.awt.event.ActionEvent;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.Set;
 
 import javax.swing.AbstractAction;
 import javax.swing.Box;
@@ -48,6 +50,7 @@ import pcgen.cdom.enumeration.Nature;
 import pcgen.core.AbilityCategory;
 import pcgen.facade.core.AbilityFacade;
 import pcgen.facade.core.CharacterFacade;
+import pcgen.facade.core.DataSetFacade;
 import pcgen.facade.core.InfoFactory;
 import pcgen.facade.util.DefaultListFacade;
 import pcgen.facade.util.DelegatingListFacade;
@@ -99,6 +102,7 @@ public class AbilityChooserTab extends FlippingSplitPane implements StateEditabl
 	private final JButton removeButton;
 	private final FilterBar<CharacterFacade, AbilityCategory> categoryBar;
 	private final FilterButton<CharacterFacade, AbilityFacade> qFilterButton;
+	private final FilterButton<CharacterFacade, AbilityFacade> nextFilterButton;
 	private final QualifiedTreeCellRenderer qualifiedRenderer;
 	private final AbilityRenderer abilityRenderer;
 
@@ -112,6 +116,7 @@ public class AbilityChooserTab extends FlippingSplitPane implements StateEditabl
 		this.removeButton = new JButton();
 		this.categoryBar = new FilterBar<>();
 		this.qFilterButton = new FilterButton<>("AbilityQualified");
+		this.nextFilterButton = new FilterButton<>("AbilityNext");
 		this.qualifiedRenderer = new QualifiedTreeCellRenderer();
 		this.abilityRenderer = new AbilityRenderer();
 		initComponents();
@@ -128,6 +133,9 @@ public class AbilityChooserTab extends FlippingSplitPane implements StateEditabl
 
 		qFilterButton.setText(LanguageBundle.getString("in_igQualFilter")); //$NON-NLS-1$
 		filterBar.addDisplayableFilter(qFilterButton);
+		nextFilterButton.setText(LanguageBundle.getString("in_abNextFilter")); //$NON-NLS-1$
+		nextFilterButton.setToolTipText(LanguageBundle.getString("in_abNextFilterTip")); //$NON-NLS-1$
+		filterBar.addDisplayableFilter(nextFilterButton);
 		JPanel availPanel = FilterUtilities.configureFilteredTreeViewPane(availableTreeViewPanel, filterBar);
 		Box box = Box.createHorizontalBox();
 		box.add(Box.createHorizontalGlue());
@@ -683,9 +691,25 @@ public class AbilityChooserTab extends FlippingSplitPane implements StateEditabl
 				return character.isQualifiedFor(element);
 			}
 
+		};
+		private final Filter<CharacterFacade, AbilityFacade> nextFilter = new Filter<>()
+		{
+			@Override
+			public boolean accept(CharacterFacade context, AbilityFacade element)
+			{
+				return getNextAbilities().contains(element) && character.isQualifiedFor(element);
+			}
+
 		};
 		private final CharacterFacade character;
 
+		/**
+		 * The abilities of the character when the next abilities were last
+		 * found, and the abilities found.
+		 */
+		private Set<AbilityFacade> heldAbilities = new HashSet<>();
+		private Set<AbilityFacade> nextAbilities = new HashSet<>();
+
 		public AbilityFilterHandler(CharacterFacade character)
 		{
 			this.character = character;
@@ -694,6 +718,40 @@ public class AbilityChooserTab extends FlippingSplitPane implements StateEditabl
 		public void install()
 		{
 			qFilterButton.setFilter(qFilter);
+			nextFilterButton.setFilter(nextFilter);
+		}
+
+		/**
+		 * Returns the abilities the character does not have which require an
+		 * ability the character has. They are looked up in the prerequisite
+		 * index of the data set, and only looked up again once the abilities
+		 * of the character have changed.
+		 *
+		 * @return The abilities which the abilities of the character lead to
+		 */
+		private Set<AbilityFacade> getNextAbilities()
+		{
+			DataSetFacade dataset = character.getDataSet();
+			Set<AbilityFacade> held = new HashSet<>();
+			for (AbilityCategory category : dataset.getAbilities().getKeys())
+			{
+				for (AbilityFacade ability : character.getAbilities(category))
+				{
+					held.add(ability);
+				}
+			}
+			if (!held.equals(heldAbilities))
+			{
+				Set<AbilityFacade> next = new HashSet<>();
+				for (AbilityFacade ability : held)
+				{
+					next.addAll(dataset.getAbilitiesRequiring(ability));
+				}
+				next.removeAll(held);
+				heldAbilities = held;
+				nextAbilities = next;
+			}
+			return nextAbilities;
 		}
 
 	}
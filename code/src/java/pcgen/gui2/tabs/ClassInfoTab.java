@@ -733,7 +733,7 @@ public class ClassInfoTab extends FlippingSplitPane implements CharacterInfoTab
 		@Override
 		public void elementsChanged(ListEvent<CharacterLevelFacade> e)
 		{
-			fireTableRowsUpdated(0, getRowCount() - 1);
+			fireTableDataChanged();
 		}
 
 		@Override
@@ -45,6 +45,7 @@ public final class AbilityTreeViews
 		list.add(new NameTreeView());
 		list.add(new TypeTreeView());
 		list.add(new PreReqTreeView(character.getDataSet()));
+		list.add(new GrantedByTreeView(character.getDataSet()));
 		list.add(new SourceTreeView());
 		return list;
 	}
@@ -113,6 +114,43 @@ public final class AbilityTreeViews
 
 	}
 
+	private static class GrantedByTreeView implements TreeView<AbilityFacade>
+	{
+
+		private final DataSetFacade dataset;
+
+		public GrantedByTreeView(DataSetFacade dataset)
+		{
+			this.dataset = dataset;
+		}
+
+		@Override
+		public String getViewName()
+		{
+			return LanguageBundle.getString("in_grantedByTree"); //$NON-NLS-1$
+		}
+
+		@Override
+		public List<TreeViewPath<AbilityFacade>> getPaths(AbilityFacade pobj)
+		{
+			List<AbilityFacade> grantingAbilities = dataset.getAbilitiesGranting(pobj);
+			// Abilities granted by no other ability are listed on their own
+			grantingAbilities.remove(pobj);
+			if (grantingAbilities.isEmpty())
+			{
+				return Collections.singletonList(new TreeViewPath<>(pobj));
+			}
+
+			List<TreeViewPath<AbilityFacade>> paths = new ArrayList<>();
+			for (AbilityFacade grantingAbility : grantingAbilities)
+			{
+				paths.add(new TreeViewPath<>(pobj, grantingAbility));
+			}
+			return paths;
+		}
+
+	}
+
 	private static class PreReqTreeView implements TreeView<AbilityFacade>
 	{
 
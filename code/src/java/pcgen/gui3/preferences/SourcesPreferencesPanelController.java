@@ -61,6 +61,8 @@ public class SourcesPreferencesPanelController implements ResettableController
 	private CheckBox useAdvancedSourceSelect;
 	@FXML
 	private CheckBox allowMultiLineObjectsSelect;
+	@FXML
+	private CheckBox parallelLoadSelect;
 
 	@FXML
 	private void initialize()
@@ -96,6 +98,8 @@ public class SourcesPreferencesPanelController implements ResettableController
 				!useAdvancedSourceSelect.isSelected());
 		PCGenSettings.OPTIONS_CONTEXT.setBoolean(PCGenSettings.OPTION_SOURCES_ALLOW_MULTI_LINE,
 				allowMultiLineObjectsSelect.isSelected());
+		PCGenSettings.OPTIONS_CONTEXT.setBoolean(PCGenSettings.OPTION_SOURCES_PARALLEL_LOAD,
+				parallelLoadSelect.isSelected());
 
 		switch (sourceOptions.getSelectionModel().getSelectedIndex())
 		{
@@ -150,6 +154,8 @@ public class SourcesPreferencesPanelController implements ResettableController
 				.setSelected(!UIPropertyContext.getInstance().getBoolean(UIPropertyContext.SOURCE_USE_BASIC_KEY));
 		allowMultiLineObjectsSelect
 				.setSelected(PCGenSettings.OPTIONS_CONTEXT.getBoolean(PCGenSettings.OPTION_SOURCES_ALLOW_MULTI_LINE));
+		parallelLoadSelect
+				.setSelected(PCGenSettings.OPTIONS_CONTEXT.getBoolean(PCGenSettings.OPTION_SOURCES_PARALLEL_LOAD));
 
 		switch (Globals.getSourceDisplay())
 		{
@@ -40,6 +40,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import pcgen.cdom.base.CDOMObject;
@@ -79,6 +80,8 @@ import pcgen.io.exporttoken.WeaponhToken;
 import pcgen.system.PluginLoader;
 import pcgen.util.Delta;
 import pcgen.util.Logging;
+import pcgen.util.PerformanceMetrics;
+import pcgen.util.PerformanceMetrics.Metric;
 import pcgen.util.enumeration.View;
 
 /**
@@ -109,13 +112,13 @@ public abstract class ExportHandler
 	private static final Float JEP_TRUE = 1.0f;
 
 	/** A map of output tokens to export */
-	private static final Map<String, Token> TOKEN_MAP = new HashMap<>();
+	private static final Map<String, Token> TOKEN_MAP = new ConcurrentHashMap<>();
 
 	/** 
 	 * A variable to hold the state of whether or not the output token map to
 	 * be exported is populated or not. 
 	 */
-	private static boolean tokenMapPopulated;
+	private static volatile boolean tokenMapPopulated;
 
 	// Processing state variables
 
@@ -269,15 +272,13 @@ public abstract class ExportHandler
 				{
 					String aString = vString.substring(countIndex + 6, i);
 
-					// Either deal with an EQTYPE or a straight EQ token
-					EqToken token;
-					if (aString.contains("EQTYPE"))
+					// Either deal with an EQTYPE or a straight EQ token, reusing
+					// the registered token so that its equipment list cache is kept
+					boolean isEqType = aString.contains("EQTYPE");
+					Token token = TOKEN_MAP.get(isEqType ? EqTypeToken.TOKEN_NAME : EqToken.TOKENNAME);
+					if (!(token instanceof EqToken))
 					{
-						token = new EqTypeToken();
-					}
-					else
-					{
-						token = new EqToken();
+						token = isEqType ? new EqTypeToken() : new EqToken();
 					}
 
 					String baString = token.getToken(aString, aPC, this);
@@ -793,11 +794,7 @@ public abstract class ExportHandler
 			// Else it's something to be processed
 			else
 			{
-				String lineString = (String) aChild;
-				lineString = replaceVariables(lineString, loopParameters);
-				lineString = replaceVariables(lineString, loopVariables);
-
-				replaceLine(lineString, output, aPC);
+				replaceLine((TemplateLine) aChild, output, aPC);
 
 				// Each time we replace a line that is part of an IIF statement
 				// we output a newline if we are allowed to write and the 
@@ -886,12 +883,8 @@ public abstract class ExportHandler
 			}
 			else
 			{
-				String lineString = (String) node.children().get(y);
-				lineString = replaceVariables(lineString, loopParameters);
-				lineString = replaceVariables(lineString, loopVariables);
-
 				noMoreItems = false;
-				replaceLine(lineString, output, aPC);
+				replaceLine((TemplateLine) node.children().get(y), output, aPC);
 
 				// If the output sheet author has no control 
 				// over the whitespace then print a newline.
@@ -1302,7 +1295,7 @@ public abstract class ExportHandler
 				}
 				else
 				{
-					node.addChild(line);
+					node.addChild(new TemplateLine(line));
 				}
 			}
 			else if (line.startsWith("|IIF(") && (line.lastIndexOf(',') == -1))
@@ -1316,7 +1309,7 @@ public abstract class ExportHandler
 			}
 			else
 			{
-				node.addChild(line);
+				node.addChild(new TemplateLine(line));
 			}
 		}
 
@@ -1408,11 +1401,11 @@ public abstract class ExportHandler
 				{
 					if (trueCase)
 					{
-						node.addTrueChild(line);
+						node.addTrueChild(new TemplateLine(line));
 					}
 					else
 					{
-						node.addFalseChild(line);
+						node.addFalseChild(new TemplateLine(line));
 					}
 				}
 			}
@@ -1443,11 +1436,11 @@ public abstract class ExportHandler
 			{
 				if (trueCase)
 				{
-					node.addTrueChild(line);
+					node.addTrueChild(new TemplateLine(line));
 				}
 				else
 				{
-					node.addFalseChild(line);
+					node.addFalseChild(new TemplateLine(line));
 				}
 			}
 		}
@@ -1459,7 +1452,7 @@ public abstract class ExportHandler
 	 * Populate the token map (if not already done so), e.g. Add all 
 	 * of the types of Output Tokens to the map
 	 */
-	private static void populateTokenMap()
+	private static synchronized void populateTokenMap()
 	{
 		if (!tokenMapPopulated)
 		{
@@ -1481,75 +1474,49 @@ public abstract class ExportHandler
 	}
 
 	/**
-	 * This method performs some work on a given character sheet template line, 
-	 * namely replacing tokens, dealing with Malformed lines and simply outputting 
-	 * plain text.
-	 *  
-	 * @param aLine The line to do the work on
+	 * Output a line of the character sheet template, replacing any loop
+	 * variables it refers to first. The line is only split again if a
+	 * variable was actually replaced.
+	 *
+	 * @param line The template line to output
 	 * @param output The output buffer that is effectively the character sheet template
 	 * @param aPC The PC that we are outputting
 	 */
-	private void replaceLine(String aLine, BufferedWriter output, PlayerCharacter aPC)
+	private void replaceLine(TemplateLine line, BufferedWriter output, PlayerCharacter aPC)
 	{
-		// Find the last index of the | character
-		int lastIndex = aLine.lastIndexOf('|');
-
-		// If there are no pipes and it's a non empty string, just output the fixed text
-		if (lastIndex < 0 && !aLine.isEmpty())
+		List<TemplateLine.Segment> segments = line.segments();
+		if (line.refersTo(loopVariables.keySet()))
 		{
-			outputNonToken(aLine, output);
-		}
-
-		/*
-		 * When the line starts with a pipe and that pipe is the only
-		 * one on the line, this operation ignores the line.  This is
-		 * because the token is malformed.  Malformed because it should be
-		 * between pipes.
-		 */
-		if (lastIndex >= 1)
-		{
-			final StringTokenizer aTok = new StringTokenizer(aLine, "|", false);
-
-			boolean inPipe = false;
-			if (aLine.charAt(0) == '|')
+			String lineString = replaceVariables(line.text(), loopParameters);
+			lineString = replaceVariables(lineString, loopVariables);
+			if (!lineString.equals(line.text()))
 			{
-				inPipe = true;
+				segments = TemplateLine.split(lineString);
 			}
+		}
+		replaceLine(segments, output, aPC);
+	}
 
-			boolean lastIsPipe = false;
-			if (aLine.charAt(aLine.length() - 1) == '|')
+	/**
+	 * This method performs some work on a given character sheet template line, 
+	 * namely replacing tokens and simply outputting plain text. Malformed 
+	 * tokens have already been dropped when the line was split.
+	 *  
+	 * @param segments The sections of the line to do the work on
+	 * @param output The output buffer that is effectively the character sheet template
+	 * @param aPC The PC that we are outputting
+	 */
+	private void replaceLine(List<TemplateLine.Segment> segments, BufferedWriter output, PlayerCharacter aPC)
+	{
+		for (TemplateLine.Segment segment : segments)
+		{
+			if (segment.isToken())
 			{
-				lastIsPipe = true;
+				replaceToken(segment.text(), output, aPC);
 			}
-
-			while (aTok.hasMoreTokens())
+			else
 			{
-				String tok = aTok.nextToken();
-
-				if (inPipe)
-				{
-					if (aTok.hasMoreTokens() || lastIsPipe)
-					{
-						replaceToken(tok, output, aPC);
-					}
-					/*
-					 * No else condition because we should be between
-					 * pipes at this point i.e. this should be a token but
-					 * it appears to be malformed.  Malformed because there
-					 * are no more tokens and the last character of the string
-					 * is not a pipe
-					 */
-				}
-				else
-				{
-					outputNonToken(tok, output);
-				}
-				// Reverse the inPipe state, causing the next token to 
-				// take the other decision path
-				if (aTok.hasMoreTokens())
-				{
-					inPipe = !inPipe;
-				}
+				outputNonToken(segment.text(), output);
 			}
 		}
 	}
@@ -1659,13 +1626,16 @@ public abstract class ExportHandler
 			else if (TOKEN_MAP.get(firstToken) != null)
 			{
 				Token token = TOKEN_MAP.get(firstToken);
+				long start = PerformanceMetrics.start();
+				String value = token.getToken(tokenString, aPC, this);
+				PerformanceMetrics.stop(Metric.EXPORT_TOKEN, start);
 				if (token.isEncoded())
 				{
-					FileAccess.encodeWrite(output, token.getToken(tokenString, aPC, this));
+					FileAccess.encodeWrite(output, value);
 				}
 				else
 				{
-					FileAccess.write(output, token.getToken(tokenString, aPC, this));
+					FileAccess.write(output, value);
 				}
 			}
 			// Default case
@@ -4,6 +4,7 @@ import freemarker.template.Configuration;
 import static freemarker.template.Configuration.VERSION_2_3_20;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
+import freemarker.template.TemplateHashModelEx;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
@@ -46,7 +47,16 @@ public class FreeMarkerExportHandler extends ExportHandler
 		}
 		FileAccess.setCurrentOutputFilter(getTemplateFile().getName().substring(0, getTemplateFile().getName().length() - 4));
 
-		exportCharacterUsingFreemarker(aPC, out);
+		// The sheet tests the same prerequisites many times, so reuse the results
+		aPC.getPrereqCache().open();
+		try
+		{
+			exportCharacterUsingFreemarker(aPC, out);
+		}
+		finally
+		{
+			aPC.getPrereqCache().close();
+		}
 	}
 
 
@@ -78,11 +88,12 @@ public class FreeMarkerExportHandler extends ExportHandler
 
 			GameMode gamemode = SettingsHandler.getGameAsProperty().get();
 			// data-model
-			Map<String, Object> pc = OutputDB.buildDataModel(aPC.getCharID());
+			// Models are only built for the parts of the character the template uses
+			TemplateHashModelEx pc = OutputDB.buildLazyDataModel(aPC.getCharID());
 			Map<String, Object> mode = OutputDB.buildModeDataModel(gamemode);
 			Map<String, Object> input = new HashMap<>();
 			input.put("pcgen", OutputDB.getGlobal());
-			input.put("pc", ExportUtilities.getObjectWrapper().wrap(pc));
+			input.put("pc", pc);
 			input.put("gamemode", mode);
 			input.put("gamemodename", gamemode.getName());
 
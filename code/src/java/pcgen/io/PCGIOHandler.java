@@ -34,12 +34,13 @@ import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import pcgen.cdom.base.Constants;
 import pcgen.cdom.content.CNAbility;
@@ -130,19 +131,17 @@ public final class PCGIOHandler extends IOHandler
 	{
 		warnings.clear();
 
-		final List<String> lines = readPcgLines(in);
-		boolean isPCGVersion2 = isPCGCersion2(lines);
+		final PCGParser parser = new PCGVer2Parser(pcToBeRead);
+		boolean isPCGVersion2 = readPcgLines(parser, in);
 
 		pcToBeRead.setImporting(true);
 
-		final String[] pcgLines = lines.toArray(new String[0]);
 		if (isPCGVersion2)
 		{
-			final PCGParser parser = new PCGVer2Parser(pcToBeRead);
 			try
 			{
 				// parse it all
-				parser.parsePCG(pcgLines);
+				parser.parsePCG();
 			}
 			catch (PCGParseException pcgex)
 			{
@@ -174,60 +173,26 @@ public final class PCGIOHandler extends IOHandler
 		}
 	}
 
-	private boolean isPCGCersion2(List<String> lines)
-	{
-		for (String aLine : lines)
-		{
-			if (aLine.startsWith(IOConstants.TAG_PCGVERSION))
-			{
-				return true;
-			}
-		}
-		return false;
-	}
-
 	/**
+	 * Reads the lines of a PCG file into the given parser, one line at a time.
+	 *
+	 * @param parser
+	 *            The parser into which the lines are read
 	 * @param in
-	 * @return String lines
+	 *            The stream to be read from
+	 * @return true if the file is in version 2 of the PCG format
 	 */
-	private List<String> readPcgLines(InputStream in)
+	private static boolean readPcgLines(PCGParser parser, InputStream in)
 	{
-		final List<String> lines = new ArrayList<>();
-
-		// try reading in all the lines in the .pcg file
-		BufferedReader br = null;
-
-		try
+		try (BufferedReader br = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)))
 		{
-			br = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
-
-			String aLine;
-
-			while ((aLine = br.readLine()) != null)
-			{
-				lines.add(aLine);
-				//isPCGVersion2 |= aLine.startsWith(IOConstants.TAG_PCGVERSION);
-			}
+			return parser.readPCG(br);
 		}
 		catch (IOException ioe)
 		{
 			Logging.errorPrint("Exception in PCGIOHandler::read", ioe);
 		}
-		finally
-		{
-			try
-			{
-				if (br != null)
-				{
-					br.close();
-				}
-			}
-			catch (IOException e)
-			{
-				Logging.errorPrint("Couldn't close file in PCGIOHandler.read", e);
-			}
-		}
-		return lines;
+		return false;
 	}
 
 	/**
@@ -244,16 +209,12 @@ public final class PCGIOHandler extends IOHandler
 	@Override
 	public void write(PlayerCharacter pcToBeWritten, GameMode mode, List<Campaign> campaigns, OutputStream out)
 	{
-		final String pcgString;
-		pcgString = (new PCGVer2Creator(pcToBeWritten, mode, campaigns)).createPCGString();
-
 		BufferedWriter bw = null;
 
 		try
 		{
 			bw = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
-			bw.write(pcgString);
-			bw.flush();
+			(new PCGVer2Creator(pcToBeWritten, mode, campaigns)).writePCG(bw);
 
 			pcToBeWritten.setDirty(false);
 		}
@@ -280,8 +241,8 @@ public final class PCGIOHandler extends IOHandler
 	/**
 	 * Writes the contents of the given PlayerCharacter to a file. This method also includes
 	 * safely backing up the original character file, but only once we know we have 
-	 * successfully exported the character to a string ready for writing. This means that if 
-	 * the save fails, the file system is untouched.
+	 * successfully written the character to a temporary file alongside it. This means that if 
+	 * the save fails, the original file is untouched.
 	 * 
 	 * @param pcToBeWritten the PlayerCharacter to write
 	 * @param mode          The character's game mode.
@@ -290,24 +251,34 @@ public final class PCGIOHandler extends IOHandler
 	 */
 	public void write(PlayerCharacter pcToBeWritten, GameMode mode, List<Campaign> campaigns, File outFile)
 	{
-		final String pcgString;
-		pcgString = (new PCGVer2Creator(pcToBeWritten, mode, campaigns)).createPCGString();
-
-		// Do backup now that we have the character ready to save
-		createBackupForFile(outFile);
+		File tempFile = null;
+		try
+		{
+			tempFile = File.createTempFile('.' + outFile.getName() + '.', ".tmp", outFile.getAbsoluteFile().getParentFile());
+			try (FileWriter fileWriter = new FileWriter(tempFile, StandardCharsets.UTF_8);
+			     Writer bw = new BufferedWriter(fileWriter))
+			{
+				(new PCGVer2Creator(pcToBeWritten, mode, campaigns)).writePCG(bw);
+			}
 
-		// Now save the character
+			// Do backup now that we have the character ready to save
+			createBackupForFile(outFile);
 
-		try (FileWriter fileWriter = new FileWriter(outFile, StandardCharsets.UTF_8);
-		     Writer bw = new BufferedWriter(fileWriter))
-		{
+			// Now save the character
+			Files.move(tempFile.toPath(), outFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
 			pcToBeWritten.setDirty(false);
-			bw.write(pcgString);
 		}
 		catch (IOException ioe)
 		{
 			Logging.errorPrint("Exception in PCGIOHandler::write", ioe);
 		}
+		finally
+		{
+			if ((tempFile != null) && tempFile.exists())
+			{
+				tempFile.delete();
+			}
+		}
 	}
 
 	/*
@@ -507,25 +478,25 @@ public final class PCGIOHandler extends IOHandler
 	@SuppressWarnings("PMD.UnusedLocalVariable")
 	public static List<File> readCharacterFileList(File partyFile)
 	{
-		List<String> lines;
+		String versionInfo;
+		String charFiles;
 		try (BufferedReader bufferedReader = new BufferedReader(new FileReader(partyFile, StandardCharsets.UTF_8)))
 		{
-			lines = bufferedReader.lines().collect(Collectors.toList());
+			//Read and throw away version info. May change to actually use later
+			versionInfo = bufferedReader.readLine();
+			//read character filename data
+			charFiles = bufferedReader.readLine();
 		}
 		catch (IOException ex)
 		{
 			Logging.errorPrint("Exception in IOHandler::read when reading", ex);
 			return null;
 		}
-		if (lines.size() < 2)
+		if (charFiles == null)
 		{
 			Logging.errorPrint("Character files missing in " + partyFile.getAbsolutePath());
 			return null;
 		}
-		//Read and throw away version info. May change to actually use later
-		String versionInfo = lines.get(0);
-		//read character filename data
-		String charFiles = lines.get(1);
 		String[] files = charFiles.split(",");
 
 		List<File> fileList = new ArrayList<>();
@@ -593,22 +564,18 @@ public final class PCGIOHandler extends IOHandler
 	@Nullable
 	private SourceSelectionFacade internalReadSources(InputStream in)
 	{
-		// Read lines from file
-		final List<String> lines = readPcgLines(in);
-
-		// Verify it is ver2
-		boolean isPCGVersion2 = isPCGCersion2(lines);
+		//PlayerCharacter aPC = new PlayerCharacter();
+		final PCGParser parser = new PCGVer2Parser(null);
 
-		final String[] pcgLines = lines.toArray(new String[0]);
+		// Read lines from file, and verify it is ver2
+		boolean isPCGVersion2 = readPcgLines(parser, in);
 
 		if (isPCGVersion2)
 		{
-			//PlayerCharacter aPC = new PlayerCharacter();
-			final PCGParser parser = new PCGVer2Parser(null);
 			try
 			{
 				// Extract list of sources
-				return parser.parcePCGSourceOnly(pcgLines);
+				return parser.parcePCGSourceOnly();
 			}
 			catch (PCGParseException pcgex)
 			{
@@ -18,6 +18,8 @@
  */
 package pcgen.io;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.util.List;
 
 import pcgen.facade.core.SourceSelectionFacade;
@@ -47,6 +49,29 @@ interface PCGParser
 	 */
 	public void parsePCG(String[] lines) throws PCGParseException;
 
+	/**
+	 * Reads the lines of a document in PCG format from the given reader, ready
+	 * to be parsed by parsePCG() or parcePCGSourceOnly(). Each line other than
+	 * a blank or comment line is kept, by tag, until the document is parsed,
+	 * as the tags are parsed in a fixed order rather than the order of the
+	 * document. No list or array of all of the lines is built first.
+	 *
+	 * @param reader
+	 *            The reader from which the document is read
+	 * @return true if the document is in version 2 of the PCG format; false
+	 *         otherwise
+	 * @throws IOException
+	 *             If the reader cannot be read
+	 */
+	public boolean readPCG(BufferedReader reader) throws IOException;
+
+	/**
+	 * parse the document last read by readPCG(BufferedReader)
+	 *
+	 * @throws PCGParseException
+	 */
+	public void parsePCG() throws PCGParseException;
+
 	/**
 	 * Check the game mode and then build a list of campaigns the character 
 	 * requires to be loaded.
@@ -57,6 +82,16 @@ interface PCGParser
 	 */
 	public SourceSelectionFacade parcePCGSourceOnly(String[] lines) throws PCGParseException;
 
+	/**
+	 * Check the game mode and then build a list of campaigns the character
+	 * requires to be loaded, from the document last read by
+	 * readPCG(BufferedReader).
+	 *
+	 * @return The list of campaigns.
+	 * @throws PCGParseException If the lines are invalid
+	 */
+	public SourceSelectionFacade parcePCGSourceOnly() throws PCGParseException;
+
 	/**
 	 * @return the baseFeatPool
 	 */
@@ -22,6 +22,10 @@ package pcgen.io;
 
 import java.awt.Rectangle;
 import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -151,7 +155,33 @@ public final class PCGVer2Creator
 	 */
 	public String createPCGString()
 	{
-		// Guess that this should be about 1000
+		StringWriter writer = new StringWriter(1000);
+		try
+		{
+			writePCG(writer);
+		}
+		catch (IOException e)
+		{
+			// Cannot happen, as a StringWriter does not throw IOException
+			throw new UncheckedIOException(e);
+		}
+		return writer.toString();
+	}
+
+	/**
+	 * Writes the PCG format of the PlayerCharacter to the given Writer. Each
+	 * section is written as soon as it has been built, so the text of the
+	 * whole character is not built up before it is written.
+	 *
+	 * @param out
+	 *            The Writer to which the PCG format of the PlayerCharacter is
+	 *            written
+	 * @throws IOException
+	 *             If the Writer cannot be written to
+	 */
+	public void writePCG(Writer out) throws IOException
+	{
+		// Guess that a section should be about 1000
 		StringBuilder buffer = new StringBuilder(1000);
 
 		appendPCGVersionLine(buffer);
@@ -171,6 +201,7 @@ public final class PCGVer2Creator
 		 * hmmm, better have
 		 * CAMPAIGNS:>campaign_name<|CAMPAIGNS:>campaign_name<|...
 		 */
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("System Information", buffer); //$NON-NLS-1$
 
@@ -217,6 +248,7 @@ public final class PCGVer2Creator
 		 * INTERESTS:text
 		 * CATCHPHRASE:text
 		 */
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("Character Bio", buffer); //$NON-NLS-1$
 		appendCharacterNameLine(buffer);
@@ -257,6 +289,7 @@ public final class PCGVer2Creator
 		 * hmmm better have
 		 * STAT:STR|SCORE:18
 		 */
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("Character Attributes", buffer); //$NON-NLS-1$
 		appendStatLines(buffer);
@@ -277,6 +310,7 @@ public final class PCGVer2Creator
 		 * CLASS:Fighter|LEVEL:3|SKILLPOOL:0
 		 * CLASS:Wizard|LEVEL:1|SKILLPOOL:0|CANCASTPERDAY:1,1
 		 */
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("Character Class(es)", buffer); //$NON-NLS-1$
 		appendClassLines(buffer);
@@ -285,6 +319,7 @@ public final class PCGVer2Creator
 		 * #Character Experience
 		 * EXPERIENCE:6000
 		 */
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("Character Experience", buffer); //$NON-NLS-1$
 		appendExperienceLine(buffer);
@@ -294,10 +329,12 @@ public final class PCGVer2Creator
 		 * #Character Templates
 		 * TEMPLATESAPPLIED:If any, else this would just have the comment line, and skip to the next
 		 */
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("Character Templates", buffer); //$NON-NLS-1$
 		appendTemplateLines(buffer);
 
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("Character Region", buffer); //$NON-NLS-1$
 		appendRegionLine(buffer);
@@ -315,6 +352,7 @@ public final class PCGVer2Creator
 		 * SKILL:Alchemy|SYNERGY:....|OUTPUTORDER:1|CLASSBOUGHT:[CLASS:FIGHTER|RANKS:7|COST:2|CLASSSKILL:N]
 		 * SKILL:Spellcraft|SYNERGY:....|OUTPUTORDER:1|CLASSBOUGHT:[CLASS:WIZARD|RANKS:7|COST:1|CLASSSKILL:Y]
 		 */
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("Character Skills", buffer); //$NON-NLS-1$
 		appendSkillLines(buffer);
@@ -322,6 +360,7 @@ public final class PCGVer2Creator
 		/*
 		 * #Character Languages
 		 */
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("Character Languages", buffer); //$NON-NLS-1$
 		appendLanguageLine(buffer);
@@ -336,10 +375,12 @@ public final class PCGVer2Creator
 		 * hmmm, better have colons and pipes encoded as entities
 		 * FEAT:Alertness|TYPE:General|SAVE:BONUS&colon;SKILL&pipe;Listen,Spot&pipe;2|DESC:+2 on Listen and Spot checks
 		 */
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("Character Feats", buffer); //$NON-NLS-1$
 		appendFeatLines(buffer);
 
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("Character Abilities", buffer); //$NON-NLS-1$
 		appendAbilityLines(buffer);
@@ -347,6 +388,7 @@ public final class PCGVer2Creator
 		/*
 		 * #Character Weapon proficiencies
 		 */
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("Character Weapon proficiencies", buffer); //$NON-NLS-1$
 		appendWeaponProficiencyLines(buffer);
@@ -360,6 +402,7 @@ public final class PCGVer2Creator
 		 * EQUIPNAME:Backpack|OUTPUTORDER:9|COST:5|WT:5
 		 * EQUIPNAME:Rope (Silk)|OUTPUTORDER:-1|COST:5|WT:5
 		 */
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("Character Equipment", buffer); //$NON-NLS-1$
 		appendMoneyLine(buffer);
@@ -369,6 +412,7 @@ public final class PCGVer2Creator
 		/*
 		 * Append Temporary Bonuses
 		 */
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("Temporary Bonuses", buffer); //$NON-NLS-1$
 		appendTempBonuses(buffer);
@@ -376,6 +420,7 @@ public final class PCGVer2Creator
 		/*
 		 * Append EquipSet Temp Bonuses
 		 */
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("EquipSet Temp Bonuses", buffer); //$NON-NLS-1$
 		appendEqSetBonuses(buffer);
@@ -392,6 +437,7 @@ public final class PCGVer2Creator
  * DOMAINSPELLS:GOOD|SPELLLIST:(>list of level by level spells)
  */
 
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("Character Deity/Domain", buffer); //$NON-NLS-1$
 		appendDeityLine(buffer);
@@ -406,6 +452,7 @@ public final class PCGVer2Creator
 		 *
 		 * hmmm, moved CANCASTPERDAY to standard class line
 		 */
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("Character Spells Information", buffer); //$NON-NLS-1$
 		appendSpellBookLines(buffer);
@@ -417,6 +464,7 @@ public final class PCGVer2Creator
 		 * CHARACTERBIO:any text that's in the BIO field
 		 * CHARACTERDESC:any text that's in the BIO field
 		 */
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("Character Description/Bio/History", buffer); //$NON-NLS-1$
 		appendCharacterBioLine(buffer);
@@ -429,6 +477,7 @@ public final class PCGVer2Creator
 		/*
 		 * #Kits
 		 */
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("Kits", buffer); //$NON-NLS-1$
 		appendKitLines(buffer);
@@ -438,6 +487,7 @@ public final class PCGVer2Creator
 		 * MASTER:Mynex|TYPE:Follower|HITDICE:20|FILE:E$\DnD\dnd-chars\ravenlock.pcg
 		 * FOLLOWER:Raven|TYPE:Animal Companion|HITDICE:5|FILE:E$\DnD\dnd-chars\raven.pcg
 		 */
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("Character Master/Follower", buffer); //$NON-NLS-1$
 		appendFollowerLines(buffer);
@@ -445,6 +495,7 @@ public final class PCGVer2Creator
 		/*
 		 * #Character Notes Tab
 		 */
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("Character Notes Tab", buffer); //$NON-NLS-1$
 		appendNotesLines(buffer);
@@ -452,6 +503,7 @@ public final class PCGVer2Creator
 		/*
 		 * #AgeSet Kit selections
 		 */
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("Age Set Selections", buffer); //$NON-NLS-1$
 		appendAgeSetLine(buffer);
@@ -459,6 +511,7 @@ public final class PCGVer2Creator
 		/*
 		 * #Campaign History
 		 */
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("Campaign History", buffer); //$NON-NLS-1$
 		appendCampaignHistoryLines(buffer);
@@ -466,6 +519,7 @@ public final class PCGVer2Creator
 		/*
 		 * #Suppressed fields
 		 */
+		flush(buffer, out);
 		appendNewline(buffer);
 		appendComment("Suppressed Biography Fields", buffer); //$NON-NLS-1$
 		appendSuppressBioFieldLines(buffer);
@@ -476,7 +530,14 @@ public final class PCGVer2Creator
 		appendNewline(buffer);
 
 		// All done!
-		return buffer.toString();
+		flush(buffer, out);
+		out.flush();
+	}
+
+	private static void flush(StringBuilder buffer, Writer out) throws IOException
+	{
+		out.append(buffer);
+		buffer.setLength(0);
 	}
 
 	private void appendCampaignLine(StringBuilder buffer)
@@ -21,7 +21,9 @@
 package pcgen.io;
 
 import java.awt.Rectangle;
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -223,7 +225,26 @@ final class PCGVer2Parser implements PCGParser
 	public void parsePCG(String[] lines) throws PCGParseException
 	{
 		buildPcgLineCache(lines);
+		parsePCG();
+	}
+
+	@Override
+	public boolean readPCG(BufferedReader reader) throws IOException
+	{
+		cache = new Cache();
+		boolean isPCGVersion2 = false;
+		String line;
+		while ((line = reader.readLine()) != null)
+		{
+			isPCGVersion2 |= line.startsWith(IOConstants.TAG_PCGVERSION);
+			addLine(line);
+		}
+		return isPCGVersion2;
+	}
 
+	@Override
+	public void parsePCG() throws PCGParseException
+	{
 		parseCachedLines();
 		resolveLanguages();
 	}
@@ -240,7 +261,12 @@ final class PCGVer2Parser implements PCGParser
 	public SourceSelectionFacade parcePCGSourceOnly(String[] lines) throws PCGParseException
 	{
 		buildPcgLineCache(lines);
+		return parcePCGSourceOnly();
+	}
 
+	@Override
+	public SourceSelectionFacade parcePCGSourceOnly() throws PCGParseException
+	{
 		/*
 		 * VERSION:x.x.x
 		 */
@@ -304,10 +330,16 @@ final class PCGVer2Parser implements PCGParser
 
 		for (String line : lines)
 		{
-			if ((!line.trim().isEmpty()) && !isComment(line))
-			{
-				cacheLine(line.trim());
-			}
+			addLine(line);
+		}
+	}
+
+	private void addLine(String line)
+	{
+		String trimmed = line.trim();
+		if (!trimmed.isEmpty() && !isComment(trimmed))
+		{
+			cacheLine(trimmed);
 		}
 	}
 
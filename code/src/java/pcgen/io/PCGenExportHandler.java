@@ -7,6 +7,9 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.StringTokenizer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -16,6 +19,26 @@ import pcgen.util.Logging;
 
 public class PCGenExportHandler extends ExportHandler
 {
+	/**
+	 * The maximum number of parsed templates held.
+	 */
+	private static final int MAX_PARSED_TEMPLATES = 16;
+
+	/**
+	 * The parsed templates, by template file, least recently used first.
+	 * Parsed templates are never modified once built, so they can be shared
+	 * between exports.
+	 */
+	private static final Map<File, CompiledTemplate> TEMPLATE_CACHE =
+			Collections.synchronizedMap(new LinkedHashMap<File, CompiledTemplate>(16, 0.75f, true)
+			{
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<File, CompiledTemplate> eldest)
+				{
+					return size() > MAX_PARSED_TEMPLATES;
+				}
+			});
+
 	/**
 	 * Constructor.  Populates the token map (a list of possible output tokens) and
 	 * sets the character sheet template we are using.
@@ -33,19 +56,12 @@ public class PCGenExportHandler extends ExportHandler
 		// Set an output filter based on the type of template in use.
 		FileAccess.setCurrentOutputFilter(getTemplateFile().getName());
 
-		try (FileInputStream fis = new FileInputStream(getTemplateFile());
-			 InputStreamReader isr = new InputStreamReader(fis, StandardCharsets.UTF_8);
-			 BufferedReader br = new BufferedReader(isr))
+		// The sheet tests the same prerequisites many times, so reuse the results
+		aPC.getPrereqCache().open();
+		try
 		{
-			// A Buffer to hold the result of the preparation
-			CharSequence template = prepareTemplate(br);
-
-			// Create a tokenizer based on EOL characters
-			// 03-Nov-2008 Karianna, changed to use line separator instead of /r/n
-			final StringTokenizer tokenizer = new StringTokenizer(template.toString(), Constants.LINE_SEPARATOR, false);
-
 			// Get FOR loops and IIF statements
-			final FORNode root = parseFORsAndIIFs(tokenizer);
+			final FORNode root = getCompiledTemplate();
 
 			// TODO Not sure what these lines are for
 			loopVariables.put(null, "0");
@@ -62,8 +78,59 @@ public class PCGenExportHandler extends ExportHandler
 		{
 			Logging.errorPrint("Error in ExportHandler::write", exc);
 		}
+		finally
+		{
+			aPC.getPrereqCache().close();
+		}
+	}
+
+
+	/**
+	 * Return the parsed tree of FOR and IIF sections for the template. The
+	 * tree is shared by all exports using the same template, and is only
+	 * parsed again if the template file has been changed.
+	 *
+	 * @return The root of the parsed template
+	 * @throws IOException If the template cannot be read
+	 */
+	private FORNode getCompiledTemplate() throws IOException
+	{
+		File file = getTemplateFile().getAbsoluteFile();
+		long lastModified = file.lastModified();
+		long length = file.length();
+		CompiledTemplate compiled = TEMPLATE_CACHE.get(file);
+		if ((compiled == null) || (compiled.lastModified != lastModified) || (compiled.length != length))
+		{
+			compiled = new CompiledTemplate(lastModified, length, compileTemplate(file));
+			TEMPLATE_CACHE.put(file, compiled);
+		}
+		return compiled.root;
 	}
 
+	/**
+	 * Read and parse a template into a tree of FOR and IIF sections and
+	 * plain template lines.
+	 *
+	 * @param file The template file
+	 * @return The root of the parsed template
+	 * @throws IOException If the template cannot be read
+	 */
+	private FORNode compileTemplate(File file) throws IOException
+	{
+		try (FileInputStream fis = new FileInputStream(file);
+			 InputStreamReader isr = new InputStreamReader(fis, StandardCharsets.UTF_8);
+			 BufferedReader br = new BufferedReader(isr))
+		{
+			// A Buffer to hold the result of the preparation
+			CharSequence template = prepareTemplate(br);
+
+			// Create a tokenizer based on EOL characters
+			// 03-Nov-2008 Karianna, changed to use line separator instead of /r/n
+			final StringTokenizer tokenizer = new StringTokenizer(template.toString(), Constants.LINE_SEPARATOR, false);
+
+			return parseFORsAndIIFs(tokenizer);
+		}
+	}
 
 	/**
 	 * A helper method to prepare the template for exporting
@@ -140,12 +207,12 @@ public class PCGenExportHandler extends ExportHandler
 					}
 					else
 					{
-						root.addChild(line);
+						root.addChild(new TemplateLine(line));
 					}
 				}
 				else
 				{
-					root.addChild(line);
+					root.addChild(new TemplateLine(line));
 				}
 			}
 			// If |IIF( is found and there is no ',' character on that line
@@ -158,11 +225,27 @@ public class PCGenExportHandler extends ExportHandler
 			// Else it's plain text so then just add it
 			else
 			{
-				root.addChild(line);
+				root.addChild(new TemplateLine(line));
 			}
 		}
 
 		return root;
 	}
 
+	/**
+	 * A parsed template, along with the state of the file it was parsed from.
+	 */
+	private static final class CompiledTemplate
+	{
+		private final long lastModified;
+		private final long length;
+		private final FORNode root;
+
+		private CompiledTemplate(long lastModified, long length, FORNode root)
+		{
+			this.lastModified = lastModified;
+			this.length = length;
+			this.root = root;
+		}
+	}
 }
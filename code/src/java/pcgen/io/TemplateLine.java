@@ -0,0 +1,169 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.io;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringTokenizer;
+
+/**
+ * {@code TemplateLine} is a line of a character sheet template that has been
+ * split into its literal text and its |TOKEN| sections, so that the split
+ * does not need to be repeated every time the line is output.
+ *
+ * A line may refer to the variables of enclosing FOR loops, which are
+ * substituted into the text before it is output. Such a line is still split
+ * in advance, but the split is only used if no substitution takes place.
+ */
+final class TemplateLine
+{
+	private final String text;
+	private final List<Segment> segments;
+
+	/**
+	 * Constructor
+	 *
+	 * @param text The text of the template line
+	 */
+	TemplateLine(String text)
+	{
+		this.text = text;
+		this.segments = split(text);
+	}
+
+	/**
+	 * Return the text of the line
+	 * @return the text of the line
+	 */
+	public String text()
+	{
+		return text;
+	}
+
+	/**
+	 * Return TRUE if the line contains the name of any of the given loop
+	 * variables. The parameters of a loop (such as var!MIN) start with the
+	 * name of its variable, so they need not be checked separately.
+	 *
+	 * @param variables The names of the loop variables currently defined
+	 * @return TRUE if the line may refer to the given loop variables
+	 */
+	public boolean refersTo(Collection<?> variables)
+	{
+		for (Object variable : variables)
+		{
+			if ((variable != null) && text.contains(variable.toString()))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Return the literal text and token sections of the line, in order
+	 * @return the literal text and token sections of the line
+	 */
+	public List<Segment> segments()
+	{
+		return segments;
+	}
+
+	/**
+	 * Split a line in the same way as it has always been processed by
+	 * ExportHandler. Literal text and tokens alternate, starting with a token
+	 * if the line starts with a pipe. A line that starts with a pipe and has
+	 * no other pipe is malformed and is ignored, as is a final token that is
+	 * not closed by a pipe.
+	 *
+	 * @param aLine The line to split
+	 * @return The sections of the line
+	 */
+	static List<Segment> split(String aLine)
+	{
+		int lastIndex = aLine.lastIndexOf('|');
+
+		// If there are no pipes and it's a non empty string, it is all text
+		if (lastIndex < 0)
+		{
+			return aLine.isEmpty() ? Collections.emptyList()
+				: Collections.singletonList(new Segment(aLine, false));
+		}
+		if (lastIndex == 0)
+		{
+			return Collections.emptyList();
+		}
+
+		List<Segment> result = new ArrayList<>();
+		final StringTokenizer aTok = new StringTokenizer(aLine, "|", false);
+		boolean inPipe = aLine.charAt(0) == '|';
+		boolean lastIsPipe = aLine.charAt(aLine.length() - 1) == '|';
+
+		while (aTok.hasMoreTokens())
+		{
+			String tok = aTok.nextToken();
+
+			if (!inPipe)
+			{
+				result.add(new Segment(tok, false));
+			}
+			else if (aTok.hasMoreTokens() || lastIsPipe)
+			{
+				result.add(new Segment(tok, true));
+			}
+			if (aTok.hasMoreTokens())
+			{
+				inPipe = !inPipe;
+			}
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * A section of a template line, either literal text or a token.
+	 */
+	static final class Segment
+	{
+		private final String text;
+		private final boolean token;
+
+		private Segment(String text, boolean token)
+		{
+			this.text = text;
+			this.token = token;
+		}
+
+		/**
+		 * Return the text of the section, without the surrounding pipes
+		 * @return the text of the section
+		 */
+		public String text()
+		{
+			return text;
+		}
+
+		/**
+		 * Return TRUE if the section is a token to be replaced
+		 * @return TRUE if the section is a token to be replaced
+		 */
+		public boolean isToken()
+		{
+			return token;
+		}
+	}
+}
@@ -51,12 +51,11 @@ public class AbilityListToken extends Token
 {
 	private static final String DELIM = ", ";
 
-	//TODO: Should these be static to enable the caching?
-	private MapToList<Ability, CNAbility> abilityMap = null;
-	private PlayerCharacter lastPC = null;
-	private int lastPCSerial;
-	private String lastType = "";
-	private AbilityCategory lastCategory = null;
+	/**
+	 * The abilities last listed by each thread. Output tokens are shared by
+	 * all threads exporting characters, so the list is kept per thread.
+	 */
+	private final ThreadLocal<AbilityMapCache> cache = ThreadLocal.withInitial(AbilityMapCache::new);
 
 	/** Token Name */
 	public static final String TOKENNAME = "ABILITYLIST";
@@ -104,14 +103,15 @@ public class AbilityListToken extends Token
 		// If we haven't cached some of the processign data, then do so, this is so that 
 		// if the Output Sheet loops over this token we don't process one-off stuff more than 
 		// once
-		if ((lastPC != pc) || !aCategory.equals(lastCategory) || (lastPCSerial != pc.getSerial())
-			|| !tokenString.equals(lastType))
+		AbilityMapCache cached = cache.get();
+		if ((cached.pc != pc) || !aCategory.equals(cached.category) || (cached.pcSerial != pc.getSerial())
+			|| !tokenString.equals(cached.type))
 		{
-			abilityMap = getAbilityList(pc, aCategory);
-			lastPC = pc;
-			lastCategory = aCategory;
-			lastPCSerial = pc.getSerial();
-			lastType = tokenString;
+			cached.abilityMap = getAbilityList(pc, aCategory);
+			cached.pc = pc;
+			cached.category = aCategory;
+			cached.pcSerial = pc.getSerial();
+			cached.type = tokenString;
 		}
 
 		// Default values
@@ -144,7 +144,7 @@ public class AbilityListToken extends Token
 		}
 
 		MapToList<Ability, CNAbility> aList =
-				AbilityToken.buildAbilityList(types, negate, null, View.VISIBLE_EXPORT, aspect, abilityMap);
+				AbilityToken.buildAbilityList(types, negate, null, View.VISIBLE_EXPORT, aspect, cached.abilityMap);
 
 		boolean needComma = false;
 		for (Ability ability : aList.getKeySet())
@@ -187,4 +187,15 @@ public class AbilityListToken extends Token
 		return listOfAbilities;
 	}
 
+	/**
+	 * The abilities last listed by a thread, and what they were listed for.
+	 */
+	private static final class AbilityMapCache
+	{
+		private MapToList<Ability, CNAbility> abilityMap = null;
+		private PlayerCharacter pc = null;
+		private int pcSerial;
+		private String type = "";
+		private AbilityCategory category = null;
+	}
 }
@@ -76,23 +76,12 @@ public class AbilityToken extends Token
 	/** Token Name */
 	public static final String TOKENNAME = "ABILITY";
 
-	/** The list of abilities to get the ability from */
-	private MapToList<Ability, CNAbility> abilityList = new HashMapToList<>();
-
-	/** The current visibility filtering to apply */
-	private View view = View.VISIBLE_EXPORT;
-
-	/** The cached PC */
-	private PlayerCharacter cachedPC = null;
-
-	/** The cached PC serial (serial holds whether a PC has been changed) */
-	private int cachedPcSerial = 0;
-
-	/** The last token in the list of abilities */
-	private String lastToken = null;
-
-	/** The last ability category in the list of abilities */
-	private AbilityCategory lastCategory = null;
+	/**
+	 * The abilities last listed by each thread, and the visibility filtering
+	 * it is applying. Output tokens are shared by all threads exporting
+	 * characters, so this state is kept per thread.
+	 */
+	private final ThreadLocal<AbilityListState> state = ThreadLocal.withInitial(AbilityListState::new);
 
 	/**
 	 * Get the TOKENNAME
@@ -141,19 +130,20 @@ public class AbilityToken extends Token
 	protected String getTokenForCategory(String tokenSource, PlayerCharacter pc, ExportHandler eh,
 		final StringTokenizer aTok, final String tokenString, final AbilityCategory aCategory)
 	{
-		boolean cacheAbilityProcessingData = (cachedPC != pc || !aCategory.equals(lastCategory)
-			|| cachedPcSerial != pc.getSerial() || !tokenString.equals(lastToken));
+		AbilityListState cached = state.get();
+		boolean cacheAbilityProcessingData = (cached.pc != pc || !aCategory.equals(cached.category)
+			|| cached.pcSerial != pc.getSerial() || !tokenString.equals(cached.token));
 
 		// As this method can effectively be called by an OS FOR token, there 
 		// is a performance saving in caching some of the one-off processing data 
 		if (cacheAbilityProcessingData)
 		{
 			// Overridden by subclasses to return the right list.
-			abilityList = getAbilityList(pc, aCategory);
-			cachedPC = pc;
-			lastCategory = aCategory;
-			cachedPcSerial = pc.getSerial();
-			lastToken = tokenString;
+			cached.abilityList = getAbilityList(pc, aCategory);
+			cached.pc = pc;
+			cached.category = aCategory;
+			cached.pcSerial = pc.getSerial();
+			cached.token = tokenString;
 		}
 
 		// Ability Types Filter List
@@ -194,13 +184,13 @@ public class AbilityToken extends Token
 				switch (bString)
 				{
 					case "VISIBLE":
-						view = View.VISIBLE_EXPORT;
+						cached.view = View.VISIBLE_EXPORT;
 						continue;
 					case "HIDDEN":
-						view = View.HIDDEN_EXPORT;
+						cached.view = View.HIDDEN_EXPORT;
 						continue;
 					case "ALL":
-						view = View.ALL;
+						cached.view = View.ALL;
 						continue;
 					default:
 						abilityType = bString;
@@ -272,11 +262,12 @@ public class AbilityToken extends Token
 		// Build the list of abilities that we should display
 		if (key == null)
 		{
-			aList = AbilityToken.buildAbilityList(types, negate, abilityType, view, aspect, abilityList);
+			aList = AbilityToken.buildAbilityList(types, negate, abilityType, cached.view, aspect,
+				cached.abilityList);
 		}
 		else
 		{
-			aList = AbilityToken.buildAbilityList(key, view, abilityList);
+			aList = AbilityToken.buildAbilityList(key, cached.view, cached.abilityList);
 		}
 
 		// Build the return string to give to the OutputSheet
@@ -742,7 +733,32 @@ public class AbilityToken extends Token
 	 */
 	protected void setView(View v)
 	{
-		this.view = v;
+		state.get().view = v;
 	}
 
+	/**
+	 * The abilities last listed by a thread and what they were listed for,
+	 * along with the visibility filtering the thread is applying.
+	 */
+	private static final class AbilityListState
+	{
+		/** The list of abilities to get the ability from */
+		private MapToList<Ability, CNAbility> abilityList = new HashMapToList<>();
+
+		/** The current visibility filtering to apply */
+		private View view = View.VISIBLE_EXPORT;
+
+		/** The cached PC */
+		private PlayerCharacter pc = null;
+
+		/** The cached PC serial (serial holds whether a PC has been changed) */
+		private int pcSerial = 0;
+
+
+		/** The last token in the list of abilities */
+		private String token = null;
+
+		/** The last ability category in the list of abilities */
+		private AbilityCategory category = null;
+	}
 }
@@ -53,10 +53,13 @@ public class EqToken extends Token
 {
 	/** Token Name */
 	public static final String TOKENNAME = "EQ";
-	private static String cachedString = null;
-	private static List<Equipment> cachedList = null;
-	private static int cachedSerial = 0;
-	private static PlayerCharacter cachedPC = null;
+
+	/**
+	 * The last list of equipment built by each thread. Output tokens are
+	 * shared by all threads exporting characters, so the list is kept per
+	 * thread.
+	 */
+	private final ThreadLocal<EquipmentListCache> cache = ThreadLocal.withInitial(EquipmentListCache::new);
 
 	@Override
 	public String getTokenName()
@@ -127,14 +130,15 @@ public class EqToken extends Token
 		List<Equipment> eqList;
 		StringTokenizer aTok;
 		int temp = -1;
-		if (comparatorString.equals(cachedString) && pc == cachedPC && pc.getSerial() == cachedSerial)
+		EquipmentListCache cached = cache.get();
+		if (comparatorString.equals(cached.string) && pc == cached.pc && pc.getSerial() == cached.serial)
 		{
 			//			cacheHit++;
 			//			if (cacheHit%100==0) {
 			//				System.out.println("cacheHit"+cacheHit + ", cacheMiss="+cacheMiss);
 			//			}
 
-			eqList = cachedList;
+			eqList = cached.list;
 			tokenSource = tokenSource.substring(comparatorString.length());
 			aTok = new StringTokenizer(tokenSource, ".", false);
 			String token = aTok.nextToken();
@@ -212,10 +216,10 @@ public class EqToken extends Token
 
 			}
 
-			cachedList = eqList;
-			cachedString = comparatorString;
-			cachedPC = pc;
-			cachedSerial = pc.getSerial();
+			cached.list = eqList;
+			cached.string = comparatorString;
+			cached.pc = pc;
+			cached.serial = pc.getSerial();
 		}
 
 		// Now that we have the list, get the token for the appropriate element
@@ -1355,4 +1359,14 @@ public class EqToken extends Token
 
 	}
 
+	/**
+	 * The last list of equipment built by a thread, and what it was built for.
+	 */
+	private static final class EquipmentListCache
+	{
+		private String string;
+		private List<Equipment> list;
+		private int serial;
+		private PlayerCharacter pc;
+	}
 }
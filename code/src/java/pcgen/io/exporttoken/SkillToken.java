@@ -80,10 +80,9 @@ public class SkillToken extends Token
 	public static final int SKILL_SIZE = 16;
 	public static final int SKILL_CLASSES = 17;
 
-	// Cache the skill list as it is expensive to build
-	private List<Skill> cachedSkillList = null;
-	private PlayerCharacter lastPC = null;
-	private int lastPCSerial;
+	// Cache the skill list as it is expensive to build. Output tokens are
+	// shared by all threads exporting characters, so it is kept per thread.
+	private final ThreadLocal<SkillListCache> cache = ThreadLocal.withInitial(SkillListCache::new);
 
 	@Override
 	public String getTokenName()
@@ -154,18 +153,19 @@ public class SkillToken extends Token
 		return skill;
 	}
 
-	private synchronized List<Skill> getSkillList(PlayerCharacter pc)
+	private List<Skill> getSkillList(PlayerCharacter pc)
 	{
-		if (pc == lastPC && pc.getSerial() == lastPCSerial)
+		SkillListCache cached = cache.get();
+		if (pc == cached.pc && pc.getSerial() == cached.serial)
 		{
-			return cachedSkillList;
+			return cached.skills;
 		}
 
 		final List<Skill> pcSkills =
 				SkillDisplay.getSkillListInOutputOrder(pc, pc.getDisplay().getPartialSkillList(View.VISIBLE_EXPORT));
-		cachedSkillList = pcSkills;
-		lastPC = pc;
-		lastPCSerial = pc.getSerial();
+		cached.skills = pcSkills;
+		cached.pc = pc;
+		cached.serial = pc.getSerial();
 		return pcSkills;
 	}
 
@@ -621,4 +621,14 @@ public class SkillToken extends Token
 			return filter;
 		}
 	}
+
+	/**
+	 * The last skill list built by a thread, and the character it was built for.
+	 */
+	private static final class SkillListCache
+	{
+		private List<Skill> skills;
+		private PlayerCharacter pc;
+		private int serial;
+	}
 }
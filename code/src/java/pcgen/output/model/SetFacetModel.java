@@ -18,7 +18,9 @@
 package pcgen.output.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 
 import pcgen.cdom.base.SetFacet;
@@ -53,6 +55,19 @@ public class SetFacetModel<T> implements TemplateSequenceModel, Iterable<T>
 	 */
 	private final SetFacet<CharID, T> facet;
 
+	/**
+	 * The contents of the SetFacet, captured the first time this model is
+	 * read, so that a FreeMarker list over this model does not copy the
+	 * contents of the SetFacet for each item. A SetFacetModel is built for a
+	 * single output, so every view of this model reads the same contents.
+	 */
+	private List<T> contents;
+
+	/**
+	 * The wrapped items of the SetFacet, by index, as they are requested.
+	 */
+	private TemplateModel[] wrapped;
+
 	/**
 	 * Constructs a new SetFacetModel from the given CharID and SetFacet
 	 * 
@@ -74,7 +89,7 @@ public class SetFacetModel<T> implements TemplateSequenceModel, Iterable<T>
 	@Override
 	public Iterator<T> iterator()
 	{
-		return facet.getSet(id).iterator();
+		return Collections.unmodifiableList(getContents()).iterator();
 	}
 
 	@Override
@@ -84,18 +99,40 @@ public class SetFacetModel<T> implements TemplateSequenceModel, Iterable<T>
 		{
 			return null;
 		}
-		ArrayList<T> list = new ArrayList<>(facet.getSet(id));
+		List<T> list = getContents();
 		if (index >= list.size())
 		{
 			return null;
 		}
-		return WRAPPER_FACET.wrap(id, list.get(index));
+		TemplateModel model = wrapped[index];
+		if (model == null)
+		{
+			model = WRAPPER_FACET.wrap(id, list.get(index));
+			wrapped[index] = model;
+		}
+		return model;
 	}
 
 	@Override
 	public int size() throws TemplateModelException
 	{
-		return facet.getCount(id);
+		return getContents().size();
+	}
+
+	/**
+	 * Returns the contents of the SetFacet, capturing them the first time
+	 * this model is read.
+	 * 
+	 * @return The contents of the SetFacet for the CharID of this model
+	 */
+	private List<T> getContents()
+	{
+		if (contents == null)
+		{
+			contents = new ArrayList<>(facet.getSet(id));
+			wrapped = new TemplateModel[contents.size()];
+		}
+		return contents;
 	}
 
 }
@@ -0,0 +1,213 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.output.publish;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import pcgen.base.util.DoubleKeyMap;
+import pcgen.cdom.enumeration.CharID;
+import pcgen.output.base.ModelFactory;
+
+import freemarker.template.SimpleScalar;
+import freemarker.template.TemplateCollectionModel;
+import freemarker.template.TemplateHashModelEx;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+import freemarker.template.TemplateModelIterator;
+
+/**
+ * A LazyDataModel is the PlayerCharacter data model for a single output of a
+ * character. Rather than generating a model from every registered ModelFactory
+ * up front, each model is generated the first time it is requested, and is then
+ * reused for the remainder of the output.
+ *
+ * A LazyDataModel should therefore not be held beyond a single output, as the
+ * models it has generated are not refreshed.
+ */
+final class LazyDataModel implements TemplateHashModelEx
+{
+
+	/**
+	 * The CharID of the PlayerCharacter for which models are generated.
+	 */
+	private final CharID id;
+
+	/**
+	 * The ModelFactory objects registered with OutputDB.
+	 */
+	private final DoubleKeyMap<Object, Object, ModelFactory> factories;
+
+	/**
+	 * The first part of the names of the models in this LazyDataModel, or null
+	 * if this is the root of the data model.
+	 */
+	private final String primaryKey;
+
+	/**
+	 * The models generated so far, by name. A name mapped to null has been
+	 * requested but has no model.
+	 */
+	private final Map<String, TemplateModel> models = new HashMap<>();
+
+	/**
+	 * Constructs a new LazyDataModel for the given CharID.
+	 *
+	 * @param id
+	 *            The CharID of the PlayerCharacter for which models are
+	 *            generated
+	 * @param factories
+	 *            The ModelFactory objects registered with OutputDB
+	 * @param primaryKey
+	 *            The first part of the names of the models in this
+	 *            LazyDataModel, or null for the root of the data model
+	 */
+	LazyDataModel(CharID id, DoubleKeyMap<Object, Object, ModelFactory> factories, String primaryKey)
+	{
+		this.id = id;
+		this.factories = factories;
+		this.primaryKey = primaryKey;
+	}
+
+	@Override
+	public TemplateModel get(String key) throws TemplateModelException
+	{
+		TemplateModel model = models.get(key);
+		if ((model == null) && !models.containsKey(key))
+		{
+			model = generate(key);
+			models.put(key, model);
+		}
+		return model;
+	}
+
+	private TemplateModel generate(String key)
+	{
+		if (key.isEmpty())
+		{
+			return null;
+		}
+		if (primaryKey != null)
+		{
+			ModelFactory modelFactory = factories.get(primaryKey, key);
+			return (modelFactory == null) ? null : modelFactory.generate(id);
+		}
+		ModelFactory modelFactory = factories.get(key, "");
+		if (modelFactory != null)
+		{
+			return modelFactory.generate(id);
+		}
+		if (factories.containsKey(key))
+		{
+			return new LazyDataModel(id, factories, key);
+		}
+		return null;
+	}
+
+	private List<String> getKeys()
+	{
+		List<String> keys = new ArrayList<>();
+		if (primaryKey == null)
+		{
+			for (Object key : factories.getKeySet())
+			{
+				keys.add(key.toString());
+			}
+		}
+		else
+		{
+			for (Object key : factories.getSecondaryKeySet(primaryKey))
+			{
+				String keyString = key.toString();
+				if (!keyString.isEmpty())
+				{
+					keys.add(keyString);
+				}
+			}
+		}
+		return keys;
+	}
+
+	@Override
+	public boolean isEmpty()
+	{
+		return getKeys().isEmpty();
+	}
+
+	@Override
+	public int size()
+	{
+		return getKeys().size();
+	}
+
+	@Override
+	public TemplateCollectionModel keys()
+	{
+		List<TemplateModel> keyModels = new ArrayList<>();
+		for (String key : getKeys())
+		{
+			keyModels.add(new SimpleScalar(key));
+		}
+		return new ModelCollection(keyModels);
+	}
+
+	@Override
+	public TemplateCollectionModel values() throws TemplateModelException
+	{
+		List<TemplateModel> valueModels = new ArrayList<>();
+		for (String key : getKeys())
+		{
+			valueModels.add(get(key));
+		}
+		return new ModelCollection(valueModels);
+	}
+
+	/**
+	 * A TemplateCollectionModel over a List of TemplateModel objects.
+	 */
+	private static final class ModelCollection implements TemplateCollectionModel
+	{
+		private final List<TemplateModel> contents;
+
+		private ModelCollection(List<TemplateModel> contents)
+		{
+			this.contents = contents;
+		}
+
+		@Override
+		public TemplateModelIterator iterator()
+		{
+			Iterator<TemplateModel> it = contents.iterator();
+			return new TemplateModelIterator()
+			{
+				@Override
+				public TemplateModel next()
+				{
+					return it.next();
+				}
+
+				@Override
+				public boolean hasNext()
+				{
+					return it.hasNext();
+				}
+			};
+		}
+	}
+}
@@ -33,6 +33,7 @@ import pcgen.output.factory.ItemModelFactory;
 import pcgen.output.factory.SetModelFactory;
 import pcgen.output.model.BooleanOptionModel;
 
+import freemarker.template.TemplateHashModelEx;
 import freemarker.template.TemplateModel;
 
 /**
@@ -156,6 +157,24 @@ public final class OutputDB
 		return input;
 	}
 
+	/**
+	 * Builds a lazy PlayerCharacter data model for the given CharID. Unlike
+	 * buildDataModel, each model is only generated the first time it is
+	 * requested, so output that uses few models does not pay for the rest.
+	 * Generated models are reused for the life of the returned data model, so
+	 * it should be built once for each output.
+	 * 
+	 * @param id
+	 *            The CharID for which the data model should be built
+	 * @return A TemplateHashModelEx of the data model for the PlayerCharacter
+	 *         identified by the given CharID
+	 */
+	public static TemplateHashModelEx buildLazyDataModel(CharID id)
+	{
+		Objects.requireNonNull(id, "CharID may not be null");
+		return new LazyDataModel(id, outModels, null);
+	}
+
 	private static void ensureMap(Map<String, Object> input, String k1String)
 	{
 		if (!input.containsKey(k1String))
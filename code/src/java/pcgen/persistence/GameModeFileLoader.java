@@ -40,6 +40,7 @@ import pcgen.persistence.lst.LoadInfoLoader;
 import pcgen.persistence.lst.LocationLoader;
 import pcgen.persistence.lst.LstFileLoader;
 import pcgen.persistence.lst.LstLineFileLoader;
+import pcgen.persistence.lst.LstLineSplitter;
 import pcgen.persistence.lst.MigrationLoader;
 import pcgen.persistence.lst.PointBuyLoader;
 import pcgen.persistence.lst.SimpleLoader;
@@ -275,7 +276,7 @@ public class GameModeFileLoader extends PCGenTask
 			return;
 		}
 
-		String[] fileLines = data.split(LstFileLoader.LINE_SEPARATOR_REGEXP);
+		String[] fileLines = LstLineSplitter.split(data, false);
 		String xpTable = "";
 		for (int i = 0; i < fileLines.length; i++)
 		{
@@ -324,7 +325,7 @@ public class GameModeFileLoader extends PCGenTask
 			return null;
 		}
 
-		String[] fileLines = data.split(LstFileLoader.LINE_SEPARATOR_REGEXP);
+		String[] fileLines = LstLineSplitter.split(data, false);
 
 		GameMode gameMode = new GameMode(aName);
 		SystemCollections.addToGameModeList(gameMode);
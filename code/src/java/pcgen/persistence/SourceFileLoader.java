@@ -39,6 +39,7 @@ import pcgen.base.util.AbstractMapToList;
 import pcgen.base.util.FormatManager;
 import pcgen.base.util.HashMapToList;
 import pcgen.cdom.base.Constants;
+import pcgen.cdom.base.LoadInterner;
 import pcgen.cdom.content.ContentDefinition;
 import pcgen.cdom.content.fact.FactDefinition;
 import pcgen.cdom.content.factset.FactSetDefinition;
@@ -478,6 +479,7 @@ public class SourceFileLoader extends PCGenTask implements Observer
 		// 21 Nov 2002: Put load inside a try/finally block to make sure
 		// that file lines were cleared even if an exception occurred.
 		// -- sage_sam
+		LoadInterner.setActive(new LoadInterner());
 		try
 		{
 			LoadContext context = Globals.getContext();
@@ -514,6 +516,11 @@ public class SourceFileLoader extends PCGenTask implements Observer
 			Logging.errorPrint("Exception loading files.", thr);
 			uiDelegate.showErrorMessage(Constants.APPLICATION_NAME, "Failed to load campaigns, see log for details.");
 		}
+		finally
+		{
+			Logging.log(Logging.INFO, LoadInterner.getActive().getReport());
+			LoadInterner.setActive(null);
+		}
 	}
 
 	private void loadCampaigns(GameMode gamemode, final List<Campaign> aSelectedCampaignsList, LoadContext context)
@@ -0,0 +1,236 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.persistence.lst;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
+
+import pcgen.persistence.PersistenceLayerException;
+import pcgen.system.PCGenSettings;
+
+/**
+ * LstFileReadAhead reads and pre-processes the files of a single loader phase
+ * on a pool of worker threads.
+ *
+ * <p>
+ * Only the work that does not touch the LoadContext (reading the file and
+ * splitting it into lines) is done on the workers. The results are handed back
+ * one file at a time through {@link #get(URI)}, so the loader still applies
+ * each file to the LoadContext on the calling thread and in the original
+ * source order. This keeps MOD/COPY/FORGET behavior identical to a serial
+ * load.
+ *
+ * <p>
+ * At most {@link #MAX_READ_AHEAD} files are read ahead of the loader, so only
+ * that many files are held in memory at a time. A loader must call
+ * {@link #close()} once it is done, including when the load fails, so that
+ * reads which are no longer needed are cancelled and the workers are stopped.
+ *
+ * <p>
+ * If parallel loading is disabled in the options, nothing is submitted in
+ * advance and each file is read on the calling thread when it is requested.
+ *
+ * @param <R> The type of the pre-processed file contents
+ */
+public final class LstFileReadAhead<R>
+{
+
+	/**
+	 * The number of files read ahead of the loader: enough to keep every
+	 * worker busy while the loader applies a file.
+	 */
+	static final int MAX_READ_AHEAD = Runtime.getRuntime().availableProcessors() + 1;
+
+	private static final ThreadFactory THREAD_FACTORY = r -> {
+		Thread thread = new Thread(r);
+		thread.setDaemon(true);
+		thread.setName("lst-read-ahead");
+		return thread;
+	};
+
+	/**
+	 * The processor applied to the contents of each file once it has been
+	 * read. Must not depend on any state that is not thread-safe.
+	 */
+	private final Function<String, R> processor;
+
+	/**
+	 * The files to be read, in load order, and the position of each.
+	 */
+	private final List<URI> files = new ArrayList<>();
+	private final Map<URI, Integer> positions = new HashMap<>();
+
+	/**
+	 * The files which have been submitted but not yet taken by the loader.
+	 */
+	private final Map<URI, Future<R>> pending = new HashMap<>();
+
+	/**
+	 * The position of the next file to be submitted.
+	 */
+	private int nextFile = 0;
+
+	/**
+	 * The workers reading the files, or null if files are not read ahead.
+	 */
+	private ExecutorService executor = null;
+
+	/**
+	 * Constructs a new LstFileReadAhead for the given files and, if parallel
+	 * loading is enabled, starts reading the first of them.
+	 *
+	 * @param fileList
+	 *            The files that will be loaded, in load order
+	 * @param processor
+	 *            The thread-safe processor to be applied to the contents of
+	 *            each file. This is not called if the file could not be read.
+	 */
+	public LstFileReadAhead(List<CampaignSourceEntry> fileList, Function<String, R> processor)
+	{
+		this.processor = Objects.requireNonNull(processor);
+		if (isEnabled())
+		{
+			for (CampaignSourceEntry cse : fileList)
+			{
+				if ((cse != null) && (positions.putIfAbsent(cse.getURI(), files.size()) == null))
+				{
+					files.add(cse.getURI());
+				}
+			}
+			if (!files.isEmpty())
+			{
+				executor = Executors.newFixedThreadPool(Math.min(files.size(),
+					Runtime.getRuntime().availableProcessors()), THREAD_FACTORY);
+				submitAhead();
+			}
+		}
+	}
+
+	/**
+	 * Returns the pre-processed contents of the file at the given URI, waiting
+	 * for a worker to finish reading it if necessary. Files earlier in the load
+	 * order which have not been requested are taken to have been skipped, and
+	 * are no longer read.
+	 *
+	 * @param uri
+	 *            The URI of the file to be returned
+	 * @return The pre-processed contents of the file, or null if the file could
+	 *         not be read
+	 * @throws PersistenceLayerException
+	 *             if the file could not be read
+	 */
+	public R get(URI uri) throws PersistenceLayerException
+	{
+		Future<R> future = pending.remove(uri);
+		Integer position = positions.get(uri);
+		if ((executor != null) && (position != null))
+		{
+			for (Iterator<Map.Entry<URI, Future<R>>> it = pending.entrySet().iterator(); it.hasNext();)
+			{
+				Map.Entry<URI, Future<R>> entry = it.next();
+				if (positions.get(entry.getKey()) < position)
+				{
+					entry.getValue().cancel(true);
+					it.remove();
+				}
+			}
+			nextFile = Math.max(nextFile, position + 1);
+			submitAhead();
+		}
+		if (future == null)
+		{
+			return read(uri);
+		}
+		try
+		{
+			return future.get();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new PersistenceLayerException("Interrupted while reading " + uri, e);
+		}
+		catch (ExecutionException e)
+		{
+			Throwable cause = e.getCause();
+			if (cause instanceof PersistenceLayerException)
+			{
+				throw (PersistenceLayerException) cause;
+			}
+			throw new PersistenceLayerException("Error reading " + uri + ": " + cause.getMessage(), cause);
+		}
+	}
+
+	/**
+	 * Cancels the reads that have not been taken and stops the workers. Any
+	 * file requested afterwards is read on the calling thread.
+	 */
+	public void close()
+	{
+		if (executor != null)
+		{
+			pending.values().forEach(future -> future.cancel(true));
+			pending.clear();
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+	/**
+	 * Submits the next files in load order until MAX_READ_AHEAD files are
+	 * pending.
+	 */
+	private void submitAhead()
+	{
+		while ((pending.size() < MAX_READ_AHEAD) && (nextFile < files.size()))
+		{
+			URI uri = files.get(nextFile++);
+			pending.put(uri, executor.submit(() -> read(uri)));
+		}
+	}
+
+	private R read(URI uri) throws PersistenceLayerException
+	{
+		String dataBuffer = LstFileLoader.readFromURI(uri);
+		if (dataBuffer == null)
+		{
+			return null;
+		}
+		return processor.apply(dataBuffer);
+	}
+
+	/**
+	 * Returns true if LST files are to be read ahead in parallel.
+	 *
+	 * @return true if LST files are to be read ahead in parallel; false
+	 *         otherwise
+	 */
+	public static boolean isEnabled()
+	{
+		return PCGenSettings.OPTIONS_CONTEXT.initBoolean(PCGenSettings.OPTION_SOURCES_PARALLEL_LOAD, false);
+	}
+}
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Observable;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.function.Function;
 
 import pcgen.persistence.PersistenceLayerException;
 import pcgen.rules.context.LoadContext;
@@ -49,6 +50,9 @@ public abstract class LstLineFileLoader extends Observable
 	// TODO - Should be a constant.
 	protected String gameMode = "*"; //$NON-NLS-1$
 
+	/** The files of the current loadLstFiles call, read ahead of time. */
+	private LstFileReadAhead<String> readAhead = null;
+
 	/**
 	 * This method loads a single LST formatted file.
 	 *
@@ -59,7 +63,7 @@ public abstract class LstLineFileLoader extends Observable
 	 */
 	public void loadLstFile(LoadContext context, URI uri) throws PersistenceLayerException
 	{
-		String dataBuffer = LstFileLoader.readFromURI(uri);
+		String dataBuffer = (readAhead == null) ? LstFileLoader.readFromURI(uri) : readAhead.get(uri);
 		if (context != null)
 		{
 			context.setSourceURI(uri);
@@ -120,16 +124,26 @@ public abstract class LstLineFileLoader extends Observable
 		// Track which sources have been loaded already
 		Set<CampaignSourceEntry> loadedFiles = new HashSet<>();
 
-		// Load the files themselves as thoroughly as possible
-		for (CampaignSourceEntry cse : fileList)
+		// Files may be read on worker threads, but are applied here in order
+		readAhead = new LstFileReadAhead<>(fileList, Function.identity());
+		try
 		{
-			// Check if the CSE has already been loaded before loading it
-			if (!loadedFiles.contains(cse))
+			// Load the files themselves as thoroughly as possible
+			for (CampaignSourceEntry cse : fileList)
 			{
-				loadLstFile(context, cse.getURI());
-				loadedFiles.add(cse);
+				// Check if the CSE has already been loaded before loading it
+				if (!loadedFiles.contains(cse))
+				{
+					loadLstFile(context, cse.getURI());
+					loadedFiles.add(cse);
+				}
 			}
 		}
+		finally
+		{
+			readAhead.close();
+			readAhead = null;
+		}
 	}
 
 	/**
@@ -0,0 +1,120 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.persistence.lst;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LstLineSplitter splits the contents of an LST file into lines in a single
+ * pass, without the regular expressions previously used for this.
+ *
+ * <p>
+ * The result is the same as splitting on {@link LstFileLoader#LINE_SEPARATOR_REGEXP}
+ * with String.split: a line ends at CR LF, CR or LF, and empty lines at the
+ * end of the contents are dropped. When continuation lines are joined, a
+ * line separator (LF or CR LF) followed by a tab is removed, so that a line
+ * starting with a tab is appended to the line before it. Each line is copied
+ * out of the contents once; only a joined line needs a buffer.
+ *
+ * <p>
+ * The lines are Strings rather than views into the contents, as every LST
+ * token takes and keeps String values. The contents are therefore read
+ * into a String once, rather than memory mapped.
+ */
+public final class LstLineSplitter
+{
+
+	private static final String[] NO_LINES = new String[0];
+
+	private LstLineSplitter()
+	{
+		//Utility class
+	}
+
+	/**
+	 * Splits the given contents of an LST file into lines.
+	 *
+	 * @param contents
+	 *            The contents of the LST file
+	 * @param joinContinuations
+	 *            true if lines starting with a tab continue the previous line
+	 * @return The lines of the LST file
+	 */
+	public static String[] split(CharSequence contents, boolean joinContinuations)
+	{
+		int length = contents.length();
+		List<String> lines = new ArrayList<>();
+		StringBuilder joined = null;
+		boolean separatorFound = false;
+		int lineStart = 0;
+		int i = 0;
+		while (i < length)
+		{
+			char c = contents.charAt(i);
+			if ((c != '\n') && (c != '\r'))
+			{
+				i++;
+				continue;
+			}
+			int separatorEnd = i + 1;
+			boolean lineFeed = (c == '\n');
+			if ((c == '\r') && (separatorEnd < length) && (contents.charAt(separatorEnd) == '\n'))
+			{
+				separatorEnd++;
+				lineFeed = true;
+			}
+			separatorFound = true;
+			if (joinContinuations && lineFeed && (separatorEnd < length) && (contents.charAt(separatorEnd) == '\t'))
+			{
+				// Drop the separator and keep the tab, joining the lines
+				if (joined == null)
+				{
+					joined = new StringBuilder(separatorEnd - lineStart + 80);
+				}
+				joined.append(contents, lineStart, i);
+				lineStart = separatorEnd;
+			}
+			else
+			{
+				lines.add(toLine(contents, joined, lineStart, i));
+				joined = null;
+				lineStart = separatorEnd;
+			}
+			i = separatorEnd;
+		}
+		if (!separatorFound)
+		{
+			return new String[]{contents.toString()};
+		}
+		lines.add(toLine(contents, joined, lineStart, length));
+		int size = lines.size();
+		while ((size > 0) && lines.get(size - 1).isEmpty())
+		{
+			size--;
+		}
+		return (size == 0) ? NO_LINES : lines.subList(0, size).toArray(NO_LINES);
+	}
+
+	private static String toLine(CharSequence contents, StringBuilder joined, int start, int end)
+	{
+		if (joined == null)
+		{
+			return contents.subSequence(start, end).toString();
+		}
+		return joined.append(contents, start, end).toString();
+	}
+}
@@ -64,6 +64,8 @@ public abstract class LstObjectFileLoader<T extends CDOMObject> extends Observab
 	private boolean processComplete = true;
 	/** A list of objects that will not be included. */
 	private final Collection<String> excludedObjects = new ArrayList<>();
+	/** The files of the current loadLstFiles call, read ahead of time. */
+	private LstFileReadAhead<String[]> readAhead = null;
 
 	/**
 	 * This method loads the given list of LST files.
@@ -76,21 +78,32 @@ public abstract class LstObjectFileLoader<T extends CDOMObject> extends Observab
 		// Track which sources have been loaded already
 		Set<CampaignSourceEntry> loadedFiles = new HashSet<>();
 
-		// Load the files themselves as thoroughly as possible
-		for (CampaignSourceEntry sourceEntry : fileList)
+		// Files may be read and split on worker threads, but are applied here in order
+		boolean allowMultiLine = isMultiLineAllowed();
+		readAhead = new LstFileReadAhead<>(fileList, data -> splitLines(data, allowMultiLine));
+		try
 		{
-			if (sourceEntry == null)
+			// Load the files themselves as thoroughly as possible
+			for (CampaignSourceEntry sourceEntry : fileList)
 			{
-				continue;
-			}
+				if (sourceEntry == null)
+				{
+					continue;
+				}
 
-			// Check if the CSE has already been loaded before loading it
-			if (!loadedFiles.contains(sourceEntry))
-			{
-				loadLstFile(context, sourceEntry);
-				loadedFiles.add(sourceEntry);
+				// Check if the CSE has already been loaded before loading it
+				if (!loadedFiles.contains(sourceEntry))
+				{
+					loadLstFile(context, sourceEntry);
+					loadedFiles.add(sourceEntry);
+				}
 			}
 		}
+		finally
+		{
+			readAhead.close();
+			readAhead = null;
+		}
 
 		// Next we perform copy operations
 		processCopies(context);
@@ -279,10 +292,18 @@ public abstract class LstObjectFileLoader<T extends CDOMObject> extends Observab
 		setChanged();
 		URI uri = sourceEntry.getURI();
 		notifyObservers(uri);
-		String dataBuffer;
+		String[] fileLines;
 		try
 		{
-			dataBuffer = LstFileLoader.readFromURI(uri);
+			if (readAhead == null)
+			{
+				String dataBuffer = LstFileLoader.readFromURI(uri);
+				fileLines = (dataBuffer == null) ? null : splitLines(dataBuffer, isMultiLineAllowed());
+			}
+			else
+			{
+				fileLines = readAhead.get(uri);
+			}
 		}
 		catch (PersistenceLayerException ple)
 		{
@@ -292,21 +313,13 @@ public abstract class LstObjectFileLoader<T extends CDOMObject> extends Observab
 			setChanged();
 			return;
 		}
-		String aString = Objects.requireNonNull(dataBuffer);
+		Objects.requireNonNull(fileLines);
 		if (context != null)
 		{
 			context.setSourceURI(uri);
 		}
 		T target = null;
 		ArrayList<ModEntry> classModLines = null;
-		boolean allowMultiLine =
-				PCGenSettings.OPTIONS_CONTEXT.initBoolean(PCGenSettings.OPTION_SOURCES_ALLOW_MULTI_LINE, false);
-		if (allowMultiLine)
-		{
-			// Support the new file type. All lines that start with a tab belong to the previous line.
-			aString = aString.replaceAll("\r?\n\t", "\t");
-		}
-		String[] fileLines = aString.split(LstFileLoader.LINE_SEPARATOR_REGEXP);
 		for (int i = 0; i < fileLines.length; i++)
 		{
 			String line = fileLines[i];
@@ -315,20 +328,13 @@ public abstract class LstObjectFileLoader<T extends CDOMObject> extends Observab
 				continue;
 			}
 			int sepLoc = line.indexOf(FIELD_SEPARATOR);
-			String firstToken;
-			if (sepLoc == -1)
-			{
-				firstToken = line;
-			}
-			else
-			{
-				firstToken = line.substring(0, sepLoc);
-			}
+			// The end of the first token, which is not copied out of the line
+			int firstTokenEnd = (sepLoc == -1) ? line.length() : sepLoc;
 			// Check for continuation of class mods
 			if (classModLines != null)
 			{
 				// TODO - Figure out why we need to check CLASS: in this file.
-				if (firstToken.startsWith("CLASS:")) //$NON-NLS-1$
+				if (line.startsWith("CLASS:")) //$NON-NLS-1$
 				{
 					modEntryList.add(classModLines);
 					classModLines = null;
@@ -346,14 +352,14 @@ public abstract class LstObjectFileLoader<T extends CDOMObject> extends Observab
 			{
 				SourceLoader.parseLine(context, line, uri);
 			}
-			else if (firstToken.indexOf(COPY_SUFFIX) > 0)
+			else if (hasSuffixInFirstField(line, firstTokenEnd, COPY_SUFFIX))
 			{
 				copyLineList.add(new ModEntry(sourceEntry, line, i + 1));
 			}
-			else if (firstToken.indexOf(MOD_SUFFIX) > 0)
+			else if (hasSuffixInFirstField(line, firstTokenEnd, MOD_SUFFIX))
 			{
 				// TODO - Figure out why we need to check CLASS: in this file.
-				if (firstToken.startsWith("CLASS:")) //$NON-NLS-1$
+				if (line.startsWith("CLASS:")) //$NON-NLS-1$
 				{
 					// As CLASS:abc.MOD can be followed by level lines, we place the
 					// lines into a list for processing in a group afterwards
@@ -367,7 +373,7 @@ public abstract class LstObjectFileLoader<T extends CDOMObject> extends Observab
 					modEntryList.add(modLines);
 				}
 			}
-			else if (firstToken.indexOf(FORGET_SUFFIX) > 0)
+			else if (hasSuffixInFirstField(line, firstTokenEnd, FORGET_SUFFIX))
 			{
 				forgetLineList.add(line);
 			}
@@ -425,6 +431,55 @@ public abstract class LstObjectFileLoader<T extends CDOMObject> extends Observab
 		}
 	}
 
+	/**
+	 * Splits the contents of an LST file into lines. This does not depend on
+	 * the state of the loader, so it is safe to call from a worker thread.
+	 *
+	 * @param aString
+	 *            The contents of the LST file
+	 * @param allowMultiLine
+	 *            true if lines starting with a tab continue the previous line
+	 * @return The lines of the LST file
+	 */
+	private static String[] splitLines(String aString, boolean allowMultiLine)
+	{
+		// Support the new file type. All lines that start with a tab belong to the previous line.
+		return LstLineSplitter.split(aString, allowMultiLine);
+	}
+
+	/**
+	 * Returns true if the given suffix appears, other than at the start, in
+	 * the first field of the given line. This is the same as calling indexOf
+	 * on the first field, but does not need the first field to be copied out
+	 * of the line.
+	 *
+	 * @param line
+	 *            The LST line
+	 * @param fieldEnd
+	 *            The index of the end of the first field of the line
+	 * @param suffix
+	 *            The suffix to be found
+	 * @return true if the suffix appears in the first field after its first
+	 *         character; false otherwise
+	 */
+	private static boolean hasSuffixInFirstField(String line, int fieldEnd, String suffix)
+	{
+		int last = fieldEnd - suffix.length();
+		for (int i = 1; i <= last; i++)
+		{
+			if (line.startsWith(suffix, i))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isMultiLineAllowed()
+	{
+		return PCGenSettings.OPTIONS_CONTEXT.initBoolean(PCGenSettings.OPTION_SOURCES_ALLOW_MULTI_LINE, false);
+	}
+
 	/**
 	 * This method, when implemented, will perform a single .FORGET
 	 * operation.
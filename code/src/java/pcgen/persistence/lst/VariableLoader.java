@@ -122,7 +122,7 @@ public class VariableLoader extends Observable
 			context.setSourceURI(uri);
 		}
 
-		String[] fileLines = aString.split(LstFileLoader.LINE_SEPARATOR_REGEXP);
+		String[] fileLines = LstLineSplitter.split(aString, false);
 
 		for (int i = 0; i < fileLines.length; i++)
 		{
@@ -32,6 +32,7 @@ import pcgen.base.util.TripleKeyMapToList;
 import pcgen.cdom.base.CDOMObject;
 import pcgen.cdom.base.ConcretePrereqObject;
 import pcgen.cdom.base.Constants;
+import pcgen.cdom.base.LoadInterner;
 import pcgen.cdom.enumeration.FactKey;
 import pcgen.cdom.enumeration.FactSetKey;
 import pcgen.cdom.enumeration.FormulaKey;
@@ -137,7 +138,7 @@ public abstract class AbstractObjectContext implements ObjectCommitStrategy
 	@Override
 	public void put(CDOMObject cdo, StringKey sk, String s)
 	{
-		edits.put(cdo, sk, s);
+		edits.put(cdo, sk, LoadInterner.intern(s));
 	}
 
 	@Override
@@ -20,6 +20,7 @@ package pcgen.rules.persistence.token;
 import java.util.Collection;
 
 import pcgen.base.lang.UnreachableError;
+import pcgen.cdom.base.LoadInterner;
 import pcgen.core.prereq.Prerequisite;
 import pcgen.persistence.PersistenceLayerException;
 import pcgen.persistence.lst.prereq.PreParserFactory;
@@ -59,7 +60,7 @@ public abstract class AbstractToken
 		 */
 		try
 		{
-			return prereqParser.parse(token);
+			return LoadInterner.internParsedPrerequisite(token, prereqParser.parse(token));
 		}
 		catch (PersistenceLayerException ple)
 		{
@@ -22,6 +22,7 @@ import java.util.Set;
 import java.util.TreeSet;
 
 import pcgen.cdom.base.ConcretePrereqObject;
+import pcgen.cdom.base.LoadInterner;
 import pcgen.core.prereq.Prerequisite;
 import pcgen.persistence.PersistenceLayerException;
 import pcgen.persistence.lst.output.prereq.PrerequisiteWriterFactory;
@@ -72,7 +73,7 @@ public class PreCompatibilityToken
 			{
 				return ParseResult.INTERNAL_ERROR;
 			}
-			context.getObjectContext().put(obj, p);
+			context.getObjectContext().put(obj, LoadInterner.internPrerequisite(tokenName + ':' + value, p));
 			return ParseResult.SUCCESS;
 		}
 		catch (PersistenceLayerException e)
@@ -30,21 +30,40 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
 
 import pcgen.cdom.base.Constants;
+import pcgen.core.Campaign;
+import pcgen.core.PlayerCharacter;
 import pcgen.core.SettingsHandler;
 import pcgen.core.utils.MessageType;
 import pcgen.core.utils.ShowMessageDelegate;
 import pcgen.facade.core.CharacterFacade;
+import pcgen.facade.core.DataSetFacade;
 import pcgen.facade.core.PartyFacade;
 import pcgen.facade.core.SourceSelectionFacade;
 import pcgen.facade.core.UIDelegate;
+import pcgen.facade.util.ListFacades;
 import pcgen.gui2.UIPropertyContext;
 import pcgen.io.ExportException;
 import pcgen.io.ExportHandler;
 import pcgen.io.ExportUtilities;
 import pcgen.io.PCGFile;
+import pcgen.io.PCGIOHandler;
 import pcgen.persistence.SourceFileLoader;
 import pcgen.util.Logging;
 import pcgen.util.fop.FopTask;
@@ -69,6 +88,33 @@ import org.apache.commons.lang3.StringUtils;
 public class BatchExporter
 {
 
+	private static final ThreadFactory THREAD_FACTORY = r -> {
+		Thread thread = new Thread(r);
+		thread.setDaemon(true);
+		thread.setName("batch-export");
+		return thread;
+	};
+
+	/**
+	 * Guards the loaded data set while characters are exported concurrently.
+	 * Reading a character can add to the data set (e.g. custom equipment), so
+	 * it holds the write lock. Calculating and exporting a character only
+	 * read the data set, so they share the read lock.
+	 * <p>
+	 * The settings in SettingsHandler are not guarded. The worker threads only
+	 * read them, and they are only changed while sources are loaded, on the
+	 * calling thread, when no character is being exported. Handing a character
+	 * to the pool, and waiting for its result, make those changes visible to
+	 * the workers.
+	 */
+	private static final ReadWriteLock DATASET_LOCK = new ReentrantReadWriteLock();
+
+	/**
+	 * FOP keeps the user agent of the most recent task in a static, so PDF
+	 * rendering is done one task at a time.
+	 */
+	private static final Object FOP_LOCK = new Object();
+
 	private final String exportTemplateFilename;
 	private final UIDelegate uiDelegate;
 	private final boolean isPdf;
@@ -144,6 +190,216 @@ public class BatchExporter
 		}
 	}
 
+	/**
+	 * Export a character sheet for each character file in a folder using the
+	 * pre-registered template. If the output folder is null, each output file
+	 * is written next to its character file. Existing output files will be
+	 * overwritten.
+	 * <p>
+	 * The data for each distinct set of sources is loaded once, and the
+	 * characters using it are then read, calculated and exported on a pool of
+	 * worker threads, one character per thread. The time taken and any
+	 * failure is reported for each character.
+	 *
+	 * @param characterDirname The path to the folder of character PCG files.
+	 * @param outputDirname The path to the folder for the output files. May be null.
+	 * @param threads The number of characters to export at the same time.
+	 * @return true if all exports were successful, false if any failed.
+	 */
+	boolean exportCharacters(String characterDirname, String outputDirname, int threads)
+	{
+		File dir = new File(characterDirname);
+		File[] files = dir.listFiles(PCGFile::isPCGenCharacterFile);
+		if (files == null)
+		{
+			Logging.errorPrint("Invalid character folder specified: " + dir.getAbsolutePath());
+			return false;
+		}
+		Arrays.sort(files);
+		Logging.log(Logging.INFO, "Started export of " + files.length + " characters in " + dir.getAbsolutePath()
+			+ " using " + exportTemplateFilename + " on " + threads + " threads");
+
+		// Group the characters by the sources they need, so each data set is loaded once
+		boolean result = true;
+		Map<String, SourceSelectionFacade> sourcesByKey = new LinkedHashMap<>();
+		Map<String, List<File>> filesByKey = new LinkedHashMap<>();
+		for (File file : files)
+		{
+			SourceSelectionFacade sources = CharacterManager.getRequiredSourcesForCharacter(file, uiDelegate);
+			if (sources == null)
+			{
+				Logging.errorPrint("Failed to export " + file.getAbsolutePath() + ": unable to determine sources");
+				result = false;
+				continue;
+			}
+			String key = getSourcesKey(sources);
+			sourcesByKey.putIfAbsent(key, sources);
+			filesByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(file);
+		}
+
+		long start = System.currentTimeMillis();
+		int exported = 0;
+		ExecutorService executor = Executors.newFixedThreadPool(threads, THREAD_FACTORY);
+		try
+		{
+			for (Map.Entry<String, List<File>> entry : filesByKey.entrySet())
+			{
+				SourceSelectionFacade sources = sourcesByKey.get(entry.getKey());
+				Logging.log(Logging.INFO,
+					"Loading sources " + sources.getCampaigns() + " using game mode " + sources.getGameMode());
+				SourceFileLoader loader = new SourceFileLoader(sources, uiDelegate);
+				loader.run();
+				DataSetFacade dataset = loader.getDataSetFacade();
+
+				List<Future<Boolean>> futures = new ArrayList<>();
+				for (File file : entry.getValue())
+				{
+					File outFile = getBatchOutputFile(file, outputDirname);
+					futures.add(executor.submit(() -> exportLoadedCharacter(file, outFile, dataset)));
+				}
+				for (Future<Boolean> future : futures)
+				{
+					if (future.get())
+					{
+						exported++;
+					}
+					else
+					{
+						result = false;
+					}
+				}
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			Logging.errorPrint("Batch export interrupted", e);
+			return false;
+		}
+		catch (ExecutionException e)
+		{
+			Logging.errorPrint("Batch export failed", e.getCause());
+			return false;
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+		Logging.log(Logging.INFO, "Exported " + exported + " of " + files.length + " characters in "
+			+ (System.currentTimeMillis() - start) + " ms");
+		return result;
+	}
+
+	/**
+	 * Read, calculate and export a single character using an already loaded
+	 * data set. The character is not added to the list of open characters, so
+	 * the output does not depend on which other characters are being exported.
+	 *
+	 * @param file The character PCG file.
+	 * @param outFile The file to which the character sheet is to be written.
+	 * @param dataset The data set the character is to be loaded with.
+	 * @return true if the export was successful, false if it failed in some way.
+	 */
+	private boolean exportLoadedCharacter(File file, File outFile, DataSetFacade dataset)
+	{
+		long start = System.currentTimeMillis();
+		String failure = null;
+		try
+		{
+			PlayerCharacter pc;
+			DATASET_LOCK.writeLock().lock();
+			try
+			{
+				pc = readCharacter(file, dataset);
+			}
+			finally
+			{
+				DATASET_LOCK.writeLock().unlock();
+			}
+
+			DATASET_LOCK.readLock().lock();
+			try
+			{
+				pc.calcActiveBonuses();
+				pc.preparePCForOutput();
+				File templateFile = new File(exportTemplateFilename);
+				SheetWriter writer = (handler, out) -> handler.write(pc, out);
+				boolean success = isPdf
+					? exportToPDF(writer, getXMLTemplate(dataset.getGameMode().getName()), outFile, templateFile)
+					: exportToNonPDF(writer, outFile, templateFile);
+				if (!success)
+				{
+					failure = "see log for details";
+				}
+			}
+			finally
+			{
+				DATASET_LOCK.readLock().unlock();
+			}
+		}
+		catch (final IOException | RuntimeException e)
+		{
+			Logging.errorPrint("Unable to export character " + file.getAbsolutePath(), e);
+			failure = e.getMessage();
+		}
+
+		long elapsed = System.currentTimeMillis() - start;
+		if (failure == null)
+		{
+			Logging.log(Logging.INFO,
+				"Exported " + file.getAbsolutePath() + " to " + outFile.getAbsolutePath() + " in " + elapsed + " ms");
+			return true;
+		}
+		Logging.errorPrint("Failed to export " + file.getAbsolutePath() + " after " + elapsed + " ms: " + failure);
+		return false;
+	}
+
+	/**
+	 * Read a character from a file, as CharacterManager does but without
+	 * registering the character or asking the user about load warnings.
+	 *
+	 * @param file The character PCG file.
+	 * @param dataset The data set the character is to be loaded with.
+	 * @return The character
+	 * @throws IOException If the character could not be read without errors.
+	 */
+	private static PlayerCharacter readCharacter(File file, DataSetFacade dataset) throws IOException
+	{
+		List<Campaign> campaigns = ListFacades.wrap(dataset.getCampaigns());
+		PlayerCharacter pc = new PlayerCharacter(campaigns);
+		pc.setFileName(file.getAbsolutePath());
+		PCGIOHandler ioHandler = new PCGIOHandler();
+		ioHandler.read(pc, file.getAbsolutePath());
+		// Ensure any custom equipment held by the character is added to the dataset's list
+		dataset.refreshEquipment();
+		for (String warning : ioHandler.getWarnings())
+		{
+			Logging.log(Logging.WARNING, file.getName() + ": " + warning);
+		}
+		if (!ioHandler.getErrors().isEmpty())
+		{
+			throw new IOException(String.join("; ", ioHandler.getErrors()));
+		}
+		return pc;
+	}
+
+	private static String getSourcesKey(SourceSelectionFacade sources)
+	{
+		List<Campaign> campaigns = ListFacades.wrap(sources.getCampaigns());
+		return sources.getGameMode().get().getName() + '|'
+			+ campaigns.stream().map(Campaign::getKeyName).collect(Collectors.joining("|"));
+	}
+
+	private File getBatchOutputFile(File characterFile, String outputDirname)
+	{
+		File outFile = new File(generateOutputFilename(characterFile.getPath()));
+		if (outputDirname == null)
+		{
+			return outFile;
+		}
+		return new File(outputDirname, outFile.getName());
+	}
+
 	/**
 	 * Export a party sheet for the party to the output file using the 
 	 * pre-registered template. If the output file is null then a default file 
@@ -205,6 +461,26 @@ public class BatchExporter
 	 * @return true if the export was successful, false if it failed in some way.
 	 */
 	public static boolean exportCharacterToPDF(CharacterFacade character, File outFile, File templateFile)
+	{
+		return exportToPDF((handler, out) -> {
+			character.export(handler, out);
+			character.setDefaultOutputSheet(true, templateFile);
+		}, getXMLTemplate(character), outFile, templateFile);
+	}
+
+	/**
+	 * Write a PDF character sheet to the output file. The character sheet 
+	 * will be built according to the template file, or by transforming the 
+	 * XML output if the template is an XSLT file. If the output file exists 
+	 * it will be overwritten.
+	 *    
+	 * @param writer The writer that exports the character.
+	 * @param xmlTemplate The template producing XML output for the character.
+	 * @param outFile The file to which the character sheet is to be written. 
+	 * @param templateFile The file that has the export template definition.  
+	 * @return true if the export was successful, false if it failed in some way.
+	 */
+	private static boolean exportToPDF(SheetWriter writer, File xmlTemplate, File outFile, File templateFile)
 	{
 
 		String templateExtension = FilenameUtils.getExtension(templateFile.getName());
@@ -222,26 +498,25 @@ public class BatchExporter
 					//Output to both the byte stream and to the temp file.
 					? new TeeOutputStream(byteOutputStream, new FileOutputStream(tempFile)) : byteOutputStream)
 		{
-			FopTask task;
 			if (isTransformTemplate)
 			{
-				exportCharacter(character, exportOutput);
-				InputStream inputStream = new ByteArrayInputStream(byteOutputStream.toByteArray());
-				task = FopTask.newFopTask(inputStream, templateFile, fileStream);
+				writeSheet(writer, xmlTemplate, exportOutput);
 			}
 			else
 			{
-				exportCharacter(character, templateFile, exportOutput);
-				InputStream inputStream = new ByteArrayInputStream(byteOutputStream.toByteArray());
-				task = FopTask.newFopTask(inputStream, null, fileStream);
+				writeSheet(writer, templateFile, exportOutput);
 			}
-			character.setDefaultOutputSheet(true, templateFile);
-			task.run();
-			if (StringUtils.isNotBlank(task.getErrorMessages()))
+			InputStream inputStream = new ByteArrayInputStream(byteOutputStream.toByteArray());
+			synchronized (FOP_LOCK)
 			{
-				Logging.errorPrint("BatchExporter.exportCharacterToPDF failed: " //$NON-NLS-1$
-					+ task.getErrorMessages());
-				return false;
+				FopTask task = FopTask.newFopTask(inputStream, isTransformTemplate ? templateFile : null, fileStream);
+				task.run();
+				if (StringUtils.isNotBlank(task.getErrorMessages()))
+				{
+					Logging.errorPrint("BatchExporter.exportCharacterToPDF failed: " //$NON-NLS-1$
+						+ task.getErrorMessages());
+					return false;
+				}
 			}
 		}
 		catch (final IOException | ExportException e)
@@ -263,11 +538,28 @@ public class BatchExporter
 	 * @return true if the export was successful, false if it failed in some way.
 	 */
 	public static boolean exportCharacterToNonPDF(CharacterFacade character, File outFile, File templateFile)
+	{
+		return exportToNonPDF((handler, out) -> {
+			character.export(handler, out);
+			character.setDefaultOutputSheet(false, templateFile);
+		}, outFile, templateFile);
+	}
+
+	/**
+	 * Write a non PDF (e.g. html, text) character sheet to the output file. 
+	 * The character sheet will be built according to the template file. If 
+	 * the output file exists it will be overwritten.
+	 *    
+	 * @param writer The writer that exports the character.
+	 * @param outFile The file to which the character sheet is to be written. 
+	 * @param templateFile The file that has the export template definition.  
+	 * @return true if the export was successful, false if it failed in some way.
+	 */
+	private static boolean exportToNonPDF(SheetWriter writer, File outFile, File templateFile)
 	{
 		try (BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(outFile), "UTF-8")))
 		{
-			character.export(ExportHandler.createExportHandler(templateFile), bw);
-			character.setDefaultOutputSheet(false, templateFile);
+			writer.write(ExportHandler.createExportHandler(templateFile), bw);
 			return true;
 		}
 		catch (final UnsupportedEncodingException e)
@@ -501,10 +793,32 @@ public class BatchExporter
 		}
 	}
 
+	/**
+	 * Writes a character sheet to an OutputStream using the given template file.
+	 *
+	 * @param writer the writer that exports the character
+	 * @param templateFile the export template file for the ExportHandler to use
+	 * @param outputStream the OutputStream that the character will be exported to
+	 * @throws IOException
+	 * @throws ExportException
+	 */
+	private static void writeSheet(SheetWriter writer, File templateFile, OutputStream outputStream)
+		throws IOException, ExportException
+	{
+		try (BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)))
+		{
+			writer.write(ExportHandler.createExportHandler(templateFile), bw);
+		}
+	}
+
 	private static File getXMLTemplate(CharacterFacade character)
 	{
-		Path path = Path.of(ConfigurationSettings.getSystemsDir(), "gameModes",
-				character.getDataSet().getGameMode().getName(), "base.xml.ftl");
+		return getXMLTemplate(character.getDataSet().getGameMode().getName());
+	}
+
+	private static File getXMLTemplate(String gameModeName)
+	{
+		Path path = Path.of(ConfigurationSettings.getSystemsDir(), "gameModes", gameModeName, "base.xml.ftl");
 		File template = new File(path.toUri());
 		if (!template.exists())
 		{
@@ -529,4 +843,20 @@ public class BatchExporter
 		String outputName = charname.substring(0, charname.lastIndexOf('.')) + '.' + extension;
 		return new File(charFile.getParent(), outputName).getAbsolutePath();
 	}
+
+	/**
+	 * Writes a character sheet using an export handler.
+	 */
+	@FunctionalInterface
+	private interface SheetWriter
+	{
+		/**
+		 * Write the character sheet.
+		 *
+		 * @param handler The export handler for the template in use.
+		 * @param out The writer the character sheet is to be written to.
+		 * @throws ExportException If the export fails.
+		 */
+		void write(ExportHandler handler, BufferedWriter out) throws ExportException;
+	}
 }
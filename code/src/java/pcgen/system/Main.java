@@ -55,6 +55,7 @@ import pcgen.system.application.LoggingUncaughtExceptionHandler;
 import pcgen.system.application.PCGenLoggingDeadlockHandler;
 import pcgen.util.Logging;
 import pcgen.util.PJEP;
+import pcgen.util.PerformanceMetrics;
 
 import javafx.embed.swing.JFXPanel;
 import net.sourceforge.argparse4j.ArgumentParsers;
@@ -81,6 +82,10 @@ public final class Main
 	private static String partyFile;
 	private static String characterFile;
 	private static String outputFile;
+	private static String characterDir;
+	private static String outputDir;
+	private static int threads;
+	private static File metricsFile;
 
 	private Main()
 	{
@@ -119,6 +124,7 @@ public final class Main
 		Thread.setDefaultUncaughtExceptionHandler(new LoggingUncaughtExceptionHandler());
 		DeadlockDetectorTask deadlockDetectorTask = new DeadlockDetectorTask(new PCGenLoggingDeadlockHandler());
 		deadlockDetectorTask.initialize();
+		PerformanceMetrics.registerMBean();
 
 		logSystemProps();
 		configFactory = new PropertyContextFactory(getConfigPath());
@@ -196,7 +202,15 @@ public final class Main
 		partyFile = args.get("p");
 		characterFile = args.get("c");
 		outputFile = args.get("o");
+		characterDir = args.getString("characterdir");
+		outputDir = args.getString("outputdir");
+		threads = args.getInt("threads");
 		startNameGen = args.get("name_generator");
+		metricsFile = args.get("metrics");
+		if (metricsFile != null)
+		{
+			PerformanceMetrics.setEnabled(true);
+		}
 
 		return args;
 	}
@@ -374,11 +388,17 @@ public final class Main
 			result = exporter.exportCharacter(characterFile, outputFile);
 		}
 
+		if (characterDir != null)
+		{
+			result &= exporter.exportCharacters(characterDir, outputDir, Math.max(1, threads));
+		}
+
 		return result;
 	}
 
 	public static void shutdown()
 	{
+		dumpMetrics();
 		configFactory.savePropertyContexts();
 		BatchExporter.removeTemporaryFiles();
 		PropertyContextFactory.getDefaultFactory().savePropertyContexts();
@@ -392,6 +412,21 @@ public final class Main
 		System.exit(0);
 	}
 
+	private static void dumpMetrics()
+	{
+		if (metricsFile != null)
+		{
+			try
+			{
+				PerformanceMetrics.dump(metricsFile);
+			}
+			catch (IOException e)
+			{
+				Logging.errorPrint("Unable to write metrics to " + metricsFile, e);
+			}
+		}
+	}
+
 	private static void initPrintPreviewFonts()
 	{
 		GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
@@ -445,6 +480,18 @@ public final class Main
 		parser.addArgument("-p", "--party").nargs(1)
 			.type(Arguments.fileType().verifyCanRead().verifyExists().verifyIsFile());
 
+		parser.addArgument("-d", "--characterdir").help("export every character in the folder")
+			.type(Arguments.fileType().verifyIsDirectory().verifyCanRead().verifyExists());
+
+		parser.addArgument("--outputdir").help("folder for the character folder export output")
+			.type(Arguments.fileType().verifyIsDirectory().verifyCanWrite());
+
+		parser.addArgument("-t", "--threads").help("number of characters to export at the same time")
+			.type(Integer.class).setDefault(Runtime.getRuntime().availableProcessors());
+
+		parser.addArgument("--metrics").help("collect performance metrics and write them to this file on exit")
+			.type(Arguments.fileType().verifyCanCreate());
+
 		return parser;
 	}
 
@@ -19,7 +19,11 @@
 package pcgen.util;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Stack;
 
 import pcgen.core.PlayerCharacter;
@@ -31,6 +35,7 @@ import org.nfunk.jep.ASTFunNode;
 import org.nfunk.jep.JEP;
 import org.nfunk.jep.Node;
 import org.nfunk.jep.ParseException;
+import org.nfunk.jep.Variable;
 import org.nfunk.jep.function.PostfixMathCommand;
 
 /**
@@ -52,6 +57,30 @@ public final class PJEP extends JEP
 	private static List<Class<PCGenCommand>> commandList = new ArrayList<>();
 	private List<PCGenCommand> localCommandList = new ArrayList<>();
 
+	/**
+	 * The maximum number of parsed expressions held by each PJEP.
+	 */
+	private static final int MAX_PARSED_EXPRESSIONS = 1024;
+
+	/**
+	 * Marks an expression that could not be parsed.
+	 */
+	private static final ParsedExpression NOT_PARSED = new ParsedExpression(null, new HashMap<>(), false);
+
+	/**
+	 * The expressions parsed by this PJEP, by variable source and expression,
+	 * least recently used first.
+	 */
+	private final Map<String, ParsedExpression> parsedExpressions =
+			new LinkedHashMap<String, ParsedExpression>(64, 0.75f, true)
+			{
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, ParsedExpression> eldest)
+				{
+					return size() > MAX_PARSED_EXPRESSIONS;
+				}
+			};
+
 	public static void addCommand(Class<PCGenCommand> clazz)
 	{
 		commandList.add(clazz);
@@ -113,6 +142,73 @@ public final class PJEP extends JEP
 		return super.parseExpression(expression_in);
 	}
 
+	/**
+	 * Parses the given expression, reusing the result of an earlier parse by
+	 * this PJEP of the same expression for the same variable source.
+	 *
+	 * A ParsedExpression is bound to the functions and variables of the PJEP
+	 * which parsed it, so it may only be evaluated by that PJEP, using
+	 * getValueAsObject(ParsedExpression).
+	 *
+	 * @param expression
+	 *            The expression to be parsed
+	 * @return The ParsedExpression, or null if the expression could not be
+	 *         parsed
+	 */
+	public ParsedExpression parseCachedExpression(String expression)
+	{
+		String key = variableSource + '\n' + expression;
+		ParsedExpression parsed = parsedExpressions.get(key);
+		if (parsed == null)
+		{
+			Node node = parseExpression(expression);
+			if (hasError())
+			{
+				parsed = NOT_PARSED;
+			}
+			else
+			{
+				Map<String, Variable> variables = new HashMap<>();
+				for (Object name : getSymbolTable().keySet())
+				{
+					variables.put((String) name, getSymbolTable().getVar((String) name));
+				}
+				parsed = new ParsedExpression(node, variables, isResultCachable(node));
+			}
+			parsedExpressions.put(key, parsed);
+		}
+		return (parsed == NOT_PARSED) ? null : parsed;
+	}
+
+	/**
+	 * Evaluates the given ParsedExpression, which must have been returned by
+	 * parseCachedExpression on this PJEP. As with getValueAsObject(), errors
+	 * during evaluation are reported by hasError() and getErrorInfo().
+	 *
+	 * @param expression
+	 *            The ParsedExpression to be evaluated
+	 * @return The value of the expression, or null if it could not be
+	 *         evaluated
+	 */
+	public Object getValueAsObject(ParsedExpression expression)
+	{
+		errorList.removeAllElements();
+		try
+		{
+			return ev.getValue(expression.node, symTab);
+		}
+		catch (ParseException e)
+		{
+			errorList.addElement("Error during evaluation: " + e.getMessage());
+			return null;
+		}
+		catch (RuntimeException e)
+		{
+			errorList.addElement(e.getClass().getName() + ": " + e.getMessage());
+			return null;
+		}
+	}
+
 	/**
 	 * Identify if the results of the calculation will be cachable.
 	 *
@@ -320,4 +416,57 @@ public final class PJEP extends JEP
 	{
 		commandList.clear();
 	}
+
+	/**
+	 * A ParsedExpression is an expression parsed by a PJEP, together with the
+	 * variables it uses, so that it can be evaluated again with new values for
+	 * the variables without being parsed again.
+	 */
+	public static final class ParsedExpression
+	{
+		private final Node node;
+		private final Map<String, Variable> variables;
+		private final boolean cachable;
+
+		private ParsedExpression(Node node, Map<String, Variable> variables, boolean cachable)
+		{
+			this.node = node;
+			this.variables = variables;
+			this.cachable = cachable;
+		}
+
+		/**
+		 * Returns the names of the variables of this ParsedExpression.
+		 *
+		 * @return The names of the variables
+		 */
+		public Collection<String> getVariableNames()
+		{
+			return variables.keySet();
+		}
+
+		/**
+		 * Sets the value of a variable of this ParsedExpression.
+		 *
+		 * @param name
+		 *            The name of the variable
+		 * @param value
+		 *            The value of the variable
+		 */
+		public void setVariable(String name, double value)
+		{
+			variables.get(name).setValue(value);
+		}
+
+		/**
+		 * Identify if the results of evaluating this ParsedExpression will be
+		 * cachable.
+		 *
+		 * @return True if the result would be cachable, false otherwise.
+		 */
+		public boolean isResultCachable()
+		{
+			return cachable;
+		}
+	}
 }
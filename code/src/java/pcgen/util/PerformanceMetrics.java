@@ -0,0 +1,451 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * PerformanceMetrics records how often, and for how long, the hot paths of
+ * character recalculation and output run: the active bonus loop, bonus sums,
+ * prerequisite tests, formula evaluation (and the formula cache), facet event
+ * dispatch and output token resolution.
+ *
+ * Collection is off by default. It is switched on by the pcgen.metrics system
+ * property, the --metrics command line option, or through JMX (the
+ * PerformanceMetricsMXBean registered as pcgen:type=PerformanceMetrics). While
+ * collection is off, each instrumented call costs a single read of a field.
+ *
+ * Timings are taken as follows:
+ *
+ * <pre>
+ * long start = PerformanceMetrics.start();
+ * ... the work being measured ...
+ * PerformanceMetrics.stop(Metric.PREREQ_TEST, start);
+ * </pre>
+ *
+ * start() returns zero while collection is off, and stop() ignores a start of
+ * zero, so a timing that straddles collection being switched on is dropped.
+ */
+public final class PerformanceMetrics
+{
+
+	/**
+	 * The name under which the PerformanceMetricsMXBean is registered.
+	 */
+	public static final String OBJECT_NAME = "pcgen:type=PerformanceMetrics";
+
+	/**
+	 * The number of buckets in each latency histogram. Bucket 0 holds
+	 * latencies under 1 microsecond; bucket n (n &gt; 0) holds latencies of at
+	 * least 2^(n-1) and under 2^n microseconds, with the last bucket holding
+	 * everything longer.
+	 */
+	private static final int BUCKETS = 24;
+
+	/**
+	 * The things which are measured.
+	 */
+	public enum Metric
+	{
+		CALC_ACTIVE_BONUSES("bonus.calcActiveBonuses"),
+		CALC_ACTIVE_BONUS_LOOP("bonus.calcActiveBonuses.loop"),
+		BONUS_SUM("bonus.sum"),
+		BONUS_SUM_CACHE_HIT("bonus.sum.cacheHit"),
+		PREREQ_TEST("prereq.test"),
+		FORMULA_CACHE_HIT("formula.cacheHit"),
+		FORMULA_CACHE_MISS("formula.cacheMiss"),
+		FORMULA_JEP("formula.jep"),
+		FORMULA_LEGACY("formula.legacy"),
+		FACET_EVENT("facet.event"),
+		FACET_LISTENER_CALL("facet.listenerCall"),
+		EXPORT_TOKEN("export.token");
+
+		private final String text;
+
+		Metric(String text)
+		{
+			this.text = text;
+		}
+
+		@Override
+		public String toString()
+		{
+			return text;
+		}
+	}
+
+	private static volatile boolean enabled = Boolean.getBoolean("pcgen.metrics"); //$NON-NLS-1$
+
+	private static final Statistic[] STATISTICS = new Statistic[Metric.values().length];
+
+	static
+	{
+		for (int i = 0; i < STATISTICS.length; i++)
+		{
+			STATISTICS[i] = new Statistic();
+		}
+	}
+
+	private PerformanceMetrics()
+	{
+		// Do not instantiate utility class
+	}
+
+	/**
+	 * Returns true if metrics are being collected.
+	 *
+	 * @return true if metrics are being collected; false otherwise
+	 */
+	public static boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	/**
+	 * Switches the collection of metrics on or off. Metrics already collected
+	 * are kept.
+	 *
+	 * @param enable
+	 *            true to collect metrics; false to stop collecting them
+	 */
+	public static void setEnabled(boolean enable)
+	{
+		enabled = enable;
+	}
+
+	/**
+	 * Returns the start time of a timing, or zero if metrics are not being
+	 * collected.
+	 *
+	 * @return The start time to be passed to stop()
+	 */
+	public static long start()
+	{
+		return enabled ? System.nanoTime() : 0L;
+	}
+
+	/**
+	 * Records a timing of the given Metric which began at the given start
+	 * time.
+	 *
+	 * @param metric
+	 *            The Metric being timed
+	 * @param start
+	 *            The value returned by start() when the timing began
+	 */
+	public static void stop(Metric metric, long start)
+	{
+		if (start != 0L)
+		{
+			STATISTICS[metric.ordinal()].record(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Counts an occurrence of the given Metric, without a timing.
+	 *
+	 * @param metric
+	 *            The Metric which occurred
+	 */
+	public static void count(Metric metric)
+	{
+		if (enabled)
+		{
+			STATISTICS[metric.ordinal()].count.increment();
+		}
+	}
+
+	/**
+	 * Counts a number of occurrences of the given Metric, without a timing.
+	 *
+	 * @param metric
+	 *            The Metric which occurred
+	 * @param occurrences
+	 *            The number of times the Metric occurred
+	 */
+	public static void count(Metric metric, long occurrences)
+	{
+		if (enabled)
+		{
+			STATISTICS[metric.ordinal()].count.add(occurrences);
+		}
+	}
+
+	/**
+	 * Returns the number of occurrences recorded for the given Metric.
+	 *
+	 * @param metric
+	 *            The Metric for which the count should be returned
+	 * @return The number of occurrences recorded
+	 */
+	public static long getCount(Metric metric)
+	{
+		return STATISTICS[metric.ordinal()].count.sum();
+	}
+
+	/**
+	 * Returns the mean of the timings recorded for the given Metric, in
+	 * microseconds, or zero if none have been recorded.
+	 *
+	 * @param metric
+	 *            The Metric for which the mean should be returned
+	 * @return The mean timing in microseconds
+	 */
+	public static double getMeanMicros(Metric metric)
+	{
+		return STATISTICS[metric.ordinal()].getMeanMicros();
+	}
+
+	/**
+	 * Returns the proportion of formula lookups that were answered from the
+	 * formula cache, or zero if there have been none.
+	 *
+	 * @return The formula cache hit rate, between 0 and 1
+	 */
+	public static double getFormulaCacheHitRate()
+	{
+		long hits = getCount(Metric.FORMULA_CACHE_HIT);
+		long total = hits + getCount(Metric.FORMULA_CACHE_MISS);
+		return (total == 0) ? 0.0 : ((double) hits / total);
+	}
+
+	/**
+	 * Discards all of the metrics collected so far.
+	 */
+	public static void reset()
+	{
+		for (Statistic statistic : STATISTICS)
+		{
+			statistic.reset();
+		}
+	}
+
+	/**
+	 * Returns a report of the metrics collected so far, one line per Metric,
+	 * with the count, total and mean time, approximate percentiles and the
+	 * maximum time.
+	 *
+	 * @return The report of the metrics collected
+	 */
+	public static String getSummary()
+	{
+		StringBuilder sb = new StringBuilder(2048);
+		sb.append(String.format(Locale.ROOT, "%-30s %12s %12s %10s %10s %10s %10s %10s%n", "metric", "count",
+			"total ms", "mean us", "p50 us", "p90 us", "p99 us", "max us"));
+		for (Metric metric : Metric.values())
+		{
+			Statistic statistic = STATISTICS[metric.ordinal()];
+			long count = statistic.count.sum();
+			if (statistic.timed.sum() == 0)
+			{
+				sb.append(String.format(Locale.ROOT, "%-30s %12d%n", metric, count));
+			}
+			else
+			{
+				sb.append(String.format(Locale.ROOT, "%-30s %12d %12.1f %10.1f %10s %10s %10s %10d%n", metric,
+					count, statistic.totalNanos.sum() / 1.0e6, statistic.getMeanMicros(),
+					statistic.getPercentile(0.5), statistic.getPercentile(0.9), statistic.getPercentile(0.99),
+					statistic.maxNanos.get() / 1000));
+			}
+		}
+		sb.append(String.format(Locale.ROOT, "formula cache hit rate: %.1f%%%n", 100.0 * getFormulaCacheHitRate()));
+		return sb.toString();
+	}
+
+	/**
+	 * Writes the report returned by getSummary() to the given File.
+	 *
+	 * @param file
+	 *            The File to which the report should be written
+	 * @throws IOException
+	 *             If the report cannot be written
+	 */
+	public static void dump(File file) throws IOException
+	{
+		try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))
+		{
+			writer.write(getSummary());
+		}
+	}
+
+	/**
+	 * Registers the PerformanceMetricsMXBean with the platform MBeanServer, so
+	 * the metrics can be switched on, read and dumped through JMX. Does
+	 * nothing if it is already registered.
+	 */
+	public static void registerMBean()
+	{
+		try
+		{
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (!server.isRegistered(name))
+			{
+				server.registerMBean(new MXBean(), name);
+			}
+		}
+		catch (JMException e)
+		{
+			Logging.errorPrint("Unable to register " + OBJECT_NAME, e);
+		}
+	}
+
+	/**
+	 * The count and latency histogram of a single Metric.
+	 */
+	private static final class Statistic
+	{
+		private final LongAdder count = new LongAdder();
+		private final LongAdder timed = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0L);
+		private final LongAdder[] histogram = new LongAdder[BUCKETS];
+
+		private Statistic()
+		{
+			for (int i = 0; i < BUCKETS; i++)
+			{
+				histogram[i] = new LongAdder();
+			}
+		}
+
+		private void record(long nanos)
+		{
+			count.increment();
+			timed.increment();
+			totalNanos.add(nanos);
+			maxNanos.accumulate(nanos);
+			long micros = nanos / 1000;
+			int bucket = 64 - Long.numberOfLeadingZeros(micros);
+			histogram[Math.min(bucket, BUCKETS - 1)].increment();
+		}
+
+		private double getMeanMicros()
+		{
+			long n = timed.sum();
+			return (n == 0) ? 0.0 : (totalNanos.sum() / 1000.0 / n);
+		}
+
+		/**
+		 * Returns the upper bound, in microseconds, of the histogram bucket
+		 * containing the given percentile of the timings.
+		 */
+		private String getPercentile(double percentile)
+		{
+			long n = timed.sum();
+			long seen = 0;
+			for (int i = 0; i < BUCKETS - 1; i++)
+			{
+				seen += histogram[i].sum();
+				if (seen >= percentile * n)
+				{
+					return "<" + (1L << i);
+				}
+			}
+			return ">=" + (1L << (BUCKETS - 2));
+		}
+
+		private void reset()
+		{
+			count.reset();
+			timed.reset();
+			totalNanos.reset();
+			maxNanos.reset();
+			for (LongAdder bucket : histogram)
+			{
+				bucket.reset();
+			}
+		}
+	}
+
+	/**
+	 * The PerformanceMetricsMXBean registered by registerMBean().
+	 */
+	private static final class MXBean implements PerformanceMetricsMXBean
+	{
+		@Override
+		public boolean isEnabled()
+		{
+			return PerformanceMetrics.isEnabled();
+		}
+
+		@Override
+		public void setEnabled(boolean enable)
+		{
+			PerformanceMetrics.setEnabled(enable);
+		}
+
+		@Override
+		public Map<String, Long> getCounts()
+		{
+			Map<String, Long> counts = new LinkedHashMap<>();
+			for (Metric metric : Metric.values())
+			{
+				counts.put(metric.toString(), getCount(metric));
+			}
+			return counts;
+		}
+
+		@Override
+		public Map<String, Double> getMeanMicros()
+		{
+			Map<String, Double> means = new LinkedHashMap<>();
+			for (Metric metric : Metric.values())
+			{
+				means.put(metric.toString(), PerformanceMetrics.getMeanMicros(metric));
+			}
+			return means;
+		}
+
+		@Override
+		public double getFormulaCacheHitRate()
+		{
+			return PerformanceMetrics.getFormulaCacheHitRate();
+		}
+
+		@Override
+		public String getSummary()
+		{
+			return PerformanceMetrics.getSummary();
+		}
+
+		@Override
+		public void reset()
+		{
+			PerformanceMetrics.reset();
+		}
+
+		@Override
+		public void dump(String fileName) throws IOException
+		{
+			PerformanceMetrics.dump(new File(fileName));
+		}
+	}
+}
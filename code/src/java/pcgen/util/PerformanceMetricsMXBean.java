@@ -0,0 +1,83 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.util;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * The JMX management interface of PerformanceMetrics.
+ */
+public interface PerformanceMetricsMXBean
+{
+	/**
+	 * Returns true if metrics are being collected.
+	 *
+	 * @return true if metrics are being collected; false otherwise
+	 */
+	public boolean isEnabled();
+
+	/**
+	 * Switches the collection of metrics on or off.
+	 *
+	 * @param enable
+	 *            true to collect metrics; false to stop collecting them
+	 */
+	public void setEnabled(boolean enable);
+
+	/**
+	 * Returns the number of occurrences of each metric.
+	 *
+	 * @return The number of occurrences, by metric name
+	 */
+	public Map<String, Long> getCounts();
+
+	/**
+	 * Returns the mean time taken by each timed metric, in microseconds.
+	 *
+	 * @return The mean time, by metric name
+	 */
+	public Map<String, Double> getMeanMicros();
+
+	/**
+	 * Returns the proportion of formula lookups answered from the cache.
+	 *
+	 * @return The formula cache hit rate, between 0 and 1
+	 */
+	public double getFormulaCacheHitRate();
+
+	/**
+	 * Returns a report of all of the metrics collected.
+	 *
+	 * @return The report of the metrics collected
+	 */
+	public String getSummary();
+
+	/**
+	 * Discards all of the metrics collected so far.
+	 */
+	public void reset();
+
+	/**
+	 * Writes the report of all of the metrics collected to the named file.
+	 *
+	 * @param fileName
+	 *            The name of the file to which the report should be written
+	 * @throws IOException
+	 *             If the report cannot be written
+	 */
+	public void dump(String fileName) throws IOException;
+}
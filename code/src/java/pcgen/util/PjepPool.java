@@ -17,15 +17,32 @@
  */
 package pcgen.util;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Stack;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * PjepPool holds the PJEP parsers used to evaluate JEP formulas. Building a
+ * PJEP registers every function it supports, so parsers are reused rather
+ * than built for each formula.
+ *
+ * Each thread has its own free list, so acquiring and releasing a parser never
+ * contends with other threads and formulas for several characters can be
+ * evaluated in parallel. A free list holds more than one parser because the
+ * evaluation of a formula can evaluate further formulas on the same thread.
+ * The parsers in use are also kept per thread, so that nothing shared between
+ * threads is touched when a parser is acquired or released. A parser released
+ * on a thread that did not acquire it, or released twice, is not reused.
+ */
 public final class PjepPool
 {
-	private Stack<PJEP> freeStack = new Stack<>();
-	private List<PJEP> usedList = new ArrayList<>();
-	private static PjepPool instance = new PjepPool();
+	private static final PjepPool instance = new PjepPool();
+
+	private final ThreadLocal<ThreadParsers> threadParsers = ThreadLocal.withInitial(ThreadParsers::new);
+	private final AtomicInteger created = new AtomicInteger();
 
 	private PjepPool()
 	{
@@ -37,56 +54,67 @@ public final class PjepPool
 		return instance;
 	}
 
-	public synchronized void initialise()
+	public void initialise()
 	{
-		freeStack.push(new PJEP());
+		threadParsers.get().freeStack.push(createParser());
 	}
 
-	public synchronized PJEP aquire()
+	public PJEP aquire()
 	{
 		return aquire(null, "");
 	}
 
-	public synchronized PJEP aquire(final Object parent, String variableSource)
+	public PJEP aquire(final Object parent, String variableSource)
 	{
-		//System.out.println("aquireJep()");
-		PJEP jep;
-		if (!freeStack.isEmpty())
+		ThreadParsers parsers = threadParsers.get();
+		PJEP jep = parsers.freeStack.poll();
+		if (jep == null)
 		{
-			jep = freeStack.pop();
-		}
-		else
-		{
-			jep = new PJEP();
-			//System.err.println("aquirePJep() - creating new parser");
+			jep = createParser();
 		}
 
-		usedList.add(jep);
+		parsers.used.add(jep);
 		jep.initSymTab();
 		jep.setVariableSource(variableSource);
 		jep.setParent(parent);
 		return jep;
 	}
 
-	public synchronized void release(PJEP interp)
+	public void release(PJEP interp)
 	{
-		//System.out.println("releaseJep( " + interp + " )");
-		if (usedList.contains(interp))
+		if (interp == null)
 		{
-			usedList.remove(interp);
+			return;
 		}
-		else
+		ThreadParsers parsers = threadParsers.get();
+		if (!parsers.used.remove(interp))
 		{
-			System.err.println("Tried to release a PJEP instance that we did not aquire...");
+			Logging.errorPrint("Tried to release a PJEP instance that we did not aquire...");
+			return;
 		}
 		interp.setParent(null);
-		freeStack.push(interp);
+		parsers.freeStack.push(interp);
 	}
 
-	public synchronized void dumpStats()
+	public void dumpStats()
 	{
 		System.out.println("PJEP Pool: ");
-		System.out.println("    Currently Unused: " + freeStack.size());
-		System.out.println("    Currently Used  : " + usedList.size());
+		System.out.println("    Created         : " + created.get());
+		System.out.println("    Used (thread)   : " + threadParsers.get().used.size());
+	}
+
+	private PJEP createParser()
+	{
+		created.incrementAndGet();
+		return new PJEP();
+	}
+
+	/**
+	 * The idle parsers of a thread and the parsers the thread has in use.
+	 */
+	private static final class ThreadParsers
+	{
+		private final Deque<PJEP> freeStack = new ArrayDeque<>();
+		private final Set<PJEP> used = Collections.newSetFromMap(new IdentityHashMap<>());
 	}
 }
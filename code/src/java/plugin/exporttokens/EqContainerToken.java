@@ -291,7 +291,7 @@ public class EqContainerToken extends Token
 		{
 			return 0;
 		}
-		return eq.getContainedWeight(pc);
+		return pc.getDisplay().getContainedWeight(eq);
 	}
 
 	/**
@@ -292,7 +292,7 @@ public class EqContainersToken extends Token
 		{
 			return 0;
 		}
-		return eq.getContainedWeight(pc);
+		return pc.getDisplay().getContainedWeight(eq);
 	}
 
 	/**
@@ -53,10 +53,9 @@ public class SkillSitToken extends Token
 {
 	public static final String TOKENNAME = "SKILLSIT";
 
-	// Cache the skill list as it is expensive to build
-	private List<Skill> cachedSkillList = null;
-	private PlayerCharacter lastPC = null;
-	private int lastPCSerial;
+	// Cache the skill list as it is expensive to build. Output tokens are
+	// shared by all threads exporting characters, so it is kept per thread.
+	private final ThreadLocal<SkillListCache> cache = ThreadLocal.withInitial(SkillListCache::new);
 
 	@Override
 	public String getTokenName()
@@ -165,18 +164,19 @@ public class SkillSitToken extends Token
 		return skill;
 	}
 
-	private synchronized List<Skill> getSkillList(PlayerCharacter pc)
+	private List<Skill> getSkillList(PlayerCharacter pc)
 	{
-		if (pc == lastPC && pc.getSerial() == lastPCSerial)
+		SkillListCache cached = cache.get();
+		if (pc == cached.pc && pc.getSerial() == cached.serial)
 		{
-			return cachedSkillList;
+			return cached.skills;
 		}
 
 		final List<Skill> pcSkills =
 				SkillDisplay.getSkillListInOutputOrder(pc, pc.getDisplay().getPartialSkillList(View.VISIBLE_EXPORT));
-		cachedSkillList = pcSkills;
-		lastPC = pc;
-		lastPCSerial = pc.getSerial();
+		cached.skills = pcSkills;
+		cached.pc = pc;
+		cached.serial = pc.getSerial();
 		return pcSkills;
 	}
 
@@ -435,4 +435,14 @@ public class SkillSitToken extends Token
 
 		return retValue.toString();
 	}
+
+	/**
+	 * The last skill list built by a thread, and the character it was built for.
+	 */
+	private static final class SkillListCache
+	{
+		private List<Skill> skills;
+		private PlayerCharacter pc;
+		private int serial;
+	}
 }
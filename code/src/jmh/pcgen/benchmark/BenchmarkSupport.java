@@ -0,0 +1,159 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import pcgen.core.Campaign;
+import pcgen.core.PlayerCharacter;
+import pcgen.facade.core.DataSetFacade;
+import pcgen.facade.core.SourceSelectionFacade;
+import pcgen.facade.core.UIDelegate;
+import pcgen.facade.util.ListFacades;
+import pcgen.io.PCGIOHandler;
+import pcgen.persistence.CampaignFileLoader;
+import pcgen.persistence.GameModeFileLoader;
+import pcgen.persistence.SourceFileLoader;
+import pcgen.system.CharacterManager;
+import pcgen.system.ConfigurationSettings;
+import pcgen.system.ConsoleUIDelegate;
+import pcgen.system.Main;
+import pcgen.system.PropertyContextFactory;
+
+import org.apache.commons.io.output.NullWriter;
+import org.apache.commons.lang3.SystemUtils;
+
+/**
+ * Shared setup for the benchmarks. The benchmarks are run from the project
+ * directory against the bundled data, so that results from different builds
+ * can be compared.
+ */
+final class BenchmarkSupport
+{
+
+	/**
+	 * The characters used by the benchmarks, one per game mode.
+	 */
+	static final String CHARACTER_35E = "code/testsuite/PCGfiles/35e_Bob.pcg";
+	static final String CHARACTER_PATHFINDER = "code/testsuite/PCGfiles/pf_Cleric.pcg";
+
+	private static final String CONFIG_FILE = "config.ini.jmh";
+	private static final String SETTINGS_DIR = "build/jmh/settings";
+
+	static final UIDelegate UI_DELEGATE = new ConsoleUIDelegate();
+
+	private static boolean initialized = false;
+
+	private BenchmarkSupport()
+	{
+		//Utility class
+	}
+
+	/**
+	 * Load the plugins, game modes and campaign list. This only needs to be done
+	 * once per JVM.
+	 *
+	 * @throws IOException if the benchmark settings cannot be written
+	 */
+	static synchronized void initialize() throws IOException
+	{
+		if (initialized)
+		{
+			return;
+		}
+		File configFile = new File(CONFIG_FILE);
+		configFile.deleteOnExit();
+		new File(SETTINGS_DIR).mkdirs();
+		Files.write(configFile.toPath(),
+			List.of("settingsPath=" + SETTINGS_DIR, "pccFilesPath=data"), StandardCharsets.UTF_8);
+
+		PropertyContextFactory configFactory = new PropertyContextFactory(SystemUtils.USER_DIR);
+		configFactory.registerAndLoadPropertyContext(ConfigurationSettings.getInstance(CONFIG_FILE));
+		Main.loadProperties(false);
+		Main.createLoadPluginTask().run();
+		new GameModeFileLoader().run();
+		new CampaignFileLoader().run();
+		initialized = true;
+	}
+
+	/**
+	 * Returns the sources required by the given character.
+	 *
+	 * @param characterFile
+	 *            The path to the character file
+	 * @return The sources required by the character
+	 */
+	static SourceSelectionFacade getSources(String characterFile)
+	{
+		return CharacterManager.getRequiredSourcesForCharacter(new File(characterFile), UI_DELEGATE);
+	}
+
+	/**
+	 * Load the data required by the given character.
+	 *
+	 * @param characterFile
+	 *            The path to the character file
+	 * @return The loaded data set
+	 * @throws IOException if the benchmark settings cannot be written
+	 */
+	static DataSetFacade loadData(String characterFile) throws IOException
+	{
+		initialize();
+		SourceFileLoader loader = new SourceFileLoader(getSources(characterFile), UI_DELEGATE);
+		loader.run();
+		return loader.getDataSetFacade();
+	}
+
+	/**
+	 * Read the given character using the loaded data set. Unlike
+	 * CharacterManager, the character is not added to the list of open
+	 * characters.
+	 *
+	 * @param characterFile
+	 *            The path to the character file
+	 * @param dataset
+	 *            The data set the character is to be loaded with
+	 * @return The loaded character
+	 */
+	static PlayerCharacter readCharacter(String characterFile, DataSetFacade dataset)
+	{
+		List<Campaign> campaigns = ListFacades.wrap(dataset.getCampaigns());
+		PlayerCharacter pc = new PlayerCharacter(campaigns);
+		File file = new File(characterFile);
+		pc.setFileName(file.getAbsolutePath());
+		new PCGIOHandler().read(pc, file.getAbsolutePath());
+		pc.calcActiveBonuses();
+		return pc;
+	}
+
+	/**
+	 * Returns a writer that discards its output, so that exports measure the
+	 * cost of producing the output rather than of writing it.
+	 *
+	 * @return A writer that discards its output
+	 */
+	static BufferedWriter nullWriter()
+	{
+		Writer writer = new NullWriter();
+		return new BufferedWriter(writer);
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import pcgen.core.PlayerCharacter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a full recalculation of the active bonuses of a loaded character.
+ * The character is marked dirty before each calculation, as happens whenever
+ * the character is changed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BonusCalculationBenchmark
+{
+
+	@Param({BenchmarkSupport.CHARACTER_35E, BenchmarkSupport.CHARACTER_PATHFINDER})
+	public String character;
+
+	private PlayerCharacter pc;
+
+	@Setup
+	public void setUp() throws IOException
+	{
+		pc = BenchmarkSupport.readCharacter(character, BenchmarkSupport.loadData(character));
+	}
+
+	@Benchmark
+	public PlayerCharacter calcActiveBonuses()
+	{
+		pc.setDirty(true);
+		pc.calcActiveBonuses();
+		return pc;
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.benchmark;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+
+import pcgen.core.Campaign;
+import pcgen.core.GameMode;
+import pcgen.core.Globals;
+import pcgen.core.SystemCollections;
+import pcgen.facade.core.DataSetFacade;
+import pcgen.persistence.SourceFileLoader;
+import pcgen.system.FacadeFactory;
+
+/**
+ * Reports the heap used before and after loading the full Pathfinder data set,
+ * so that the memory cost of the loaded objects can be compared between builds.
+ * Run with the memoryBenchmark Gradle task.
+ */
+public final class DataLoadMemory
+{
+
+	private static final String GAME_MODE = "Pathfinder";
+	private static final String CAMPAIGN = "Pathfinder RPG All Supplements";
+
+	private DataLoadMemory()
+	{
+		//Utility class
+	}
+
+	/**
+	 * Load the data and print the heap used.
+	 *
+	 * @param args
+	 *            Ignored
+	 * @throws IOException
+	 *             if the benchmark settings cannot be written
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		BenchmarkSupport.initialize();
+		GameMode gameMode = SystemCollections.getGameModeNamed(GAME_MODE);
+		List<Campaign> campaigns = List.of(Globals.getCampaignKeyed(CAMPAIGN));
+
+		long before = usedHeap();
+		long start = System.currentTimeMillis();
+		SourceFileLoader loader = new SourceFileLoader(FacadeFactory.createSourceSelection(gameMode, campaigns),
+			BenchmarkSupport.UI_DELEGATE);
+		loader.run();
+		DataSetFacade dataset = loader.getDataSetFacade();
+		long loadTime = System.currentTimeMillis() - start;
+		long after = usedHeap();
+
+		System.out.println("Loaded " + campaigns + " in " + loadTime + " ms");
+		System.out.println("Heap used before load: " + toMegabytes(before) + " MB");
+		System.out.println("Heap used after load:  " + toMegabytes(after) + " MB");
+		System.out.println("Heap used by data set: " + toMegabytes(after - before) + " MB");
+		// Keep the data set reachable until the heap has been measured
+		System.out.println("Skills loaded: " + dataset.getSkills().getSize());
+	}
+
+	private static long usedHeap()
+	{
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		for (int i = 0; i < 3; i++)
+		{
+			System.gc();
+		}
+		return memory.getHeapMemoryUsage().getUsed();
+	}
+
+	private static String toMegabytes(long bytes)
+	{
+		return String.format("%.1f", bytes / (1024.0 * 1024.0));
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import pcgen.core.PlayerCharacter;
+import pcgen.io.ExportException;
+import pcgen.io.ExportHandler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures exporting a character through both the legacy token based
+ * template engine (PCGenExportHandler) and FreeMarker
+ * (FreeMarkerExportHandler). The output is discarded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExportBenchmark
+{
+
+	private static final String LEGACY_TEMPLATE =
+			"outputsheets/d20/fantasy/htmlxml/csheet_fantasy_compact.htm";
+	private static final String FREEMARKER_TEMPLATE =
+			"outputsheets/d20/fantasy/htmlxml/csheet_fantasy_std.htm.ftl";
+
+	@Param({BenchmarkSupport.CHARACTER_35E, BenchmarkSupport.CHARACTER_PATHFINDER})
+	public String character;
+
+	@Param({LEGACY_TEMPLATE, FREEMARKER_TEMPLATE})
+	public String template;
+
+	private PlayerCharacter pc;
+
+	private ExportHandler handler;
+
+	@Setup
+	public void setUp() throws IOException
+	{
+		pc = BenchmarkSupport.readCharacter(character, BenchmarkSupport.loadData(character));
+		handler = ExportHandler.createExportHandler(new File(template));
+	}
+
+	@Benchmark
+	public void write() throws ExportException, IOException
+	{
+		try (BufferedWriter out = BenchmarkSupport.nullWriter())
+		{
+			handler.write(pc, out);
+		}
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import pcgen.util.PJEP;
+import pcgen.util.PjepPool;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of evaluating JEP formulas through the PjepPool, as
+ * VariableProcessor does, with increasing numbers of threads. The throughput
+ * should grow with the thread count up to the number of available cores.
+ *
+ * The formula uses functions provided by the JEP plugins, so the plugins are
+ * loaded before the benchmark is run. A formula that cannot be parsed or
+ * evaluated fails the run rather than measuring the error path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FormulaBenchmark
+{
+
+	private static final String FORMULA = "max(STR,DEX)+floor((LEVEL+1)/2)*3";
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException
+	{
+		BenchmarkSupport.initialize();
+		evaluate();
+	}
+
+	@Benchmark
+	@Threads(1)
+	public Object threads1()
+	{
+		return evaluate();
+	}
+
+	@Benchmark
+	@Threads(2)
+	public Object threads2()
+	{
+		return evaluate();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Object threads4()
+	{
+		return evaluate();
+	}
+
+	@Benchmark
+	@Threads(8)
+	public Object threads8()
+	{
+		return evaluate();
+	}
+
+	private static Object evaluate()
+	{
+		PjepPool pool = PjepPool.getInstance();
+		PJEP parser = pool.aquire(null, "");
+		try
+		{
+			parser.parseExpression(FORMULA);
+			if (parser.hasError())
+			{
+				throw new IllegalStateException("Unable to parse " + FORMULA + ": " + parser.getErrorInfo());
+			}
+			parser.addVariable("STR", 16);
+			parser.addVariable("DEX", 14);
+			parser.addVariable("LEVEL", 5);
+			Object value = parser.getValueAsObject();
+			if (value == null)
+			{
+				throw new IllegalStateException("Unable to evaluate " + FORMULA + ": " + parser.getErrorInfo());
+			}
+			return value;
+		}
+		finally
+		{
+			pool.release(parser);
+		}
+	}
+}
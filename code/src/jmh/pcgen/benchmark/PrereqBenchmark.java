@@ -0,0 +1,90 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import pcgen.core.Ability;
+import pcgen.core.AbilityCategory;
+import pcgen.core.Globals;
+import pcgen.core.PlayerCharacter;
+import pcgen.core.prereq.PrereqHandler;
+import pcgen.facade.core.DataSetFacade;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures testing the prerequisites of every ability in the loaded data
+ * against a character, as is done when the ability chooser is filled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PrereqBenchmark
+{
+
+	@Param({BenchmarkSupport.CHARACTER_35E, BenchmarkSupport.CHARACTER_PATHFINDER})
+	public String character;
+
+	private PlayerCharacter pc;
+
+	private final List<Ability> abilities = new ArrayList<>();
+
+	@Setup
+	public void setUp() throws IOException
+	{
+		DataSetFacade dataset = BenchmarkSupport.loadData(character);
+		pc = BenchmarkSupport.readCharacter(character, dataset);
+		for (AbilityCategory category : dataset.getGameMode().getAllAbilityCategories())
+		{
+			if (category.getParentCategory() == category)
+			{
+				abilities.addAll(
+					Globals.getContext().getReferenceContext().getManufacturerId(category).getAllObjects());
+			}
+		}
+	}
+
+	@Benchmark
+	public int passesAll()
+	{
+		int passed = 0;
+		for (Ability ability : abilities)
+		{
+			if (PrereqHandler.passesAll(ability, pc, ability))
+			{
+				passed++;
+			}
+		}
+		return passed;
+	}
+}
@@ -0,0 +1,230 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.cdom.facet.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import pcgen.AbstractCharacterTestCase;
+import pcgen.cdom.enumeration.CharID;
+import pcgen.cdom.facet.FacetLibrary;
+import pcgen.core.Equipment;
+import pcgen.core.EquipmentList;
+import pcgen.core.PlayerCharacter;
+import pcgen.util.TestHelper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The Class {@code TotalWeightFacetTest} verifies that the weights held by
+ * TotalWeightFacet are recalculated when the carried Equipment changes, and
+ * match the weights calculated by Equipment.
+ */
+public class TotalWeightFacetTest extends AbstractCharacterTestCase
+{
+	private static final double DELTA = 0.0001;
+
+	private TotalWeightFacet facet;
+	private PlayerCharacter pc;
+	private CharID id;
+
+	@BeforeEach
+	@Override
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		TestHelper.makeEquipment("Rope\tTYPE:Goods\tSIZE:M\tWT:10");
+		TestHelper.makeEquipment("Torch\tTYPE:Goods\tSIZE:M\tWT:1");
+		TestHelper.makeEquipment("Backpack\tTYPE:Goods.CONTAINER\tSIZE:M\tWT:2\tCONTAINS:UNLIM");
+		TestHelper.makeEquipment("Pouch\tTYPE:Goods.CONTAINER\tSIZE:M\tWT:0.5\tCONTAINS:UNLIM");
+		facet = FacetLibrary.getFacet(TotalWeightFacet.class);
+		pc = getCharacter();
+		id = pc.getCharID();
+	}
+
+	/**
+	 * Verify the total weight is recalculated when the quantity carried of an
+	 * item changes, and is otherwise reused.
+	 */
+	@Test
+	public void testQuantityChange()
+	{
+		Equipment rope = carry("Rope", 1.0f);
+		double ropeWeight = rope.getWeightAsDouble(pc);
+		Float total = facet.getTotalWeight(id);
+		assertEquals(ropeWeight, total, DELTA, "Weight of one rope");
+		assertSame(total, facet.getTotalWeight(id), "Unchanged weight should be reused");
+
+		rope.setQty(3.0);
+		rope.setNumberCarried(3.0f);
+		pc.setDirty(true);
+		assertEquals(3 * ropeWeight, facet.getTotalWeight(id), DELTA, "Weight of three ropes");
+	}
+
+	/**
+	 * Verify the total weight is recalculated when an item stops being
+	 * carried.
+	 */
+	@Test
+	public void testCarriedChange()
+	{
+		Equipment rope = carry("Rope", 1.0f);
+		Equipment torch = carry("Torch", 2.0f);
+		assertEquals(rope.getWeightAsDouble(pc) + 2 * torch.getWeightAsDouble(pc), facet.getTotalWeight(id), DELTA,
+			"Weight of rope and torches");
+
+		rope.setNumberCarried(0.0f);
+		pc.setDirty(true);
+		assertEquals(2 * torch.getWeightAsDouble(pc), facet.getTotalWeight(id), DELTA,
+			"Rope no longer carried");
+	}
+
+	/**
+	 * Verify the total weight and contained weight are recalculated when the
+	 * contents of a container change, and match the contained weight
+	 * calculated by Equipment.
+	 */
+	@Test
+	public void testContentsChange()
+	{
+		Equipment backpack = carry("Backpack", 1.0f);
+		double backpackWeight = backpack.getWeightAsDouble(pc);
+		Equipment torch = carry("Torch", 2.0f);
+		assertEquals(backpackWeight + 2 * torch.getWeightAsDouble(pc), facet.getTotalWeight(id), DELTA,
+			"Weight of backpack and torches");
+		assertEquals(0.0, facet.getContainedWeight(id, backpack), DELTA, "Backpack is empty");
+
+		putInto(backpack, torch);
+		assertEquals(backpack.getContainedWeight(pc), facet.getContainedWeight(id, backpack), DELTA,
+			"Contained weight should match Equipment");
+		assertEquals(2 * torch.getWeightAsDouble(pc), facet.getContainedWeight(id, backpack), DELTA,
+			"Backpack holds the torches");
+		assertEquals(backpackWeight + 2 * torch.getWeightAsDouble(pc), facet.getTotalWeight(id), DELTA,
+			"Torches are now counted through the backpack");
+
+		Equipment rope = carry("Rope", 1.0f);
+		putInto(backpack, rope);
+		assertEquals(backpack.getContainedWeight(pc), facet.getContainedWeight(id, backpack), DELTA,
+			"Contained weight should match Equipment after adding rope");
+		assertEquals(backpackWeight + backpack.getContainedWeight(pc), facet.getTotalWeight(id), DELTA,
+			"Rope is now counted through the backpack");
+	}
+
+	/**
+	 * Verify the contained weight of nested containers matches the contained
+	 * weight calculated by Equipment.
+	 */
+	@Test
+	public void testNestedContainers()
+	{
+		Equipment backpack = carry("Backpack", 1.0f);
+		Equipment pouch = carry("Pouch", 1.0f);
+		Equipment torch = carry("Torch", 3.0f);
+		putInto(pouch, torch);
+		putInto(backpack, pouch);
+
+		assertEquals(pouch.getContainedWeight(pc), facet.getContainedWeight(id, pouch), DELTA,
+			"Pouch contained weight should match Equipment");
+		assertEquals(backpack.getContainedWeight(pc), facet.getContainedWeight(id, backpack), DELTA,
+			"Backpack contained weight should match Equipment");
+		assertEquals(backpack.getWeightAsDouble(pc) + backpack.getContainedWeight(pc), facet.getTotalWeight(id),
+			DELTA, "Total weight should include the nested contents");
+	}
+
+	/**
+	 * Verify the total weight is recalculated when the number carried of an
+	 * item is changed directly, without the character being marked as
+	 * changed.
+	 */
+	@Test
+	public void testCarriedChangedDirectly()
+	{
+		Equipment rope = carry("Rope", 1.0f);
+		double ropeWeight = rope.getWeightAsDouble(pc);
+		assertEquals(ropeWeight, facet.getTotalWeight(id), DELTA, "Weight of one rope");
+
+		rope.setCarried(2.0f);
+		assertEquals(2 * ropeWeight, facet.getTotalWeight(id), DELTA, "Weight after setCarried");
+
+		rope.setNumberCarried(0.0f);
+		assertEquals(0.0, facet.getTotalWeight(id), DELTA, "Weight after setNumberCarried");
+	}
+
+	/**
+	 * Verify the total weight and contained weight are recalculated when the
+	 * contents of a container, or the quantity of an item it holds, are
+	 * changed directly, without the character being marked as changed.
+	 */
+	@Test
+	public void testContentsChangedDirectly()
+	{
+		Equipment backpack = carry("Backpack", 1.0f);
+		double backpackWeight = backpack.getWeightAsDouble(pc);
+		Equipment torch = carry("Torch", 2.0f);
+		double torchWeight = torch.getWeightAsDouble(pc);
+		assertEquals(backpackWeight + 2 * torchWeight, facet.getTotalWeight(id), DELTA,
+			"Weight of backpack and torches");
+		assertEquals(0.0, facet.getContainedWeight(id, backpack), DELTA, "Backpack is empty");
+
+		backpack.insertChild(pc, torch);
+		assertEquals(2 * torchWeight, facet.getContainedWeight(id, backpack), DELTA,
+			"Backpack holds the torches after insertChild");
+		assertEquals(backpackWeight + 2 * torchWeight, facet.getTotalWeight(id), DELTA,
+			"Torches are counted through the backpack after insertChild");
+
+		torch.setQty(3.0);
+		assertEquals(3 * torchWeight, facet.getContainedWeight(id, backpack), DELTA,
+			"Backpack holds three torches after setQty");
+		assertEquals(backpackWeight + 3 * torchWeight, facet.getTotalWeight(id), DELTA,
+			"Weight after setQty");
+
+		backpack.removeChild(pc, torch);
+		assertEquals(0.0, facet.getContainedWeight(id, backpack), DELTA, "Backpack is empty after removeChild");
+		assertEquals(backpackWeight + 2 * torchWeight, facet.getTotalWeight(id), DELTA,
+			"Torches are carried directly after removeChild");
+	}
+
+	/**
+	 * Add the named item to the character's equipment as carried.
+	 *
+	 * @param name The name of the item
+	 * @param qty The number of the item to carry
+	 * @return The item added to the character
+	 */
+	private Equipment carry(String name, float qty)
+	{
+		Equipment eq = EquipmentList.getEquipmentFromName(name, pc);
+		eq.setQty(qty);
+		eq.setNumberCarried(qty);
+		pc.addEquipment(eq);
+		return eq;
+	}
+
+	/**
+	 * Move an item into a container, as is done when the equipment set is
+	 * rebuilt, and mark the character as changed.
+	 *
+	 * @param container The container to put the item in
+	 * @param item The item
+	 */
+	private void putInto(Equipment container, Equipment item)
+	{
+		container.insertChild(pc, item);
+		item.setParent(container);
+		pc.setDirty(true);
+	}
+}
@@ -19,9 +19,12 @@ package pcgen.core;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import pcgen.cdom.base.Constants;
 import pcgen.core.prereq.Prerequisite;
@@ -141,6 +144,63 @@ class DataSetTest
 		assertEquals(dodge, abilities.get(0), "Spring Attack prereq should be dodge");
 		assertEquals(mobility, abilities.get(1), "Spring Attack prereq should be mobility");
 	}
+
+	/**
+	 * Verify the AbilityIndex is built when it is first used rather than when
+	 * the DataSet is constructed.
+	 *
+	 * @throws PersistenceLayerException the persistence layer exception
+	 */
+	@Test
+	public void testAbilityIndexBuiltOnFirstUse() throws PersistenceLayerException
+	{
+		TestHelper.makeAbility("Acrobatics", BuildUtilities.getFeatCat(), "general");
+		Ability dodge = TestHelper.makeAbility("Dodge", BuildUtilities.getFeatCat(), "general");
+		Ability mobility = TestHelper.makeAbility("Mobility", BuildUtilities.getFeatCat(), "general");
+
+		DataSet dataset =
+				new DataSet(Globals.getContext(), SettingsHandler.getGameAsProperty().get(),
+					new DefaultListFacade<>());
+		PreAbilityParser parser = new PreAbilityParser();
+		mobility.addPrerequisite(parser.parse("ability", "1,CATEGORY=FEAT,KEY_Dodge", false, false));
+		mobility.addPrerequisite(parser.parse("ability", "1,CATEGORY=FEAT,KEY_Acrobatics", true, false));
+
+		AbilityIndex index = dataset.getAbilityIndex();
+		assertSame(index, dataset.getAbilityIndex(), "The index should only be built once");
+		assertEquals(List.of(dodge), index.getPrereqAbilities(mobility),
+			"Mobility prereq should be dodge, ignoring the negated prereq");
+		assertTrue(index.getPrereqAbilities(dodge).isEmpty(), "Dodge prereq should be empty");
+	}
+
+	/**
+	 * Verify the abilities requiring an ability are found through both named
+	 * and TYPE prerequisites.
+	 *
+	 * @throws PersistenceLayerException the persistence layer exception
+	 */
+	@Test
+	public void testGetAbilitiesRequiring() throws PersistenceLayerException
+	{
+		Ability acrobatics = TestHelper.makeAbility("Acrobatics", BuildUtilities.getFeatCat(), "Nimble");
+		Ability dodge = TestHelper.makeAbility("Dodge", BuildUtilities.getFeatCat(), "Nimble.Defensive");
+		Ability mobility = TestHelper.makeAbility("Mobility", BuildUtilities.getFeatCat(), "general");
+		Ability tumble = TestHelper.makeAbility("Tumble", BuildUtilities.getFeatCat(), "general");
+		PreAbilityParser parser = new PreAbilityParser();
+		mobility.addPrerequisite(parser.parse("ability", "1,CATEGORY=FEAT,KEY_Dodge", false, false));
+		mobility.addPrerequisite(parser.parse("ability", "1,CATEGORY=FEAT,KEY_Acrobatics", true, false));
+		tumble.addPrerequisite(parser.parse("ability", "1,CATEGORY=FEAT,TYPE=Nimble.Defensive", false, false));
+
+		DataSet dataset =
+				new DataSet(Globals.getContext(), SettingsHandler.getGameAsProperty().get(),
+					new DefaultListFacade<>());
+		assertEquals(Set.of(mobility, tumble), new HashSet<>(dataset.getAbilitiesRequiring(dodge)),
+			"Dodge should be required by name and by type");
+		assertTrue(dataset.getAbilitiesRequiring(acrobatics).isEmpty(),
+			"Acrobatics should only be required by a negated prereq");
+		assertTrue(dataset.getAbilitiesRequiring(tumble).isEmpty(), "Tumble should not be required");
+		assertEquals(Set.of(acrobatics, dodge), new HashSet<>(dataset.getAbilityIndex().getAbilitiesOfType("TYPE=Nimble")),
+			"Both abilities should be of type Nimble");
+	}
 	
 	/**
 	 * @param locations
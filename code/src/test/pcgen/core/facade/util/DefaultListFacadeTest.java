@@ -18,6 +18,8 @@
 package pcgen.core.facade.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -158,35 +160,108 @@ class DefaultListFacadeTest
 		assertEquals(0, listener.modifyCount, "Incorrect number of modifies");
 	}
 
+	/**
+	 * Test method for {@link pcgen.facade.util.AbstractListFacade#commitBatch()}.
+	 */
+	@Test
+	public void testBatchFiresSingleChange()
+	{
+		TestListener listener = new TestListener();
+		DefaultListFacade<String> theList = new DefaultListFacade<>(Arrays.asList("A", "B"));
+		theList.addListListener(listener);
+		theList.beginBatch();
+		theList.addElement("C");
+		theList.addElement("D");
+		theList.removeElement("A");
+		assertEquals(0, listener.eventCount(), "No events should be sent during a batch");
+		theList.commitBatch();
+		assertEquals(Arrays.asList("B", "C", "D"), theList.getContents(), "Changes should all be applied");
+		assertEquals(0, listener.addCount, "Incorrect number of adds");
+		assertEquals(0, listener.removeCount, "Incorrect number of removes");
+		assertEquals(1, listener.changeCount, "Incorrect number of changes");
+		assertEquals(0, listener.modifyCount, "Incorrect number of modifies");
+		assertSame(theList, listener.lastSource, "The change should come from the list");
+	}
+
+	/**
+	 * Test method for {@link pcgen.facade.util.AbstractListFacade#commitBatch()}.
+	 */
+	@Test
+	public void testNestedBatch()
+	{
+		TestListener listener = new TestListener();
+		DefaultListFacade<String> theList = new DefaultListFacade<>();
+		theList.addListListener(listener);
+		theList.beginBatch();
+		theList.addElement("A");
+		theList.beginBatch();
+		theList.addElement("B");
+		theList.commitBatch();
+		assertEquals(0, listener.eventCount(), "No events should be sent by an inner batch");
+		theList.addElement("C");
+		theList.commitBatch();
+		assertEquals(1, listener.changeCount, "Incorrect number of changes");
+		assertEquals(1, listener.eventCount(), "Only one event should be sent");
+
+		theList.addElement("D");
+		assertEquals(1, listener.addCount, "Events should be sent once the batch is committed");
+	}
+
+	/**
+	 * Test method for {@link pcgen.facade.util.AbstractListFacade#commitBatch()}.
+	 */
+	@Test
+	public void testUnchangedBatch()
+	{
+		TestListener listener = new TestListener();
+		DefaultListFacade<String> theList = new DefaultListFacade<>(Arrays.asList("A"));
+		theList.addListListener(listener);
+		theList.beginBatch();
+		theList.commitBatch();
+		assertEquals(0, listener.eventCount(), "An unchanged list should send no event");
+		assertThrows(IllegalStateException.class, theList::commitBatch,
+			"Committing without a batch should fail");
+	}
+
 	private static class TestListener implements ListListener<String>
 	{
 		int addCount = 0;
 		int removeCount = 0;
 		int changeCount = 0;
 		int modifyCount = 0;
+		Object lastSource = null;
+
+		int eventCount()
+		{
+			return addCount + removeCount + changeCount + modifyCount;
+		}
 
 		@Override
 		public void elementAdded(ListEvent<String> e)
 		{
 			addCount++;
+			lastSource = e.getSource();
 		}
 
 		@Override
 		public void elementRemoved(ListEvent<String> e)
 		{
 			removeCount++;
+			lastSource = e.getSource();
 		}
 
 		@Override
 		public void elementsChanged(ListEvent<String> e)
 		{
 			changeCount++;
+			lastSource = e.getSource();
 		}
 
 		@Override
 		public void elementModified(ListEvent<String> e)
 		{
 			modifyCount++;
+			lastSource = e.getSource();
 		}
 
 	}
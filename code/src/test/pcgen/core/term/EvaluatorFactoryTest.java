@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.lang.reflect.Field;
@@ -11478,6 +11479,21 @@ class EvaluatorFactoryTest
 		rc.reassociateKey("CHA", cha);
 	}
 
+	@Test
+	public void testGetTermEvaluatorCached()
+	{
+		EvaluatorFactoryTest.loadAll();
+
+		TermEvaluator t = EvaluatorFactory.PC.getTermEvaluator("ACCHECK", "");
+		assertSame(t, EvaluatorFactory.PC.getTermEvaluator("ACCHECK", ""), "Evaluator is reused");
+
+		// Neither starts with the key of a builder, nor matches an entire term
+		assertNull(EvaluatorFactory.PC.getTermEvaluator("MyDefinedVariable", ""));
+		assertNull(EvaluatorFactory.PC.getTermEvaluator("MyDefinedVariable", ""));
+		assertNull(EvaluatorFactory.PC.getTermEvaluator("BABX", ""));
+		assertNull(EvaluatorFactory.PC.getTermEvaluator("BABX", "CLASS:Fighter"));
+	}
+
 	/**
 	 * Load and initialise the properties, plugins and GameModes
 	 */
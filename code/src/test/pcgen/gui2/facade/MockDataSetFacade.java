@@ -17,6 +17,7 @@
  */
 package pcgen.gui2.facade;
 
+import java.util.Collections;
 import java.util.List;
 
 import pcgen.core.AbilityCategory;
@@ -80,6 +81,18 @@ public class MockDataSetFacade implements DataSetFacade
 		return null;
 	}
 
+	@Override
+	public List<AbilityFacade> getAbilitiesRequiring(AbilityFacade abilityFacade)
+	{
+		return Collections.emptyList();
+	}
+
+	@Override
+	public List<AbilityFacade> getAbilitiesGranting(AbilityFacade abilityFacade)
+	{
+		return Collections.emptyList();
+	}
+
 	/**
 	 * Add an AbilityCategory to the list
 	 * @param cat The AbilityCategory to be added.
@@ -20,6 +20,11 @@ package pcgen.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashSet;
+import java.util.Set;
 
 import pcgen.AbstractCharacterTestCase;
 import pcgen.cdom.base.FormulaFactory;
@@ -317,4 +322,22 @@ public class PJepTest extends AbstractCharacterTestCase
 					"IF(var(\"UseAlternateDamage\")==2,-2,5)", "");
 		assertEquals(-2, val.doubleValue(), 0.1, "Test should have returned -2");
 	}
+
+	@Test
+	public void testParseCachedExpression()
+	{
+		final PJEP jep = new PJEP();
+
+		PJEP.ParsedExpression expression = jep.parseCachedExpression("IF(MONKLVL<=4,-2,0)");
+		assertSame(expression, jep.parseCachedExpression("IF(MONKLVL<=4,-2,0)"), "Parse should be reused");
+		assertEquals(Set.of("MONKLVL"), new HashSet<>(expression.getVariableNames()));
+
+		expression.setVariable("MONKLVL", 3);
+		assertEquals(-2.0, ((Number) jep.getValueAsObject(expression)).doubleValue(), 0.001);
+		expression.setVariable("MONKLVL", 5);
+		assertEquals(0.0, ((Number) jep.getValueAsObject(expression)).doubleValue(), 0.001);
+		assertFalse(jep.hasError());
+
+		assertNull(jep.parseCachedExpression("max(5,"), "Unparsable expression");
+	}
 }
@@ -0,0 +1,89 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.cdom.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import pcgen.base.formula.Formula;
+import pcgen.core.prereq.Prerequisite;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LoadInternerTest
+{
+	private LoadInterner interner;
+
+	@BeforeEach
+	void setUp()
+	{
+		interner = new LoadInterner();
+		LoadInterner.setActive(interner);
+	}
+
+	@AfterEach
+	void tearDown()
+	{
+		LoadInterner.setActive(null);
+	}
+
+	@Test
+	void testStrings()
+	{
+		String first = new String("Weapon.Melee.Simple");
+		String second = new String("Weapon.Melee.Simple");
+		assertSame(first, LoadInterner.intern(first));
+		assertSame(first, LoadInterner.intern(second));
+		assertTrue(interner.getBytesSaved() > 0);
+	}
+
+	@Test
+	void testFormulas()
+	{
+		Formula formula = FormulaFactory.getFormulaFor("CL+1");
+		assertSame(formula, FormulaFactory.getFormulaFor(new String("CL+1")));
+		assertSame(FormulaFactory.getFormulaFor("5"), FormulaFactory.getFormulaFor("5"));
+		LoadInterner.setActive(null);
+		Formula notInterned = FormulaFactory.getFormulaFor("CL+1");
+		assertNotSame(formula, notInterned);
+		assertEquals(formula, notInterned);
+	}
+
+	@Test
+	void testPrerequisites()
+	{
+		Prerequisite first = createPrerequisite();
+		Prerequisite second = createPrerequisite();
+		assertSame(first, LoadInterner.internPrerequisite("PRELEVEL:MIN=5", first));
+		assertSame(first, LoadInterner.internPrerequisite("PRELEVEL:MIN=5", second));
+		// Parsed by PreParserFactory, so not shared with the token result
+		assertSame(second, LoadInterner.internParsedPrerequisite("PRELEVEL:MIN=5", second));
+		assertTrue(interner.getReport().contains("Prerequisites: 2 distinct, 1 duplicates replaced"));
+	}
+
+	private static Prerequisite createPrerequisite()
+	{
+		Prerequisite prereq = new Prerequisite();
+		prereq.setKind(new String("level"));
+		prereq.setKey(new String("MIN"));
+		prereq.setOperand(new String("5"));
+		return prereq;
+	}
+}
@@ -0,0 +1,46 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.cdom.enumeration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class PCChangeCategoryTest
+{
+	@Test
+	public void testRules()
+	{
+		assertFalse(PCChangeCategory.RULES.contains(PCChangeCategory.TEXT));
+		assertFalse(PCChangeCategory.RULES.contains(PCChangeCategory.DISPLAY));
+		assertTrue(PCChangeCategory.RULES.contains(PCChangeCategory.BIO));
+		assertTrue(PCChangeCategory.RULES.contains(PCChangeCategory.EQUIPMENT));
+		assertEquals(PCChangeCategory.values().length - 2, PCChangeCategory.RULES.size());
+	}
+
+	@Test
+	public void testStringKeyCategory()
+	{
+		assertEquals(PCChangeCategory.TEXT, PCChangeCategory.getCategory(PCStringKey.NAME));
+		assertEquals(PCChangeCategory.TEXT, PCChangeCategory.getCategory(PCStringKey.GMNOTES));
+		assertEquals(PCChangeCategory.BIO, PCChangeCategory.getCategory(PCStringKey.BIRTHPLACE));
+		assertEquals(PCChangeCategory.BIO, PCChangeCategory.getCategory(PCStringKey.CITY));
+		assertTrue(PCChangeCategory.RULES.contains(PCChangeCategory.getCategory(PCStringKey.ASSETS)),
+			"Assets are counted by variables");
+	}
+}
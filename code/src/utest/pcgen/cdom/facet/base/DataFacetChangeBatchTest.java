@@ -0,0 +1,153 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.cdom.facet.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import pcgen.cdom.enumeration.CharID;
+import pcgen.cdom.enumeration.DataSetID;
+import pcgen.cdom.facet.event.BatchedDataFacetChangeListener;
+import pcgen.cdom.facet.event.DataFacetChangeEvent;
+import pcgen.cdom.facet.event.DataFacetChangeListener;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DataFacetChangeBatchTest
+{
+	private CharID id;
+	private CharID altid;
+
+	private final SourcedFacet facet = new SourcedFacet();
+	private final Listener batched = new Listener();
+	private final List<DataFacetChangeEvent<CharID, String>> immediate = new ArrayList<>();
+
+	@BeforeEach
+	void setUp()
+	{
+		DataSetID cid = DataSetID.getID();
+		id = CharID.getID(cid);
+		altid = CharID.getID(cid);
+		facet.addDataFacetChangeListener(batched);
+		facet.addDataFacetChangeListener(new DataFacetChangeListener<CharID, String>()
+		{
+			@Override
+			public void dataAdded(DataFacetChangeEvent<CharID, String> dfce)
+			{
+				immediate.add(dfce);
+			}
+
+			@Override
+			public void dataRemoved(DataFacetChangeEvent<CharID, String> dfce)
+			{
+				immediate.add(dfce);
+			}
+		});
+	}
+
+	@Test
+	void testEventsDeliveredOnCommit()
+	{
+		DataFacetChangeBatch.begin(id);
+		try
+		{
+			facet.add(id, "A", this);
+			facet.add(id, "B", this);
+			facet.add(altid, "C", this);
+			assertEquals(3, immediate.size(), "Other listeners receive each event immediately");
+			assertEquals(1, batched.individual, "Only the event for another CharID is not held");
+			assertTrue(batched.batches.isEmpty());
+		}
+		finally
+		{
+			DataFacetChangeBatch.commit(id);
+		}
+		assertEquals(1, batched.batches.size());
+		List<DataFacetChangeEvent<CharID, String>> events = batched.batches.get(0);
+		assertEquals(2, events.size());
+		assertEquals("A", events.get(0).getCDOMObject());
+		assertEquals("B", events.get(1).getCDOMObject());
+	}
+
+	@Test
+	void testNestedAndCancelled()
+	{
+		DataFacetChangeBatch.begin(id);
+		try
+		{
+			facet.add(id, "A", this);
+			DataFacetChangeBatch.begin(id);
+			try
+			{
+				facet.add(id, "B", this);
+				facet.remove(id, "A", this);
+			}
+			finally
+			{
+				DataFacetChangeBatch.commit(id);
+			}
+			assertTrue(batched.batches.isEmpty(), "Delivered only by the outermost commit");
+		}
+		finally
+		{
+			DataFacetChangeBatch.commit(id);
+		}
+		assertEquals(1, batched.batches.size());
+		List<DataFacetChangeEvent<CharID, String>> events = batched.batches.get(0);
+		assertEquals(1, events.size(), "An add and remove of the same object cancel out");
+		assertEquals("B", events.get(0).getCDOMObject());
+		assertEquals(0, batched.individual);
+	}
+
+	@Test
+	void testCommitWithoutBegin()
+	{
+		assertThrows(IllegalStateException.class, () -> DataFacetChangeBatch.commit(id));
+	}
+
+	private static final class Listener implements BatchedDataFacetChangeListener<CharID, String>
+	{
+		private int individual;
+		private final List<List<DataFacetChangeEvent<CharID, String>>> batches = new ArrayList<>();
+
+		@Override
+		public void dataAdded(DataFacetChangeEvent<CharID, String> dfce)
+		{
+			individual++;
+		}
+
+		@Override
+		public void dataRemoved(DataFacetChangeEvent<CharID, String> dfce)
+		{
+			individual++;
+		}
+
+		@Override
+		public void dataChanged(List<DataFacetChangeEvent<CharID, String>> events)
+		{
+			batches.add(events);
+		}
+	}
+
+	private static final class SourcedFacet extends AbstractSourcedListFacet<CharID, String>
+	{
+	}
+}
@@ -0,0 +1,204 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.cdom.reference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import pcgen.cdom.base.BasicClassIdentity;
+import pcgen.core.Language;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AbstractReferenceManufacturerTest
+{
+
+	private SimpleReferenceManufacturer<Language> mfg;
+
+	@BeforeEach
+	void setUp()
+	{
+		mfg = new SimpleReferenceManufacturer<>(new CDOMFactory<>(BasicClassIdentity.getIdentity(Language.class)));
+	}
+
+	/**
+	 * Sorts every single character (and every supplementary character) by
+	 * String.CASE_INSENSITIVE_ORDER. Each run of Strings that compare equal
+	 * must fold to one value, and no two runs may fold to the same value.
+	 */
+	@Test
+	void testCaseFoldMatchesCaseInsensitiveOrder()
+	{
+		List<String> all = new ArrayList<>(Character.MAX_CODE_POINT + 1);
+		for (int cp = Character.MIN_CODE_POINT; cp <= Character.MAX_CODE_POINT; cp++)
+		{
+			all.add(new String(Character.toChars(cp)));
+		}
+		all.sort(String.CASE_INSENSITIVE_ORDER);
+		Set<String> folds = new HashSet<>();
+		String previous = null;
+		String runFold = null;
+		for (String s : all)
+		{
+			String fold = AbstractReferenceManufacturer.caseFold(s);
+			if ((previous == null) || (String.CASE_INSENSITIVE_ORDER.compare(previous, s) != 0))
+			{
+				assertTrue(folds.add(fold), () -> "Different under CASE_INSENSITIVE_ORDER, same fold: " + s);
+				runFold = fold;
+			}
+			else
+			{
+				assertEquals(runFold, fold, () -> "Equal under CASE_INSENSITIVE_ORDER, different fold: " + s);
+			}
+			previous = s;
+		}
+	}
+
+	@Test
+	void testCaseFoldStrings()
+	{
+		String[][] pairs = {{"Dwarven", "DWARVEN"}, {"Ability Focus", "ability focus"}, {"Stra\u00DFe", "STRA\u00DFE"},
+			{"\u0130stanbul", "i\u0307stanbul"}, {"\u03A3\u03B1", "\u03C3\u0391"}, {"Dwarven", "Dwarves"},
+			{"", ""}, {"a\uD801", "A\uD801"}};
+		for (String[] pair : pairs)
+		{
+			String a = pair[0];
+			String b = pair[1];
+			assertEquals(String.CASE_INSENSITIVE_ORDER.compare(a, b) == 0,
+				AbstractReferenceManufacturer.caseFold(a).equals(AbstractReferenceManufacturer.caseFold(b)),
+				() -> a + " vs " + b);
+		}
+		String unchanged = "already folded";
+		assertSame(unchanged, AbstractReferenceManufacturer.caseFold(unchanged));
+	}
+
+	@Test
+	void testAddObject()
+	{
+		Language common = build("Common");
+		Language dwarven = build("Dwarven");
+		Language dupe = build("DWARVEN");
+		mfg.addObject(common, "Common");
+		mfg.addObject(dwarven, "Dwarven");
+		mfg.addObject(dupe, "DWARVEN");
+		assertActive(Map.of("Common", common, "Dwarven", dwarven));
+	}
+
+	@Test
+	void testForgetObjectPromotesDuplicate()
+	{
+		Language dwarven = build("Dwarven");
+		Language dupe = build("dwarven");
+		mfg.addObject(dwarven, "Dwarven");
+		mfg.addObject(dupe, "dwarven");
+		assertTrue(mfg.forgetObject(dwarven));
+		assertActive(Map.of("Dwarven", dupe));
+		assertTrue(mfg.forgetObject(dupe));
+		assertActive(Map.of());
+		assertNull(mfg.getActiveObject("Dwarven"));
+		assertFalse(mfg.containsObjectKeyed("dwarven"));
+	}
+
+	@Test
+	void testForgetDuplicateKeepsActive()
+	{
+		Language dwarven = build("Dwarven");
+		Language dupe = build("Dwarven");
+		mfg.addObject(dwarven, "Dwarven");
+		mfg.addObject(dupe, "Dwarven");
+		assertTrue(mfg.forgetObject(dupe));
+		assertActive(Map.of("Dwarven", dwarven));
+	}
+
+	@Test
+	void testRenameObject()
+	{
+		Language lang = build("Dwarvish");
+		mfg.addObject(lang, "Dwarvish");
+		mfg.renameObject("Dwarven", lang);
+		assertActive(Map.of("Dwarven", lang));
+		assertNull(mfg.getActiveObject("Dwarvish"));
+		assertFalse(mfg.containsObjectKeyed("DWARVISH"));
+
+		Language other = build("Elven");
+		mfg.addObject(other, "Elven");
+		Language renamed = build("Gnome");
+		mfg.addObject(renamed, "Gnome");
+		mfg.renameObject("ELVEN", renamed);
+		assertActive(Map.of("Dwarven", lang, "Elven", other));
+		mfg.forgetObject(other);
+		assertActive(Map.of("Dwarven", lang, "Elven", renamed));
+	}
+
+	@Test
+	void testTypeReferencesShareAcrossCaseAndOrder()
+	{
+		CDOMGroupRef<Language> ref = mfg.getTypeReference("A", "b");
+		assertSame(ref, mfg.getTypeReference("b", "A"));
+		assertSame(ref, mfg.getTypeReference("a", "B"));
+		assertSame(ref, mfg.getTypeReference("B", "a"));
+		CDOMGroupRef<Language> single = mfg.getTypeReference("A");
+		assertSame(single, mfg.getTypeReference("a"));
+		assertNotSame(ref, single);
+		CDOMGroupRef<Language> triple = mfg.getTypeReference("A", "b", "c");
+		assertNotSame(ref, triple);
+		assertEquals(3, mfg.getTypeReferences().size());
+	}
+
+	private static Language build(String name)
+	{
+		Language lang = new Language();
+		lang.setName(name);
+		return lang;
+	}
+
+	/**
+	 * Checks that the keyed lookups agree with the list of all objects. The
+	 * lookups read the hashed index, while the list reads the KeyMap.
+	 */
+	private void assertActive(Map<String, Language> expected)
+	{
+		Set<Language> all = Collections.newSetFromMap(new IdentityHashMap<>());
+		all.addAll(mfg.getAllObjects());
+		Set<Language> expectedObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+		expectedObjects.addAll(expected.values());
+		assertEquals(expectedObjects, all);
+		assertEquals(expected.size(), mfg.getAllObjects().size());
+		for (Map.Entry<String, Language> me : expected.entrySet())
+		{
+			String key = me.getKey();
+			for (String variant : List.of(key, key.toUpperCase(Locale.ENGLISH), key.toLowerCase(Locale.ENGLISH)))
+			{
+				assertSame(me.getValue(), mfg.getActiveObject(variant), variant);
+				assertTrue(mfg.containsObjectKeyed(variant), variant);
+			}
+		}
+	}
+}
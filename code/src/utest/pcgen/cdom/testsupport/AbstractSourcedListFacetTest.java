@@ -866,6 +866,31 @@ public abstract class AbstractSourcedListFacetTest<T>
 		assertTrue(setofone.contains(t1));
 	}
 
+	@Test
+	public void testCopyContentsSourceIndependence()
+	{
+		Object source1 = new Object();
+		Object source2 = new Object();
+		T t1 = getObject();
+		T t2 = getAltObject();
+		getFacet().add(id, t1, source1);
+		getFacet().copyContents(id, altid);
+		// Adding a source to the copy must not add it to the original
+		getFacet().add(altid, t1, source2);
+		assertTrue(getFacet().containsFrom(altid, source2));
+		assertFalse(getFacet().containsFrom(id, source2));
+		getFacet().remove(id, t1, source1);
+		assertTrue(getFacet().isEmpty(id));
+		assertEquals(1, getFacet().getCount(altid));
+		assertTrue(getFacet().containsFrom(altid, source1));
+		// Changing the original must not change the copy
+		getFacet().add(id, t2, source1);
+		assertFalse(getFacet().contains(altid, t2));
+		getFacet().removeAll(altid, source1);
+		assertTrue(getFacet().contains(id, t2));
+		assertTrue(getFacet().contains(altid, t1));
+	}
+
 	@Test
 	public void testTypeGetSetSource()
 	{
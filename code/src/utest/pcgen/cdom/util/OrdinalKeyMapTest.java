@@ -0,0 +1,99 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.cdom.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * OrdinalKeyMapTest checks that OrdinalKeyMap and OrdinalIntMap behave as a
+ * HashMap would for the same sequence of operations.
+ */
+class OrdinalKeyMapTest
+{
+
+	@Test
+	public void testAgainstHashMap()
+	{
+		Random random = new Random(42);
+		OrdinalKeyMap<Integer, String> map = new OrdinalKeyMap<>(Integer::intValue);
+		OrdinalIntMap<Integer> intMap = new OrdinalIntMap<>(Integer::intValue);
+		Map<Integer, String> expected = new HashMap<>();
+		Map<Integer, Integer> expectedInt = new HashMap<>();
+		for (int i = 0; i < 2000; i++)
+		{
+			Integer key = random.nextInt(40);
+			int value = random.nextInt(100);
+			if (random.nextInt(3) == 0)
+			{
+				assertEquals(expected.remove(key), map.remove(key));
+				assertEquals(expectedInt.remove(key), intMap.remove(key));
+			}
+			else
+			{
+				assertEquals(expected.put(key, "V" + value), map.put(key, "V" + value));
+				assertEquals(expectedInt.put(key, value), intMap.put(key, value));
+			}
+			assertEquals(expected.containsKey(key), map.containsKey(key));
+			assertEquals(expected.get(key), map.get(key));
+			assertEquals(expectedInt.get(key), intMap.get(key));
+			assertEquals(expectedInt.getOrDefault(key, -1).intValue(), intMap.getOrDefault(key, -1));
+		}
+		assertEquals(expected.keySet(), map.getKeySet());
+		assertEquals(expectedInt.keySet(), intMap.getKeySet());
+		assertEquals(expected.isEmpty(), map.isEmpty());
+	}
+
+	@Test
+	public void testCopyAndEquality()
+	{
+		OrdinalKeyMap<Integer, String> map = new OrdinalKeyMap<>(Integer::intValue);
+		map.put(5, "Five");
+		map.put(1, null);
+		OrdinalKeyMap<Integer, String> copy = new OrdinalKeyMap<>(map);
+		assertEquals(map, copy);
+		assertEquals(map.hashCode(), copy.hashCode());
+		assertTrue(copy.containsKey(1), "Null values should be held");
+		assertNull(copy.get(1));
+
+		copy.put(5, "V");
+		assertNotEquals(map, copy);
+		assertEquals("Five", map.get(5), "Copy should not change the original");
+
+		OrdinalKeyMap<Integer, String> overlay = new OrdinalKeyMap<>(Integer::intValue);
+		overlay.put(3, "Three");
+		overlay.putAll(map);
+		assertEquals(Set.of(1, 3, 5), overlay.getKeySet());
+
+		OrdinalIntMap<Integer> intMap = new OrdinalIntMap<>(Integer::intValue);
+		intMap.put(2, 20);
+		OrdinalIntMap<Integer> intCopy = new OrdinalIntMap<>(intMap);
+		assertEquals(intMap, intCopy);
+		intCopy.remove(2);
+		assertTrue(intCopy.isEmpty());
+		assertFalse(intMap.isEmpty(), "Copy should not change the original");
+	}
+}
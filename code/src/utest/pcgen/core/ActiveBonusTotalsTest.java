@@ -0,0 +1,70 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ActiveBonusTotalsTest
+{
+	private ActiveBonusTotals totals;
+
+	@BeforeEach
+	void setUp()
+	{
+		totals = new ActiveBonusTotals();
+		totals.put("COMBAT.AC", "1.0");
+		totals.put("COMBAT.AC:ARMOR", "4.0");
+		totals.put("COMBAT.AC:ARMOR.REPLACE", "6.0");
+		totals.put("COMBAT.AC:DODGE.STACK", "2.0");
+		totals.put("COMBAT.AC:LUCK.REPLACE", "-1.0");
+		totals.put("COMBAT.ACCHECK", "-3.0");
+	}
+
+	@Test
+	void testSumOfBonus()
+	{
+		// 1 + max(4, 6) + 2 + -1
+		assertEquals(8.0, totals.sum("COMBAT.AC").getAsDouble(), 0.0001);
+		assertEquals(-3.0, totals.sum("COMBAT.ACCHECK").getAsDouble(), 0.0001);
+	}
+
+	@Test
+	void testSumOfTypedBonus()
+	{
+		assertEquals(6.0, totals.sum("COMBAT.AC:ARMOR").getAsDouble(), 0.0001);
+		assertEquals(2.0, totals.sum("COMBAT.AC:DODGE").getAsDouble(), 0.0001);
+		assertEquals(-1.0, totals.sum("COMBAT.AC:LUCK").getAsDouble(), 0.0001);
+	}
+
+	@Test
+	void testNotFound()
+	{
+		assertFalse(totals.sum("COMBAT").isPresent());
+		assertFalse(totals.sum("COMBAT.AC:SACRED").isPresent());
+		assertFalse(totals.sum("COMBAT.A").isPresent());
+	}
+
+	@Test
+	void testReplacedTotal()
+	{
+		totals.put("COMBAT.AC:ARMOR.REPLACE", "2.0");
+		assertEquals(4.0, totals.sum("COMBAT.AC:ARMOR").getAsDouble(), 0.0001);
+	}
+}
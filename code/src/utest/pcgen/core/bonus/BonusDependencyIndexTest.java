@@ -0,0 +1,88 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core.bonus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import pcgen.rules.context.ConsolidatedListCommitStrategy;
+import pcgen.rules.context.LoadContext;
+import pcgen.rules.context.RuntimeLoadContext;
+import pcgen.rules.context.RuntimeReferenceContext;
+import pcgen.rules.persistence.TokenLibrary;
+import plugin.bonustokens.Combat;
+import plugin.bonustokens.Var;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * BonusDependencyIndexTest checks that the dependencies found through a
+ * BonusDependencyIndex match those found by testing every active bonus.
+ */
+class BonusDependencyIndexTest
+{
+
+	private LoadContext context;
+
+	@BeforeEach
+	void setUp() throws Exception
+	{
+		context = new RuntimeLoadContext(RuntimeReferenceContext.createRuntimeReferenceContext(),
+			new ConsolidatedListCommitStrategy());
+		TokenLibrary.addBonusClass(Combat.class);
+		TokenLibrary.addBonusClass(Var.class);
+	}
+
+	@Test
+	public void testDependencies()
+	{
+		List<BonusObj> bonuses = new ArrayList<>();
+		bonuses.add(Bonus.newBonus(context, "VAR|Foo|2"));
+		bonuses.add(Bonus.newBonus(context, "COMBAT|AC|Foo"));
+		bonuses.add(Bonus.newBonus(context, "VAR|Bar|Foo+1"));
+		bonuses.add(Bonus.newBonus(context, "COMBAT|TOHIT|Bar"));
+		bonuses.add(Bonus.newBonus(context, "VAR|Foo|1"));
+		bonuses.add(Bonus.newBonus(context, "COMBAT|AC|2"));
+
+		BonusDependencyIndex index = new BonusDependencyIndex(bonuses);
+		for (BonusObj bonus : bonuses)
+		{
+			assertEquals(findDependencies(bonus, bonuses), index.getDependencies(bonus),
+				"Dependencies should match for " + bonus);
+		}
+		List<BonusObj> acDependencies = index.getDependencies(bonuses.get(1));
+		assertEquals(2, acDependencies.size(), "Both Foo bonuses should be found");
+		assertTrue(index.getDependencies(bonuses.get(5)).isEmpty(), "Static bonus should have no dependencies");
+	}
+
+	private static List<BonusObj> findDependencies(BonusObj bonus, List<BonusObj> bonuses)
+	{
+		List<BonusObj> result = new ArrayList<>();
+		for (BonusObj other : bonuses)
+		{
+			if (bonus.getDependsOn(other.getUnparsedBonusInfoList())
+				|| bonus.getDependsOnBonusName(other.getBonusName()))
+			{
+				result.add(other);
+			}
+		}
+		return result;
+	}
+}
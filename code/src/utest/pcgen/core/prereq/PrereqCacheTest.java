@@ -0,0 +1,85 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core.prereq;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PrereqCacheTest
+{
+	private PrereqCache cache;
+	private Prerequisite prereq;
+	private Object caller;
+
+	@BeforeEach
+	void setUp()
+	{
+		cache = new PrereqCache();
+		prereq = new Prerequisite();
+		caller = new Object();
+		PrereqCache.resetCounters();
+	}
+
+	@Test
+	public void testHitAndMiss()
+	{
+		cache.open();
+		long stamp = PrereqCache.getStamp(3, 7);
+		assertNull(cache.get(prereq, caller, stamp));
+		cache.put(prereq, caller, stamp, true);
+		assertEquals(Boolean.TRUE, cache.get(prereq, caller, stamp));
+		assertNull(cache.get(prereq, new Object(), stamp), "Results are per caller");
+		assertNull(cache.get(new Prerequisite(), caller, stamp), "Results are per prerequisite");
+		assertEquals(1, PrereqCache.getHits());
+		assertEquals(3, PrereqCache.getMisses());
+		PrereqCache.resetCounters();
+		assertEquals(0, PrereqCache.getHits());
+	}
+
+	@Test
+	public void testStampInvalidates()
+	{
+		cache.open();
+		long stamp = PrereqCache.getStamp(3, 7);
+		cache.put(prereq, caller, stamp, false);
+		assertNull(cache.get(prereq, caller, PrereqCache.getStamp(3, 8)), "Facet change should invalidate");
+		cache.put(prereq, caller, PrereqCache.getStamp(3, 8), false);
+		assertNull(cache.get(prereq, caller, PrereqCache.getStamp(4, 8)), "Serial change should invalidate");
+	}
+
+	@Test
+	public void testOpenAndClose()
+	{
+		assertFalse(cache.isOpen());
+		cache.open();
+		cache.open();
+		long stamp = PrereqCache.getStamp(1, 1);
+		cache.get(prereq, caller, stamp);
+		cache.put(prereq, caller, stamp, true);
+		cache.close();
+		assertTrue(cache.isOpen(), "Nested open should keep the cache open");
+		assertEquals(Boolean.TRUE, cache.get(prereq, caller, stamp));
+		cache.close();
+		assertFalse(cache.isOpen());
+		cache.open();
+		assertNull(cache.get(prereq, caller, stamp), "Closing should discard results");
+	}
+}
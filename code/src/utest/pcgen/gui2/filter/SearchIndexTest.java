@@ -0,0 +1,83 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.gui2.filter;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SearchIndexTest
+{
+	private final Map<Object, String> text = new HashMap<>();
+	private SearchIndex index;
+
+	@BeforeEach
+	void setUp()
+	{
+		text.clear();
+		index = new SearchIndex(text::get);
+		text.put("a", "Longsword\nWeapon.Martial");
+		text.put("b", "Short Sword\nWeapon.Martial");
+		text.put("c", "Backpack\nGoods");
+	}
+
+	@Test
+	void testMatches()
+	{
+		String query = SearchIndex.fold("SWORD");
+		assertTrue(index.matches("a", query));
+		assertTrue(index.matches("b", query));
+		assertFalse(index.matches("c", query));
+		// Now answered from the index
+		assertTrue(index.matches("a", query));
+		assertTrue(index.matches("b", query));
+		assertFalse(index.matches("c", query));
+
+		query = SearchIndex.fold("Martial");
+		assertTrue(index.matches("a", query));
+		assertFalse(index.matches("c", query));
+		assertFalse(index.matches("a", SearchIndex.fold("dweapon")), "Parts should not match across the separator");
+		assertTrue(index.matches("c", "ck"));
+		assertFalse(index.matches("a", "ck"));
+	}
+
+	@Test
+	void testElementAddedAfterQuery()
+	{
+		String query = SearchIndex.fold("sword");
+		assertTrue(index.matches("a", query));
+		assertTrue(index.matches("a", query));
+		text.put("d", "Bastard Sword");
+		assertTrue(index.matches("d", query));
+		assertTrue(index.matches("d", query));
+	}
+
+	@Test
+	void testClear()
+	{
+		String query = SearchIndex.fold("pack");
+		assertTrue(index.matches("c", query));
+		text.put("c", "Bedroll");
+		assertTrue(index.matches("c", query), "The search text is only computed once");
+		index.clear();
+		assertFalse(index.matches("c", query));
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringWriter;
+import java.util.concurrent.atomic.AtomicReference;
+
+import pcgen.io.filters.OutputFilter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * FileAccessTest checks that the output settings of one export thread do not
+ * affect an export running on another thread.
+ */
+class FileAccessTest
+{
+
+	@AfterEach
+	void tearDown()
+	{
+		FileAccess.maxLength(-1);
+		FileAccess.setCurrentOutputFilter((OutputFilter) null);
+	}
+
+	@Test
+	public void testMaxLengthIsPerThread() throws InterruptedException
+	{
+		FileAccess.maxLength(3);
+		AtomicReference<String> otherThread = new AtomicReference<>();
+		Thread thread = new Thread(() -> {
+			StringWriter writer = new StringWriter();
+			FileAccess.write(writer, "Fighter");
+			otherThread.set(writer.toString());
+		});
+		thread.start();
+		thread.join();
+
+		StringWriter writer = new StringWriter();
+		FileAccess.write(writer, "Fighter");
+		assertEquals("Fig", writer.toString());
+		assertEquals("Fighter", otherThread.get(), "Max length should not apply to other threads");
+	}
+
+	@Test
+	public void testFilterIsPerThread() throws InterruptedException
+	{
+		FileAccess.setCurrentOutputFilter(String::toUpperCase);
+		AtomicReference<String> otherThread = new AtomicReference<>();
+		Thread thread = new Thread(() -> otherThread.set(FileAccess.filterString("cleric")));
+		thread.start();
+		thread.join();
+
+		assertEquals("CLERIC", FileAccess.filterString("cleric"));
+		assertEquals("cleric", otherThread.get(), "Filter should not apply to other threads");
+	}
+}
@@ -18,9 +18,16 @@
 package pcgen.io;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
 
 import pcgen.system.PCGenPropBundle;
 
@@ -187,4 +194,17 @@ class PCGVer2ParserTest
 		assertEquals(1, parser
 			.compareVersionTo(new int[]{5, 13, 5}), "Check of a later version");
 	}
+
+	@Test
+	public void testReadPCG() throws IOException, PCGParseException
+	{
+		PCGVer2Parser parser = new PCGVer2Parser(null);
+
+		String pcg = "PCGVERSION:2.0\n\n#System Information\n  VERSION:5.7.1  \n";
+		assertTrue(parser.readPCG(new BufferedReader(new StringReader(pcg))));
+		assertNull(parser.parcePCGSourceOnly(), "No game mode was read");
+		assertArrayEquals(new int[]{5, 7, 1}, parser.getPcgenVersion());
+
+		assertFalse(parser.readPCG(new BufferedReader(new StringReader("VERSION:5.7.1\n"))));
+	}
 }
@@ -0,0 +1,82 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * TemplateLineTest checks that template lines are split into text and tokens
+ * the same way ExportHandler has always processed them.
+ */
+class TemplateLineTest
+{
+
+	@Test
+	public void testPlainText()
+	{
+		assertEquals(List.of("<td>Name</td>"), describe("<td>Name</td>"));
+		assertEquals(List.of(), describe(""));
+	}
+
+	@Test
+	public void testTokens()
+	{
+		assertEquals(List.of("<td>", "|NAME|", "</td>"), describe("<td>|NAME|</td>"));
+		assertEquals(List.of("|NAME|", " ", "|RACE|"), describe("|NAME| |RACE|"));
+		assertEquals(List.of("Level ", "|TOTALLEVELS|"), describe("Level |TOTALLEVELS|"));
+	}
+
+	@Test
+	public void testMalformed()
+	{
+		assertEquals(List.of(), describe("|NAME"), "Lone leading pipe should be ignored");
+		assertEquals(List.of("|NAME|", " and "), describe("|NAME| and |RACE"),
+			"Unclosed final token should be dropped");
+	}
+
+	@Test
+	public void testVariables()
+	{
+		assertTrue(new TemplateLine("|SKILL.%skill|").refersTo(Set.of("%skill")));
+		assertFalse(new TemplateLine("|SKILL.0|").refersTo(Set.of("%skill")));
+		assertFalse(new TemplateLine("|SKILL.%skill|").refersTo(Set.of()));
+	}
+
+	@Test
+	public void testVariablesWithoutPercent()
+	{
+		assertTrue(new TemplateLine("|SKILL.sk|").refersTo(Set.of("sk")));
+		assertTrue(new TemplateLine("|VAR.sk!MAX|").refersTo(Set.of("sk")),
+			"Loop parameters start with the loop variable");
+		assertFalse(new TemplateLine("|SKILL.0|").refersTo(Set.of("sk")));
+	}
+
+	private static List<String> describe(String line)
+	{
+		return new TemplateLine(line).segments()
+			.stream()
+			.map(s -> s.isToken() ? "|" + s.text() + "|" : s.text())
+			.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.output.publish;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import pcgen.base.util.CaseInsensitiveMap;
+import pcgen.base.util.DoubleKeyMap;
+import pcgen.cdom.enumeration.CharID;
+import pcgen.cdom.enumeration.DataSetID;
+import pcgen.output.base.ModelFactory;
+
+import freemarker.template.SimpleScalar;
+import freemarker.template.TemplateCollectionModel;
+import freemarker.template.TemplateHashModelEx;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+import freemarker.template.TemplateModelIterator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LazyDataModelTest
+{
+
+	private CharID id;
+	private DoubleKeyMap<Object, Object, ModelFactory> factories;
+	private CountingFactory name;
+	private CountingFactory hp;
+	private CountingFactory missing;
+
+	@BeforeEach
+	void setUp()
+	{
+		id = CharID.getID(DataSetID.getID());
+		factories = new DoubleKeyMap<>(CaseInsensitiveMap.class, CaseInsensitiveMap.class);
+		name = new CountingFactory("Bob");
+		hp = new CountingFactory("12");
+		missing = new CountingFactory(null);
+		factories.put("name", "", name);
+		factories.put("stats", "hp", hp);
+		factories.put("stats", "missing", missing);
+	}
+
+	@Test
+	void testModelsGeneratedOnFirstUse() throws TemplateModelException
+	{
+		LazyDataModel model = new LazyDataModel(id, factories, null);
+		assertEquals(0, name.count);
+		TemplateModel first = model.get("name");
+		assertEquals("Bob", ((SimpleScalar) first).getAsString());
+		assertSame(first, model.get("name"));
+		assertEquals(1, name.count);
+		assertEquals(0, hp.count);
+	}
+
+	@Test
+	void testNestedModel() throws TemplateModelException
+	{
+		LazyDataModel model = new LazyDataModel(id, factories, null);
+		TemplateHashModelEx stats = (TemplateHashModelEx) model.get("stats");
+		assertSame(stats, model.get("stats"));
+		assertEquals("12", ((SimpleScalar) stats.get("hp")).getAsString());
+		assertEquals("12", ((SimpleScalar) stats.get("HP")).getAsString());
+		assertNull(stats.get("name"), "Root models are not nested");
+		assertNull(stats.get(""));
+		assertEquals(1, hp.count);
+	}
+
+	@Test
+	void testNullModelsAreCached() throws TemplateModelException
+	{
+		LazyDataModel model = new LazyDataModel(id, factories, null);
+		TemplateHashModelEx stats = (TemplateHashModelEx) model.get("stats");
+		assertNull(stats.get("missing"));
+		assertNull(stats.get("missing"));
+		assertEquals(1, missing.count);
+		assertNull(model.get("unknown"));
+		assertNull(model.get(""));
+	}
+
+	@Test
+	void testKeysAndValues() throws TemplateModelException
+	{
+		LazyDataModel model = new LazyDataModel(id, factories, null);
+		assertFalse(model.isEmpty());
+		assertEquals(2, model.size());
+		assertEquals(Set.of("name", "stats"), toStrings(model.keys()));
+
+		TemplateHashModelEx stats = (TemplateHashModelEx) model.get("stats");
+		assertEquals(2, stats.size());
+		assertEquals(Set.of("hp", "missing"), toStrings(stats.keys()));
+		Set<Object> values = new HashSet<>();
+		TemplateModelIterator it = stats.values().iterator();
+		while (it.hasNext())
+		{
+			TemplateModel value = it.next();
+			values.add((value == null) ? null : ((SimpleScalar) value).getAsString());
+		}
+		assertEquals(new HashSet<>(Arrays.asList("12", null)), values);
+		assertEquals(1, hp.count);
+		assertEquals(1, missing.count);
+	}
+
+	@Test
+	void testEmpty()
+	{
+		LazyDataModel model = new LazyDataModel(id,
+			new DoubleKeyMap<>(CaseInsensitiveMap.class, CaseInsensitiveMap.class), null);
+		assertTrue(model.isEmpty());
+		assertEquals(0, model.size());
+	}
+
+	private static Set<String> toStrings(TemplateCollectionModel collection) throws TemplateModelException
+	{
+		Set<String> strings = new HashSet<>();
+		TemplateModelIterator it = collection.iterator();
+		while (it.hasNext())
+		{
+			strings.add(((SimpleScalar) it.next()).getAsString());
+		}
+		return strings;
+	}
+
+	private static final class CountingFactory implements ModelFactory
+	{
+		private final String value;
+		private int count;
+
+		private CountingFactory(String value)
+		{
+			this.value = value;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T extends TemplateModel & Iterable<?>> T generate(CharID charID)
+		{
+			count++;
+			return (value == null) ? null : (T) (TemplateModel) new SimpleScalar(value);
+		}
+	}
+}
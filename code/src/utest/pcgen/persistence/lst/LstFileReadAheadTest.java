@@ -0,0 +1,145 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.persistence.lst;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import pcgen.core.Campaign;
+import pcgen.persistence.PersistenceLayerException;
+import pcgen.system.PCGenSettings;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * LstFileReadAheadTest checks that files read ahead of time are returned
+ * unchanged, whether or not parallel loading is enabled.
+ */
+class LstFileReadAheadTest
+{
+
+	@TempDir
+	Path tempDir;
+
+	@AfterEach
+	void tearDown()
+	{
+		PCGenSettings.OPTIONS_CONTEXT.setBoolean(PCGenSettings.OPTION_SOURCES_PARALLEL_LOAD, false);
+	}
+
+	@Test
+	public void testSerial() throws IOException, PersistenceLayerException
+	{
+		PCGenSettings.OPTIONS_CONTEXT.setBoolean(PCGenSettings.OPTION_SOURCES_PARALLEL_LOAD, false);
+		checkReadAhead(5);
+	}
+
+	@Test
+	public void testParallel() throws IOException, PersistenceLayerException
+	{
+		PCGenSettings.OPTIONS_CONTEXT.setBoolean(PCGenSettings.OPTION_SOURCES_PARALLEL_LOAD, true);
+		checkReadAhead(50);
+	}
+
+	@Test
+	public void testMissingFile() throws PersistenceLayerException
+	{
+		PCGenSettings.OPTIONS_CONTEXT.setBoolean(PCGenSettings.OPTION_SOURCES_PARALLEL_LOAD, true);
+		URI missing = tempDir.resolve("missing.lst").toUri();
+		List<CampaignSourceEntry> fileList = new ArrayList<>();
+		fileList.add(new CampaignSourceEntry(new Campaign(), missing));
+		LstFileReadAhead<String> readAhead = new LstFileReadAhead<>(fileList, String::trim);
+		assertNull(readAhead.get(missing), "Missing file should not be processed");
+		readAhead.close();
+	}
+
+	@Test
+	public void testReadAheadIsBounded() throws IOException, PersistenceLayerException
+	{
+		PCGenSettings.OPTIONS_CONTEXT.setBoolean(PCGenSettings.OPTION_SOURCES_PARALLEL_LOAD, true);
+		List<CampaignSourceEntry> fileList = createFiles(LstFileReadAhead.MAX_READ_AHEAD * 4);
+		AtomicInteger processed = new AtomicInteger();
+		LstFileReadAhead<String> readAhead = new LstFileReadAhead<>(fileList, data -> {
+			processed.incrementAndGet();
+			return data;
+		});
+		try
+		{
+			for (int i = 0; i < fileList.size(); i++)
+			{
+				assertEquals("Line A" + i + "\nLine B" + i, readAhead.get(fileList.get(i).getURI()),
+					"File contents should match");
+				assertTrue(processed.get() <= i + 1 + LstFileReadAhead.MAX_READ_AHEAD,
+					"No more than MAX_READ_AHEAD files should be read ahead of the loader");
+			}
+		}
+		finally
+		{
+			readAhead.close();
+		}
+	}
+
+	@Test
+	public void testGetAfterClose() throws IOException, PersistenceLayerException
+	{
+		PCGenSettings.OPTIONS_CONTEXT.setBoolean(PCGenSettings.OPTION_SOURCES_PARALLEL_LOAD, true);
+		List<CampaignSourceEntry> fileList = createFiles(20);
+		LstFileReadAhead<String> readAhead = new LstFileReadAhead<>(fileList, String::trim);
+		assertEquals("Line A0\nLine B0", readAhead.get(fileList.get(0).getURI()), "First file should match");
+		readAhead.close();
+		assertEquals("Line A10\nLine B10", readAhead.get(fileList.get(10).getURI()),
+			"A file requested after close should be read directly");
+	}
+
+	private void checkReadAhead(int fileCount) throws IOException, PersistenceLayerException
+	{
+		List<CampaignSourceEntry> fileList = createFiles(fileCount);
+		LstFileReadAhead<String[]> readAhead =
+				new LstFileReadAhead<>(fileList, data -> data.split(LstFileLoader.LINE_SEPARATOR_REGEXP));
+		for (int i = 0; i < fileCount; i++)
+		{
+			String[] lines = readAhead.get(fileList.get(i).getURI());
+			assertEquals(2, lines.length, "Incorrect number of lines");
+			assertEquals("Line A" + i, lines[0], "First line should match");
+			assertEquals("Line B" + i, lines[1], "Second line should match");
+		}
+		readAhead.close();
+	}
+
+	private List<CampaignSourceEntry> createFiles(int fileCount) throws IOException
+	{
+		List<CampaignSourceEntry> fileList = new ArrayList<>();
+		for (int i = 0; i < fileCount; i++)
+		{
+			Path file = tempDir.resolve("file" + i + ".lst");
+			Files.write(file, ("Line A" + i + "\nLine B" + i).getBytes(StandardCharsets.UTF_8));
+			fileList.add(new CampaignSourceEntry(new Campaign(), file.toUri()));
+		}
+		return fileList;
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.persistence.lst;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LstLineSplitterTest
+{
+
+	@Test
+	void testSplit()
+	{
+		assertArrayEquals(new String[]{"A\tB:1", "C", "", "D"},
+			LstLineSplitter.split("A\tB:1\r\nC\r\n\rD\n\n", false));
+		assertArrayEquals(new String[]{""}, LstLineSplitter.split("", false));
+		assertArrayEquals(new String[0], LstLineSplitter.split("\n\r\n", false));
+	}
+
+	@Test
+	void testJoinContinuations()
+	{
+		assertArrayEquals(new String[]{"A\tB:1\tC:2", "D"},
+			LstLineSplitter.split("A\n\tB:1\r\n\tC:2\nD", true));
+		assertArrayEquals(new String[]{"A", "\tB:1"}, LstLineSplitter.split("A\r\tB:1", true));
+	}
+
+	@Test
+	void testMatchesRegularExpressionSplit()
+	{
+		char[] chars = {'a', '\t', '\r', '\n'};
+		Random random = new Random(23);
+		for (int n = 0; n < 5000; n++)
+		{
+			StringBuilder sb = new StringBuilder();
+			int length = random.nextInt(12);
+			for (int i = 0; i < length; i++)
+			{
+				sb.append(chars[random.nextInt(chars.length)]);
+			}
+			String contents = sb.toString();
+			assertArrayEquals(contents.split(LstFileLoader.LINE_SEPARATOR_REGEXP),
+				LstLineSplitter.split(contents, false), contents);
+			assertArrayEquals(contents.replaceAll("\r?\n\t", "\t").split(LstFileLoader.LINE_SEPARATOR_REGEXP),
+				LstLineSplitter.split(contents, true), contents);
+		}
+	}
+}
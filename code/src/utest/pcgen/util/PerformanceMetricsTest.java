@@ -0,0 +1,72 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import pcgen.util.PerformanceMetrics.Metric;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PerformanceMetricsTest
+{
+
+	@BeforeEach
+	void setUp()
+	{
+		PerformanceMetrics.reset();
+	}
+
+	@AfterEach
+	void tearDown()
+	{
+		PerformanceMetrics.setEnabled(false);
+		PerformanceMetrics.reset();
+	}
+
+	@Test
+	void testDisabledRecordsNothing()
+	{
+		PerformanceMetrics.setEnabled(false);
+		long start = PerformanceMetrics.start();
+		assertEquals(0L, start);
+		PerformanceMetrics.stop(Metric.PREREQ_TEST, start);
+		PerformanceMetrics.count(Metric.FORMULA_CACHE_HIT);
+		assertEquals(0L, PerformanceMetrics.getCount(Metric.PREREQ_TEST));
+		assertEquals(0L, PerformanceMetrics.getCount(Metric.FORMULA_CACHE_HIT));
+	}
+
+	@Test
+	void testTimingsAndCounts()
+	{
+		PerformanceMetrics.setEnabled(true);
+		for (int i = 0; i < 3; i++)
+		{
+			PerformanceMetrics.stop(Metric.PREREQ_TEST, PerformanceMetrics.start());
+		}
+		PerformanceMetrics.count(Metric.FORMULA_CACHE_HIT, 3);
+		PerformanceMetrics.count(Metric.FORMULA_CACHE_MISS);
+		assertEquals(3L, PerformanceMetrics.getCount(Metric.PREREQ_TEST));
+		assertTrue(PerformanceMetrics.getMeanMicros(Metric.PREREQ_TEST) >= 0.0);
+		assertEquals(0.75, PerformanceMetrics.getFormulaCacheHitRate(), 0.0001);
+		String summary = PerformanceMetrics.getSummary();
+		assertTrue(summary.contains("prereq.test"));
+		assertTrue(summary.contains("75.0%"));
+	}
+}
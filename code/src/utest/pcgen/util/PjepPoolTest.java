@@ -0,0 +1,69 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.util;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class PjepPoolTest
+{
+
+	private final PjepPool pool = PjepPool.getInstance();
+
+	@Test
+	void testReleasedParserIsReused()
+	{
+		PJEP jep = pool.aquire();
+		pool.release(jep);
+		PJEP again = pool.aquire();
+		assertSame(jep, again);
+		pool.release(again);
+	}
+
+	@Test
+	void testDoubleReleaseIsIgnored()
+	{
+		PJEP jep = pool.aquire();
+		pool.release(jep);
+		pool.release(jep);
+		PJEP first = pool.aquire();
+		PJEP second = pool.aquire();
+		assertNotSame(first, second);
+		pool.release(second);
+		pool.release(first);
+	}
+
+	@Test
+	void testReleaseOnAnotherThreadIsIgnored() throws InterruptedException
+	{
+		PJEP jep = pool.aquire();
+		AtomicReference<PJEP> acquired = new AtomicReference<>();
+		Thread other = new Thread(() -> {
+			pool.release(jep);
+			PJEP otherJep = pool.aquire();
+			acquired.set(otherJep);
+			pool.release(otherJep);
+		});
+		other.start();
+		other.join();
+		assertNotSame(jep, acquired.get());
+		pool.release(jep);
+	}
+}